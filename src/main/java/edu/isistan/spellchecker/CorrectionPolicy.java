@@ -0,0 +1,90 @@
+package edu.isistan.spellchecker;
+
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Politica usada por el SpellChecker en modo batch para decidir, sin preguntarle
+ * al usuario, que se escribe en lugar de una palabra que no esta en el diccionario.
+ *
+ * @see SpellChecker#checkDocument(java.io.Reader, java.io.Writer, CorrectionPolicy)
+ */
+public interface CorrectionPolicy {
+
+	/**
+	 * Reemplaza la palabra por la primera sugerencia. Si no hay sugerencias la deja igual.
+	 */
+	CorrectionPolicy TOP_SUGGESTION = (word, corrections) ->
+			corrections.isEmpty() ? word : corrections.iterator().next();
+
+	/**
+	 * Reemplaza la palabra por la mejor sugerencia segun Corrector.getCorrections(String, 1):
+	 * la mas cercana y, entre esas, la mas frecuente. Si no hay sugerencias la deja igual.
+	 */
+	CorrectionPolicy BEST_SUGGESTION = new CorrectionPolicy() {
+		@Override
+		public String correct(String word, Set<String> corrections) {
+			return TOP_SUGGESTION.correct(word, corrections);
+		}
+
+		@Override
+		public int getSuggestionLimit() {
+			return 1;
+		}
+	};
+
+	/**
+	 * Deja la palabra original.
+	 */
+	CorrectionPolicy KEEP_ORIGINAL = (word, corrections) -> word;
+
+	/**
+	 * Marca la palabra en el texto junto con sus sugerencias: <code>[palabra|sug1|sug2]</code>.
+	 */
+	CorrectionPolicy MARK = (word, corrections) -> {
+		StringBuilder marked = new StringBuilder().append('[').append(word);
+		Iterator<String> suggestions = corrections.iterator();
+		while (suggestions.hasNext()) {
+			marked.append('|').append(suggestions.next());
+		}
+		return marked.append(']').toString();
+	};
+
+	/**
+	 * @param word palabra que no esta en el diccionario
+	 * @param corrections sugerencias del Corrector (potencialmente vacio)
+	 * @return el texto a escribir en lugar de la palabra
+	 */
+	String correct(String word, Set<String> corrections);
+
+	/**
+	 * @return cuantas sugerencias necesita la politica. Si es positivo el SpellChecker
+	 * pide solo las mejores con Corrector.getCorrections(String, int), en orden; si
+	 * es 0 (por defecto) pide todas.
+	 */
+	default int getSuggestionLimit() {
+		return 0;
+	}
+
+	/**
+	 * Retorna la politica por nombre: TOP, BEST, KEEP o MARK.
+	 *
+	 * @param name nombre de la politica
+	 * @throws IllegalArgumentException si el nombre no corresponde a ninguna politica
+	 */
+	static CorrectionPolicy forName(String name) {
+		if ("TOP".equals(name)) {
+			return TOP_SUGGESTION;
+		}
+		if ("BEST".equals(name)) {
+			return BEST_SUGGESTION;
+		}
+		if ("KEEP".equals(name)) {
+			return KEEP_ORIGINAL;
+		}
+		if ("MARK".equals(name)) {
+			return MARK;
+		}
+		throw new IllegalArgumentException("Politica desconocida: " + name);
+	}
+}
@@ -3,11 +3,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.metrics.Metrics;
+import edu.isistan.spellchecker.tokenizer.CharTokenizer;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 /**
@@ -29,6 +35,7 @@ public class SpellChecker {
 	private Corrector corr;
 	private Dictionary dict;
 	private static final int DEFAULT_OPTIONS = 2;
+	private static final int PARALLEL_CHUNK_SIZE = 64 * 1024;
 
 	/**
 	 * Constructor del SpellChecker
@@ -92,7 +99,7 @@ public class SpellChecker {
 		while (tokenScanner.hasNext()) {
 			String word = tokenScanner.next();
 			if (TokenScanner.isWord(word) && !this.dict.isWord(word)) {
-				Set<String> corrections = this.corr.getCorrections(word);
+				Set<String> corrections = this.getCorrections(word, 0);
 				int option = getNextInt(0, DEFAULT_OPTIONS + corrections.size(), sc);
 				if (option == 1) {
 					word = getNextString(sc);
@@ -107,4 +114,125 @@ public class SpellChecker {
 			out.write(word);
 		}
 	}
+
+	/**
+	 * checkDocument en modo batch: chequea el documento sin interactuar con el usuario.
+	 * Los tokens se leen del TokenScanner y se escriben en el Writer a medida que
+	 * se procesan. Cada palabra que no esta en el diccionario se reemplaza por lo que
+	 * decida la politica a partir de las sugerencias del Corrector.
+	 *
+	 * @param in stream donde se encuentra el documento de entrada.
+	 * @param out stream donde se escribe el documento de salida.
+	 * @param policy decide el reemplazo de cada palabra mal escrita.
+	 * @throws IOException si se produce algun error leyendo el documento.
+	 */
+	public void checkDocument(Reader in, Writer out, CorrectionPolicy policy) throws IOException {
+		if (policy == null) {
+			throw new IllegalArgumentException("La politica es null");
+		}
+		this.correctTokens(in, out, policy);
+	}
+
+	/**
+	 * checkDocument en modo batch paralelo. El documento se parte en bloques de
+	 * aproximadamente PARALLEL_CHUNK_SIZE caracteres, cortando siempre despues de un
+	 * caracter que no es de palabra, por lo que ninguna palabra queda partida. Cada
+	 * bloque se chequea en una tarea del ForkJoinPool y los resultados se escriben
+	 * en el orden original: la salida es identica a la del modo batch secuencial.
+	 * <p>
+	 * El Dictionary, el Corrector y la politica se usan desde varios hilos a la vez.
+	 *
+	 * @param in stream donde se encuentra el documento de entrada.
+	 * @param out stream donde se escribe el documento de salida.
+	 * @param policy decide el reemplazo de cada palabra mal escrita.
+	 * @param pool pool donde se chequean los bloques.
+	 * @throws IOException si se produce algun error leyendo el documento.
+	 */
+	public void checkDocument(Reader in, Writer out, CorrectionPolicy policy, ForkJoinPool pool) throws IOException {
+		this.checkDocument(in, out, policy, pool, PARALLEL_CHUNK_SIZE);
+	}
+
+	void checkDocument(Reader in, Writer out, CorrectionPolicy policy, ForkJoinPool pool, int chunkSize)
+			throws IOException {
+		if (policy == null || pool == null) {
+			throw new IllegalArgumentException("La politica o el pool es null");
+		}
+		Deque<ForkJoinTask<String>> pending = new ArrayDeque<>();
+		int maxPending = 2 * pool.getParallelism();
+		StringBuilder text = new StringBuilder();
+		char[] buffer = new char[chunkSize];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			text.append(buffer, 0, read);
+			if (text.length() < chunkSize) {
+				continue;
+			}
+			int end = text.length();
+			while (end > 0 && TokenScanner.isWordCharacter(text.charAt(end - 1))) {
+				end--;
+			}
+			if (end > 0) {
+				String chunk = text.substring(0, end);
+				text.delete(0, end);
+				pending.addLast(pool.submit(() -> this.correctChunk(chunk, policy)));
+				while (pending.size() > maxPending) {
+					out.write(pending.removeFirst().join());
+				}
+			}
+		}
+		if (text.length() > 0) {
+			String chunk = text.toString();
+			pending.addLast(pool.submit(() -> this.correctChunk(chunk, policy)));
+		}
+		while (!pending.isEmpty()) {
+			out.write(pending.removeFirst().join());
+		}
+	}
+
+	private String correctChunk(String chunk, CorrectionPolicy policy) throws IOException {
+		StringWriter out = new StringWriter(chunk.length() + 16);
+		this.correctTokens(new StringReader(chunk), out, policy);
+		return out.toString();
+	}
+
+	/**
+	 * @param limit cantidad maxima de sugerencias ordenadas, o 0 para usar
+	 * getCorrections(String)
+	 */
+	private Set<String> getCorrections(String word, int limit) {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		Set<String> corrections = limit > 0
+				? new LinkedHashSet<>(this.corr.getCorrections(word, limit))
+				: this.corr.getCorrections(word);
+		if (Metrics.ENABLED) {
+			Metrics.corrector(this.corr.getClass()).record(System.nanoTime() - start);
+		}
+		return corrections;
+	}
+
+	/**
+	 * Con las metricas activadas suma los tokens, las palabras mal escritas y el
+	 * tiempo de cada llamada; en modo paralelo el tiempo es la suma de los bloques.
+	 */
+	private void correctTokens(Reader in, Writer out, CorrectionPolicy policy) throws IOException {
+		long start = Metrics.ENABLED ? System.nanoTime() : 0;
+		long tokens = 0;
+		long misspelled = 0;
+		CharTokenizer tokenizer = new CharTokenizer(in);
+		while (tokenizer.advance()) {
+			tokens++;
+			if (!tokenizer.isWord() || this.dict.isWord(tokenizer.getToken(), 0, tokenizer.getLength())) {
+				tokenizer.writeTo(out);
+				continue;
+			}
+			misspelled++;
+			String word = tokenizer.getTokenString();
+			out.write(policy.correct(word, this.getCorrections(word, policy.getSuggestionLimit())));
+		}
+		if (Metrics.ENABLED) {
+			Metrics.counter(Metrics.CHECK_NANOS).add(System.nanoTime() - start);
+			Metrics.counter(Metrics.TOKENS).add(tokens);
+			Metrics.counter(Metrics.MISSPELLED).add(misspelled);
+		}
+	}
 }
@@ -1,17 +1,30 @@
 package edu.isistan.spellchecker;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
 
+import edu.isistan.spellchecker.corrector.ConcurrentDictionary;
 import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionarySnapshot;
+import edu.isistan.spellchecker.corrector.MappedDictionary;
+import edu.isistan.spellchecker.corrector.WordFrequencies;
+import edu.isistan.spellchecker.corrector.impl.CompositeCorrector;
 import edu.isistan.spellchecker.corrector.impl.FileCorrector;
 import edu.isistan.spellchecker.corrector.impl.Levenshtein;
 import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import edu.isistan.spellchecker.corrector.impl.TrieLevenshtein;
+import edu.isistan.spellchecker.metrics.Metrics;
 
 /**
  * 
@@ -19,54 +32,168 @@ import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
  * <p>
  * Puede ser usado desde linea de comando:
  * <p>
- * <code>java SpellCheckerRunner &ltin&gt &ltout&gt &ltdictionary&gt &ltcorrector&gt</code>
+ * <code>java SpellCheckerRunner &ltin&gt &ltout&gt &ltdictionary&gt &ltcorrector&gt [&ltpolicy&gt]</code>
  * <p>
  * <ul>
- * <li> &ltin&gt - archivo de entrada
- * <li> &ltout&gt - archivo de salida
- * <li> &ltdictionary&gt - diccionario.
+ * <li> &ltin&gt - archivo de entrada, o - para leer de la entrada estandar
+ * <li> &ltout&gt - archivo de salida, o - para escribir en la salida estandar
+ * <li> &ltdictionary&gt - diccionario: archivo de palabras o snapshot generado por
+ * DictionarySnapshot, que se consulta mapeado a memoria.
  * <li> &ltcorrector&gt -  SWAP (para SwapCorrector), 
- * LEV (para Levenshtein), o nombre de archivo (para FileCorrector)
+ * LEV (para Levenshtein), TRIE_LEV (para TrieLevenshtein, que recorre el automata
+ * del diccionario; TRIE_LEV=k sugiere hasta distancia k), o nombre de archivo
+ * (para FileCorrector). Varios separados por el separador de paths del sistema (: o ;), por ejemplo
+ * <code>misspellings.txt:SWAP:LEV</code>, forman una cadena (ver
+ * CompositeCorrector.chain) que se detiene en el primero que sugiere algo.
+ * <li> &ltpolicy&gt - opcional, activa el modo batch: TOP (primera sugerencia),
+ * BEST (sugerencia mas cercana y, entre esas, la mas frecuente segun
+ * -Dspellchecker.frequencies; sin frecuencias, la primera en orden alfabetico), KEEP (deja la palabra) o MARK (marca la palabra con sus sugerencias).
+ * Es obligatorio si la entrada es -, ya que el modo interactivo usa la entrada estandar.
  * </ul>
+ * Con -Dspellchecker.metrics=true las metricas (ver Metrics) se publican por JMX y
+ * al terminar se imprimen en la salida de error.
+ * <p>
+ * Con -Dspellchecker.frequencies=&ltarchivo&gt se cargan las frecuencias de uso de
+ * las palabras (ver WordFrequencies.load), que ordenan las sugerencias de BEST y de
+ * Corrector.getCorrections(String, int).
  * 
  */
 public class SpellCheckerRunner {
+	private static final String STANDARD_STREAM = "-";
+	private static final String CHAIN_SEPARATOR = File.pathSeparator;
+	private static final String TRIE_LEV = "TRIE_LEV";
+	public static final String FREQUENCIES_PROPERTY = "spellchecker.frequencies";
+
 	/**
 	 * Crea el corrector adecuado dada la entrada de la linea de comando.
+	 * <p>
+	 * SWAP y LEV buscan candidatos con getSimilarWords, por lo que se empieza a
+	 * construir el indice LSH del diccionario en segundo plano mientras se lee el
+	 * documento. FileCorrector no usa el diccionario y el indice nunca se construye.
+	 * TRIE_LEV recorre el automata de palabras del diccionario (ver
+	 * Dictionary.getWordGraph); un ConcurrentDictionary no tiene uno, asi que se
+	 * recorre su snapshot() y no ve los cambios posteriores.
+	 * <p>
+	 * Una lista separada por File.pathSeparator crea una cadena con esos correctores,
+	 * en ese orden. Si type es un archivo que existe se usa entero como FileCorrector,
+	 * aunque contenga el separador.
 	 * 
 	 * @param type
 	 * @param dict
 	 * @throws IOException
 	 * @throws FileCorrector.FormatException
 	 */
-	private static Corrector makeCorrector(String type, Dictionary dict)
+	static Corrector makeCorrector(String type, Dictionary dict)
 			throws IOException, FileCorrector.FormatException {
+		if (type.contains(CHAIN_SEPARATOR) && !Files.isRegularFile(Paths.get(type))) {
+			String[] types = type.split(Pattern.quote(CHAIN_SEPARATOR), -1);
+			Corrector[] chain = new Corrector[types.length];
+			for (int index = 0; index < types.length; index++) {
+				if (types[index].isEmpty()) {
+					throw new IllegalArgumentException("corrector vacio en " + type);
+				}
+				chain[index] = makeCorrector(types[index], dict);
+			}
+			return CompositeCorrector.chain(1, chain);
+		}
 		if (type.equals("SWAP")) {
+			dict.buildSimilarityIndexInBackground();
 			return new SwapCorrector(dict);
 		}
 		if (type.equals("LEV")) {
+			dict.buildSimilarityIndexInBackground();
 			return new Levenshtein(dict);
 		}
+		if (type.equals(TRIE_LEV) || type.startsWith(TRIE_LEV + "=")) {
+			Dictionary graph = dict instanceof ConcurrentDictionary ? ((ConcurrentDictionary) dict).snapshot() : dict;
+			if (type.equals(TRIE_LEV)) {
+				return new TrieLevenshtein(graph);
+			}
+			try {
+				return new TrieLevenshtein(graph, Integer.parseInt(type.substring(TRIE_LEV.length() + 1)));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("distancia no valida en " + type);
+			}
+		}
 
 		return FileCorrector.make(type);
 	}
 
+	/**
+	 * Abre el snapshot o lee el archivo de palabras, segun el contenido del archivo.
+	 *
+	 * @param filename
+	 * @throws IOException
+	 */
+	private static Dictionary makeDictionary(String filename) throws IOException {
+		if (DictionarySnapshot.isSnapshot(Paths.get(filename))) {
+			return MappedDictionary.make(filename);
+		}
+		return Dictionary.make(filename);
+	}
+
+	/**
+	 * Carga en el diccionario las frecuencias del archivo indicado por
+	 * {@value #FREQUENCIES_PROPERTY}, si la propiedad esta definida.
+	 *
+	 * @param dict
+	 * @throws IOException si el archivo no existe o no tiene el formato
+	 */
+	static void loadWordFrequencies(Dictionary dict) throws IOException {
+		String filename = System.getProperty(FREQUENCIES_PROPERTY);
+		if (filename != null) {
+			dict.setWordFrequencies(WordFrequencies.load(filename));
+		}
+	}
+
 	public static void main(String[] args) {
-		if (args.length != 4) {
-			System.out.println("uso: java SpellCheckRunner <in> <out> <dictionary> <corrector>");
-			System.out.println("<corrector> es SWAP, LEV, or el path para instanciar el FileCorrector.");
+		if (args.length != 4 && args.length != 5) {
+			System.out.println("uso: java SpellCheckRunner <in> <out> <dictionary> <corrector> [<policy>]");
+			System.out.println("<in> y <out> pueden ser - para usar la entrada y salida estandar.");
+			System.out.println("<corrector> es SWAP, LEV, TRIE_LEV[=k], or el path para instanciar el FileCorrector, o varios separados por " + CHAIN_SEPARATOR + ".");
+			System.out.println("<policy> activa el modo batch y es TOP, BEST, KEEP o MARK.");
+			return;
+		}
+		CorrectionPolicy policy;
+		try {
+			policy = args.length == 5 ? CorrectionPolicy.forName(args[4]) : null;
+		} catch (IllegalArgumentException e) {
+			System.out.println("error en los argumentos: " + e.getMessage());
+			return;
+		}
+		if (policy == null && STANDARD_STREAM.equals(args[0])) {
+			System.out.println("leer el documento de la entrada estandar requiere una <policy>");
 			return;
 		}
 		try {
-			Reader in = new BufferedReader(new FileReader(args[0]));
-			Writer out = new BufferedWriter(new FileWriter(args[1]));
-			Dictionary dict = Dictionary.make(args[2]);
-			SpellChecker sp = new SpellChecker(makeCorrector(args[3], dict), dict);
-			sp.checkDocument(in, System.in, out);
+			Dictionary dict = makeDictionary(args[2]);
+			loadWordFrequencies(dict);
+			Corrector corrector;
+			try {
+				corrector = makeCorrector(args[3], dict);
+			} catch (IllegalArgumentException e) {
+				System.out.println("error en los argumentos: " + e.getMessage());
+				return;
+			}
+			Reader in = STANDARD_STREAM.equals(args[0])
+					? new BufferedReader(new InputStreamReader(System.in))
+					: new BufferedReader(new FileReader(args[0]));
+			Writer out = STANDARD_STREAM.equals(args[1])
+					? new BufferedWriter(new OutputStreamWriter(System.out))
+					: new BufferedWriter(new FileWriter(args[1]));
+			SpellChecker sp = new SpellChecker(corrector, dict);
+			if (policy != null) {
+				sp.checkDocument(in, out, policy);
+			} else {
+				sp.checkDocument(in, System.in, out);
+			}
 			in.close();
 			out.flush();
 			out.close();
-		} catch (IOException e) {
+			if (Metrics.ENABLED) {
+				System.err.print(Metrics.snapshot());
+			}
+		} catch (IOException | IllegalArgumentException e) {
 			System.out.println("error procesando el document: " + e.getMessage());
 		} catch (FileCorrector.FormatException e) {
 			System.out.println("error de formato: " + e.getMessage());
@@ -0,0 +1,332 @@
+package edu.isistan.spellchecker;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.isistan.spellchecker.corrector.ConcurrentDictionary;
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionarySnapshot;
+import edu.isistan.spellchecker.corrector.DictionaryWatcher;
+import edu.isistan.spellchecker.corrector.MappedDictionary;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.corrector.impl.FileCorrector;
+import edu.isistan.spellchecker.metrics.Histogram;
+import edu.isistan.spellchecker.metrics.Metrics;
+
+/**
+ * Servidor HTTP local que carga el diccionario y el corrector una sola vez y
+ * atiende pedidos concurrentes, para no pagar la construccion del diccionario y del
+ * indice LSH en cada ejecucion de SpellCheckerRunner.
+ * <p>
+ * Escucha solo en la interfaz loopback. Todo el texto es UTF-8:
+ * <ul>
+ * <li> <code>POST /check?policy=TOP</code> - chequea el documento del cuerpo en modo
+ * batch con la politica indicada (TOP, BEST, KEEP o MARK; TOP por defecto) y
+ * devuelve el documento corregido
+ * <li> <code>GET /suggest?word=teh&amp;limit=10</code> - devuelve las mejores
+ * sugerencias (ver Corrector.getCorrections(String, int)), una por linea; vacio si
+ * la palabra es correcta. El encabezado {@value #CORRECT_HEADER} indica si la
+ * palabra esta en el diccionario.
+ * </ul>
+ * Los parametros invalidos (incluida una word que el corrector rechaza, por ejemplo
+ * con digitos) se responden con 400 y los metodos equivocados con 405.
+ * <p>
+ * Cada pedido se atiende en un hilo virtual si la JVM los tiene (Java 21 o
+ * posterior); si no, en un pool de {@value #FALLBACK_THREADS} hilos. El SpellChecker,
+ * el Dictionary y el Corrector se comparten entre todos los pedidos. Las conexiones
+ * se reusan (keep-alive); HttpServer cierra las que quedan ociosas por encima de
+ * -Dsun.net.httpserver.maxIdleConnections (200 por defecto).
+ * <p>
+ * Uso: <code>java SpellCheckerServer &ltdictionary&gt &ltcorrector&gt [&ltport&gt]</code>
+ * <p>
+ * &ltdictionary&gt y &ltcorrector&gt son como en SpellCheckerRunner. Un archivo de
+ * palabras se carga en un ConcurrentDictionary y se vuelve a leer cuando cambia
+ * (ver DictionaryWatcher); un snapshot se consulta mapeado a memoria. Las
+ * frecuencias de -Dspellchecker.frequencies tambien se cargan como en
+ * SpellCheckerRunner y se conservan en cada recarga.
+ */
+public class SpellCheckerServer implements Closeable {
+	public static final int DEFAULT_PORT = 8765;
+	public static final int DEFAULT_LIMIT = 10;
+	public static final int FALLBACK_THREADS = 64;
+	public static final String CORRECT_HEADER = "X-Word-Correct";
+	public static final int STOP_SECONDS = 5;
+	private static final int BACKLOG = 1024;
+	private static final String TEXT = "text/plain; charset=utf-8";
+
+	private final SpellChecker checker;
+	private final Corrector corrector;
+	private final Dictionary dictionary;
+	private final ExecutorService executor;
+	private final boolean virtualThreads;
+	private final HttpServer server;
+
+	/**
+	 * Pedido invalido: se responde con el codigo indicado.
+	 */
+	private static final class RequestException extends Exception {
+		private static final long serialVersionUID = 1L;
+		private final int status;
+
+		private RequestException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+	/**
+	 * Arranca el servidor.
+	 *
+	 * @param corrector corrector compartido
+	 * @param dictionary diccionario compartido
+	 * @param port puerto local, o 0 para elegir uno libre (ver getPort)
+	 * @throws IOException si no se puede abrir el puerto
+	 * @throws IllegalArgumentException si el corrector o el diccionario es null
+	 */
+	public SpellCheckerServer(Corrector corrector, Dictionary dictionary, int port) throws IOException {
+		if (corrector == null || dictionary == null) {
+			throw new IllegalArgumentException("El corrector o el diccionario es null");
+		}
+		this.corrector = corrector;
+		this.dictionary = dictionary;
+		this.checker = new SpellChecker(corrector, dictionary);
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+		ExecutorService virtual = newVirtualThreadExecutor();
+		this.virtualThreads = virtual != null;
+		this.executor = this.virtualThreads ? virtual : Executors.newFixedThreadPool(FALLBACK_THREADS);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/check", this.handler("check", "POST", this::check));
+		this.server.createContext("/suggest", this.handler("suggest", "GET", this::suggest));
+		this.server.start();
+	}
+
+	/**
+	 * @return Executors.newVirtualThreadPerTaskExecutor(), o null si la JVM no tiene
+	 * hilos virtuales
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return el puerto en el que escucha
+	 */
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * @return true si los pedidos se atienden en hilos virtuales
+	 */
+	public boolean usesVirtualThreads() {
+		return this.virtualThreads;
+	}
+
+	/**
+	 * Deja de aceptar pedidos y espera, como mucho {@value #STOP_SECONDS} segundos, a
+	 * que terminen los que estan en curso; despues cierra todas las conexiones.
+	 * <p>
+	 * Se espera al executor y no se usa el delay de HttpServer.stop porque en Java 17
+	 * stop espera el delay completo aunque no haya pedidos en curso.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+		try {
+			this.executor.awaitTermination(STOP_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			this.server.stop(0);
+		}
+	}
+
+	private interface Endpoint {
+		void handle(HttpExchange exchange, Map<String, String> parameters) throws IOException, RequestException;
+	}
+
+	/**
+	 * Valida el metodo, responde los errores y, con las metricas activadas, mide
+	 * los nanosegundos de cada pedido en server.&lt;name&gt;.
+	 */
+	private HttpHandler handler(String name, String method, Endpoint endpoint) {
+		Histogram latency = Metrics.histogram("server." + name);
+		return exchange -> {
+			long start = Metrics.ENABLED ? System.nanoTime() : 0;
+			try {
+				if (!method.equals(exchange.getRequestMethod())) {
+					exchange.getResponseHeaders().set("Allow", method);
+					throw new RequestException(405, "Metodo no permitido: " + exchange.getRequestMethod());
+				}
+				endpoint.handle(exchange, parameters(exchange.getRequestURI().getRawQuery()));
+			} catch (RequestException e) {
+				respond(exchange, e.status, e.getMessage());
+			} catch (RuntimeException e) {
+				respond(exchange, 500, String.valueOf(e.getMessage()));
+			} finally {
+				exchange.close();
+				if (Metrics.ENABLED) {
+					latency.record(System.nanoTime() - start);
+				}
+			}
+		};
+	}
+
+	private void check(HttpExchange exchange, Map<String, String> parameters) throws IOException, RequestException {
+		CorrectionPolicy policy;
+		try {
+			policy = CorrectionPolicy.forName(parameters.getOrDefault("policy", "TOP"));
+		} catch (IllegalArgumentException e) {
+			throw new RequestException(400, e.getMessage());
+		}
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try (Reader in = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+			Writer out = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+			this.checker.checkDocument(in, out, policy);
+			out.flush();
+		}
+		respond(exchange, 200, body.toByteArray());
+	}
+
+	private void suggest(HttpExchange exchange, Map<String, String> parameters) throws IOException, RequestException {
+		String word = parameters.get("word");
+		if (word == null || word.isEmpty()) {
+			throw new RequestException(400, "Falta el parametro word");
+		}
+		int limit;
+		try {
+			limit = Integer.parseInt(parameters.getOrDefault("limit", String.valueOf(DEFAULT_LIMIT)));
+		} catch (NumberFormatException e) {
+			throw new RequestException(400, "limit no es un numero");
+		}
+		if (limit <= 0) {
+			throw new RequestException(400, "limit debe ser positivo");
+		}
+		boolean correct = this.dictionary.isWord(word);
+		StringBuilder body = new StringBuilder();
+		if (!correct) {
+			List<String> suggestions;
+			try {
+				suggestions = this.corrector.getCorrections(word, limit);
+			} catch (IllegalArgumentException e) {
+				throw new RequestException(400, "word no es una palabra valida: " + e.getMessage());
+			}
+			for (String suggestion : suggestions) {
+				body.append(suggestion).append('\n');
+			}
+		}
+		exchange.getResponseHeaders().set(CORRECT_HEADER, String.valueOf(correct));
+		respond(exchange, 200, body.toString());
+	}
+
+	private static Map<String, String> parameters(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		if (query == null) {
+			return parameters;
+		}
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals > 0) {
+				parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return parameters;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		respond(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Antes de responder consume el resto del cuerpo del pedido. Con una respuesta
+	 * sin cuerpo, el HttpServer da por terminado el intercambio al enviar los
+	 * encabezados; si para entonces el cuerpo del pedido no llego al final (aunque
+	 * este vacio, como en un GET que nunca lo leyo) cierra la conexion en lugar de
+	 * reusarla, y el cliente que ya mando el siguiente pedido por esa conexion
+	 * recibe "header parser received no bytes".
+	 */
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getRequestBody().close();
+		exchange.getResponseHeaders().set("Content-Type", TEXT);
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		if (body.length > 0) {
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		if (args.length != 2 && args.length != 3) {
+			System.out.println("uso: java SpellCheckerServer <dictionary> <corrector> [<port>]");
+			System.out.println("<corrector> es SWAP, LEV, TRIE_LEV[=k], or el path para instanciar el FileCorrector.");
+			System.out.println("<port> es " + DEFAULT_PORT + " por defecto.");
+			return;
+		}
+		try {
+			int port = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+			Path path = Paths.get(args[0]);
+			Dictionary dict;
+			DictionaryWatcher watcher = null;
+			if (DictionarySnapshot.isSnapshot(path)) {
+				dict = MappedDictionary.make(args[0]);
+			} else {
+				ConcurrentDictionary words = new ConcurrentDictionary(WordList.load(path, StandardCharsets.UTF_8));
+				watcher = new DictionaryWatcher(words, path, StandardCharsets.UTF_8);
+				dict = words;
+			}
+			SpellCheckerRunner.loadWordFrequencies(dict);
+			Corrector corrector = SpellCheckerRunner.makeCorrector(args[1], dict);
+			SpellCheckerServer server = new SpellCheckerServer(corrector, dict, port);
+			DictionaryWatcher closing = watcher;
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				server.close();
+				try {
+					if (closing != null) {
+						closing.close();
+					}
+				} catch (IOException e) {
+					// La JVM esta terminando
+				}
+			}));
+			System.out.println("escuchando en http://localhost:" + server.getPort()
+					+ (server.usesVirtualThreads() ? " (hilos virtuales)" : " (pool de " + FALLBACK_THREADS + " hilos)"));
+		} catch (NumberFormatException e) {
+			System.out.println("error en los argumentos: el puerto no es un numero");
+		} catch (IllegalArgumentException e) {
+			System.out.println("error en los argumentos: " + e.getMessage());
+		} catch (IOException e) {
+			System.out.println("error iniciando el servidor: " + e.getMessage());
+		} catch (FileCorrector.FormatException e) {
+			System.out.println("error de formato: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Collection;
+
+/**
+ * Filtro de Bloom por bloques para descartar rapido las palabras que no estan en
+ * el diccionario (ver Dictionary.buildBloomFilter).
+ * <p>
+ * Cada palabra elige un bloque de 512 bits (8 long, una linea de cache) y marca
+ * {@value #HASHES} bits dentro de ese bloque, por lo que una consulta lee una sola
+ * linea de cache. El hash es CaseFolding.hash, asi que se consulta un fragmento de
+ * cualquier CharSequence ignorando mayusculas sin crear objetos. mightContain
+ * nunca da falso para una palabra agregada; para las demas da verdadero con
+ * probabilidad getFalsePositiveRate().
+ * <p>
+ * Solo admite agregar; una vez cargado se puede consultar desde varios hilos.
+ */
+public final class BloomFilter {
+	public static final int DEFAULT_BITS_PER_WORD = 10;
+	public static final int HASHES = 7;
+	private static final int BLOCK_LONGS = 8;
+	private static final int BLOCK_MASK = BLOCK_LONGS * Long.SIZE - 1;
+	private final long[] bits;
+	private final int blocks;
+	private int size;
+
+	/**
+	 * @param expectedWords cantidad de palabras que se van a agregar
+	 * @param bitsPerWord bits por palabra: 10 da alrededor de 1% de falsos positivos
+	 * @throws IllegalArgumentException si algun parametro no es positivo
+	 */
+	public BloomFilter(int expectedWords, int bitsPerWord) {
+		if (expectedWords <= 0 || bitsPerWord <= 0) {
+			throw new IllegalArgumentException("La cantidad de palabras y los bits por palabra deben ser positivos");
+		}
+		long bitCount = (long) expectedWords * bitsPerWord;
+		this.blocks = (int) Math.max(1, (bitCount + BLOCK_MASK) / (BLOCK_MASK + 1));
+		this.bits = new long[this.blocks * BLOCK_LONGS];
+	}
+
+	/**
+	 * @param words palabras en minuscula
+	 * @return un filtro con DEFAULT_BITS_PER_WORD bits por palabra con todas las palabras
+	 */
+	public static BloomFilter of(Collection<String> words) {
+		BloomFilter filter = new BloomFilter(Math.max(1, words.size()), DEFAULT_BITS_PER_WORD);
+		for (String word : words) {
+			filter.add(word);
+		}
+		return filter;
+	}
+
+	/**
+	 * @param word palabra en minuscula
+	 */
+	public void add(String word) {
+		long hash = mix(CaseFolding.hash(word, 0, word.length()));
+		int base = this.block(hash);
+		int position = (int) hash;
+		int step = (int) (hash >>> 32) | 1;
+		for (int index = 0; index < HASHES; index++) {
+			int bit = position & BLOCK_MASK;
+			this.bits[base + (bit >>> 6)] |= 1L << bit;
+			position += step;
+		}
+		this.size++;
+	}
+
+	/**
+	 * @return false si el fragmento, pasado a minuscula, seguro no se agrego
+	 */
+	public boolean mightContain(CharSequence word, int offset, int length) {
+		long hash = mix(CaseFolding.hash(word, offset, length));
+		int base = this.block(hash);
+		int position = (int) hash;
+		int step = (int) (hash >>> 32) | 1;
+		for (int index = 0; index < HASHES; index++) {
+			int bit = position & BLOCK_MASK;
+			if ((this.bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+			position += step;
+		}
+		return true;
+	}
+
+	private int block(long hash) {
+		return (int) (((hash >>> 32) * this.blocks) >>> 32) * BLOCK_LONGS;
+	}
+
+	/**
+	 * Expande el hash de 32 bits a 64 (finalizador de MurmurHash3) para que las
+	 * posiciones de los bits no dependan solo de los ultimos caracteres.
+	 */
+	private static long mix(int hash) {
+		long mixed = hash;
+		mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+		mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return mixed ^ (mixed >>> 33);
+	}
+
+	/**
+	 * @return cantidad de palabras agregadas
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return bytes del arreglo de bits
+	 */
+	public long getSizeBytes() {
+		return (long) this.bits.length * Long.BYTES;
+	}
+
+	/**
+	 * @return probabilidad estimada de que mightContain de verdadero para una palabra
+	 * que no se agrego: fraccion de bits en 1 elevada a HASHES
+	 */
+	public double getFalsePositiveRate() {
+		long set = 0;
+		for (long word : this.bits) {
+			set += Long.bitCount(word);
+		}
+		return Math.pow((double) set / (this.bits.length * (double) Long.SIZE), HASHES);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("BloomFilter[%d palabras, %d bytes (%.1f bits por palabra), %.2f%% falsos positivos]",
+				this.size, this.getSizeBytes(), this.getSizeBytes() * 8.0 / Math.max(1, this.size),
+				this.getFalsePositiveRate() * 100);
+	}
+}
@@ -0,0 +1,51 @@
+package edu.isistan.spellchecker.corrector;
+
+/**
+ * Pasaje a minuscula caracter por caracter, para buscar palabras sin crear la
+ * copia en minuscula con String.toLowerCase.
+ * <p>
+ * hash(word, offset, length) da el mismo valor que String.hashCode() de la
+ * palabra en minuscula, por lo que sirve para buscar en tablas armadas con los
+ * hashes de las palabras ya normalizadas.
+ */
+final class CaseFolding {
+
+	private CaseFolding() {
+	}
+
+	/**
+	 * @return el caracter en minuscula (Character.toLowerCase, con atajo para ASCII)
+	 */
+	static char fold(char c) {
+		if (c < 128) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * @return String.hashCode() de la palabra en minuscula
+	 */
+	static int hash(CharSequence word, int offset, int length) {
+		int hash = 0;
+		for (int index = offset; index < offset + length; index++) {
+			hash = 31 * hash + fold(word.charAt(index));
+		}
+		return hash;
+	}
+
+	/**
+	 * @return true si la palabra en minuscula es igual a expected (ya en minuscula)
+	 */
+	static boolean equals(String expected, CharSequence word, int offset, int length) {
+		if (expected.length() != length) {
+			return false;
+		}
+		for (int index = 0; index < length; index++) {
+			if (expected.charAt(index) != fold(word.charAt(offset + index))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,439 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.ProbeSignature;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Diccionario que se puede modificar mientras otros hilos lo consultan.
+ * <p>
+ * Las palabras visibles son las de un diccionario base inmutable (armado con la
+ * fabrica indicada: Dictionary, DictionaryTrie, DictionaryDawg...) mas una lista de
+ * palabras agregadas y menos una de quitadas. Las tres cosas forman un estado
+ * inmutable que se reemplaza entero en cada escritura (copy-on-write) con una sola
+ * escritura volatile, por lo que cada consulta ve un estado completo y nunca espera
+ * a una escritura. Las escrituras se serializan entre si.
+ * <p>
+ * Cada palabra agregada guarda los hashes de banda de su firma MinHash con la
+ * configuracion LSH del base, de modo que getSimilarWords devuelve lo mismo que un
+ * diccionario construido desde cero con las palabras visibles. Cuando las
+ * diferencias superan {@value #COMPACT_THRESHOLD} palabras se vuelve a construir el
+ * base con la fabrica (y su indice LSH y su filtro de Bloom, si el anterior los
+ * tenia) antes de publicarlo.
+ * <p>
+ * Las frecuencias de setWordFrequencies quedan en el base: se copian al nuevo base
+ * en cada compactacion o recarga, y las palabras agregadas despues no tienen.
+ * <p>
+ * getWordGraph devuelve null porque el automata del base no ve las diferencias; los
+ * correctores que lo recorren (TrieLevenshtein, con una fabrica como
+ * DictionaryDawg::new) deben construirse sobre snapshot().
+ */
+public class ConcurrentDictionary extends Dictionary {
+	public static final int COMPACT_THRESHOLD = 1024;
+	private final Function<WordList, ? extends Dictionary> factory;
+	private final Object writeLock = new Object();
+	private volatile State current;
+
+	/**
+	 * Estado inmutable: base, agregadas (que no estan en el base) con sus hashes de
+	 * banda y quitadas (que si estan en el base).
+	 */
+	private static final class State {
+		private final Dictionary base;
+		private final String[] added;
+		private final int[][] addedBands;
+		private final WordSet addedSet;
+		private final WordSet removed;
+		private final int size;
+
+		private State(Dictionary base) {
+			this(base, new String[0], new int[0][], new WordSet());
+		}
+
+		private State(Dictionary base, String[] added, int[][] addedBands, WordSet removed) {
+			this.base = base;
+			this.added = added;
+			this.addedBands = addedBands;
+			this.addedSet = new WordSet();
+			this.addedSet.addAll(Arrays.asList(added));
+			this.removed = removed;
+			this.size = base.getNumWords() + added.length - removed.size();
+		}
+
+		/**
+		 * Las agregadas no estan en el base, asi que cada conjunto de diferencias solo
+		 * se consulta si hace falta y si no esta vacio.
+		 */
+		private boolean contains(CharSequence word, int offset, int length) {
+			if (this.base.lookup(word, offset, length)) {
+				return this.removed.isEmpty() || !this.removed.containsIgnoreCase(word, offset, length);
+			}
+			return this.added.length > 0 && this.addedSet.containsIgnoreCase(word, offset, length);
+		}
+
+		private int delta() {
+			return this.added.length + this.removed.size();
+		}
+	}
+
+	/**
+	 * Construye el diccionario con un Dictionary como base.
+	 *
+	 * @param words palabras iniciales
+	 * @throws IllegalArgumentException la lista es null
+	 */
+	public ConcurrentDictionary(WordList words) {
+		this(words, Dictionary::new);
+	}
+
+	/**
+	 * @param words palabras iniciales
+	 * @param factory construye el diccionario base, al inicio y en cada compactacion
+	 * o recarga (por ejemplo DictionaryTrie::new)
+	 * @throws IllegalArgumentException la lista o la fabrica es null
+	 */
+	public ConcurrentDictionary(WordList words, Function<WordList, ? extends Dictionary> factory) {
+		if (words == null) {
+			throw new IllegalArgumentException("La lista de palabras es null");
+		}
+		if (factory == null) {
+			throw new IllegalArgumentException("La fabrica de diccionarios es null");
+		}
+		this.factory = factory;
+		this.current = new State(factory.apply(words));
+	}
+
+	/**
+	 * Agrega una palabra. Las consultas posteriores la ven, incluso en getSimilarWords.
+	 *
+	 * @param word palabra valida (ver TokenScanner.isWord), en cualquier caso
+	 * @return false si ya estaba
+	 * @throws IllegalArgumentException si la palabra es null o no es valida
+	 */
+	public boolean addWord(String word) {
+		String lower = checkWord(word);
+		synchronized (this.writeLock) {
+			State state = this.current;
+			if (state.contains(lower, 0, lower.length())) {
+				return false;
+			}
+			if (state.removed.contains(lower)) {
+				this.publish(new State(state.base, state.added, state.addedBands, without(state.removed, lower)));
+			} else {
+				String[] added = Arrays.copyOf(state.added, state.added.length + 1);
+				int[][] addedBands = Arrays.copyOf(state.addedBands, added.length);
+				added[added.length - 1] = lower;
+				addedBands[added.length - 1] = bandHashes(state.base.getLshConfig(), lower);
+				this.publish(new State(state.base, added, addedBands, state.removed));
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Quita una palabra, sin importar mayusculas.
+	 *
+	 * @param word palabra valida (ver TokenScanner.isWord)
+	 * @return false si no estaba
+	 * @throws IllegalArgumentException si la palabra es null o no es valida
+	 */
+	public boolean removeWord(String word) {
+		String lower = checkWord(word);
+		synchronized (this.writeLock) {
+			State state = this.current;
+			if (!state.contains(lower, 0, lower.length())) {
+				return false;
+			}
+			int index = Arrays.asList(state.added).indexOf(lower);
+			if (index >= 0) {
+				String[] added = new String[state.added.length - 1];
+				int[][] addedBands = new int[added.length][];
+				System.arraycopy(state.added, 0, added, 0, index);
+				System.arraycopy(state.added, index + 1, added, index, added.length - index);
+				System.arraycopy(state.addedBands, 0, addedBands, 0, index);
+				System.arraycopy(state.addedBands, index + 1, addedBands, index, added.length - index);
+				this.publish(new State(state.base, added, addedBands, state.removed));
+			} else {
+				WordSet removed = copy(state.removed);
+				removed.add(lower);
+				this.publish(new State(state.base, state.added, state.addedBands, removed));
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Reemplaza todas las palabras. El nuevo base (y su indice LSH, si el actual ya
+	 * tenia uno) se construye antes de publicarlo: las consultas en curso siguen con
+	 * las palabras anteriores y no esperan.
+	 *
+	 * @param words nuevas palabras
+	 * @throws IllegalArgumentException la lista es null
+	 */
+	public void reload(WordList words) {
+		if (words == null) {
+			throw new IllegalArgumentException("La lista de palabras es null");
+		}
+		synchronized (this.writeLock) {
+			this.current = new State(this.build(words, this.current.base));
+		}
+	}
+
+	/**
+	 * Incorpora las diferencias al base y lo devuelve. El resultado es inmutable:
+	 * las modificaciones posteriores no lo afectan.
+	 *
+	 * @return un diccionario de la fabrica con las palabras visibles
+	 */
+	public Dictionary snapshot() {
+		synchronized (this.writeLock) {
+			State state = this.current;
+			if (state.delta() > 0) {
+				state = new State(this.build(WordList.of(new ArrayList<>(this.getWords())), state.base));
+				this.current = state;
+			}
+			return state.base;
+		}
+	}
+
+	private void publish(State state) {
+		if (state.delta() > COMPACT_THRESHOLD) {
+			List<String> words = new ArrayList<>(state.size);
+			words.addAll(new Words(state));
+			state = new State(this.build(WordList.of(words), state.base));
+		}
+		this.current = state;
+	}
+
+	/**
+	 * @param previous base anterior: el nuevo base copia sus frecuencias y, si tenia
+	 * indice LSH o filtro de Bloom, tambien los tiene antes de publicarse
+	 */
+	private Dictionary build(WordList words, Dictionary previous) {
+		Dictionary base = this.factory.apply(words);
+		base.copyWordFrequencies(previous);
+		if (previous.hasSimilarityIndex()) {
+			base.buildSimilarityIndex();
+		}
+		if (previous.getBloomFilter() != null) {
+			base.buildBloomFilter();
+		}
+		return base;
+	}
+
+	private static String checkWord(String word) {
+		if (word == null || !TokenScanner.isWord(word)) {
+			throw new IllegalArgumentException("Palabra no valida: " + word);
+		}
+		return word.toLowerCase();
+	}
+
+	private static WordSet copy(WordSet words) {
+		WordSet copy = new WordSet();
+		copy.addAll(words);
+		return copy;
+	}
+
+	private static WordSet without(WordSet words, String word) {
+		WordSet copy = new WordSet();
+		for (String other : words) {
+			if (!other.equals(word)) {
+				copy.add(other);
+			}
+		}
+		return copy;
+	}
+
+	private static int[] bandHashes(LshConfig config, String word) {
+		int[] signature = new int[config.getPermutations()];
+		signature(word, signature);
+		return bandHashes(config, signature);
+	}
+
+	@Override
+	protected boolean containsWord(CharSequence word, int offset, int length) {
+		return this.current.contains(word, offset, length);
+	}
+
+	@Override
+	public int getNumWords() {
+		return this.current.size;
+	}
+
+	/**
+	 * @return vista de solo lectura de las palabras visibles al momento de la llamada
+	 */
+	@Override
+	public Collection<String> getWords() {
+		return new Words(this.current);
+	}
+
+	/**
+	 * @return null: ver snapshot()
+	 */
+	@Override
+	public WordGraph getWordGraph() {
+		return null;
+	}
+
+	@Override
+	public void setWordFrequencies(WordFrequencies frequencies) {
+		synchronized (this.writeLock) {
+			this.current.base.setWordFrequencies(frequencies);
+		}
+	}
+
+	@Override
+	public int getFrequency(String word) {
+		return this.current.base.getFrequency(word);
+	}
+
+	@Override
+	public LshConfig getLshConfig() {
+		return this.current.base.getLshConfig();
+	}
+
+	@Override
+	public void buildSimilarityIndex() {
+		this.current.base.buildSimilarityIndex();
+	}
+
+	@Override
+	public boolean hasSimilarityIndex() {
+		return this.current.base.hasSimilarityIndex();
+	}
+
+	/**
+	 * El filtro es del base: las palabras agregadas se buscan aparte y no pasan
+	 * por el.
+	 */
+	@Override
+	public void buildBloomFilter() {
+		this.current.base.buildBloomFilter();
+	}
+
+	@Override
+	public BloomFilter getBloomFilter() {
+		return this.current.base.getBloomFilter();
+	}
+
+	@Override
+	public Set<String> getSimilarWords(String misspelledWord) {
+		State state = this.current;
+		Set<String> similar = state.base.getSimilarWords(misspelledWord);
+		if (!state.removed.isEmpty()) {
+			similar.removeAll(state.removed);
+		}
+		if (state.added.length > 0) {
+			LshConfig config = state.base.getLshConfig();
+			String word = misspelledWord.toLowerCase();
+			ProbeSignature probe = new ProbeSignature(config.getPermutations());
+			MinHasher.forPermutations(config.getPermutations()).signature(word, 1, probe);
+			int[] query = bandHashes(config, probe.getSignature());
+			int probes = Math.min(config.getProbes(), probe.getProbeCount());
+			for (int index = 0; index < state.added.length; index++) {
+				if (matches(config, query, probe, probes, state.addedBands[index])) {
+					similar.add(state.added[index]);
+				}
+			}
+		}
+		return similar;
+	}
+
+	private static int[] bandHashes(LshConfig config, int[] signature) {
+		int[] bands = new int[config.getBands()];
+		for (int band = 0; band < bands.length; band++) {
+			bands[band] = config.bandHash(signature, band);
+		}
+		return bands;
+	}
+
+	/**
+	 * Misma regla que PackedMinHashLSH.query(ProbeSignature, IntSet): coincide
+	 * alguna banda de la firma o de alguna de las sondas.
+	 */
+	private static boolean matches(LshConfig config, int[] query, ProbeSignature probe, int probes, int[] bands) {
+		for (int band = 0; band < bands.length; band++) {
+			if (query[band] == bands[band]) {
+				return true;
+			}
+			for (int index = 0; index < probes; index++) {
+				if (probe.changesBand(config, band, index)
+						&& probe.probeBandHash(config, band, index) == bands[band]) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Palabras visibles de un estado: las del base que no se quitaron y las agregadas.
+	 */
+	private static final class Words extends AbstractCollection<String> {
+		private final State state;
+
+		private Words(State state) {
+			this.state = state;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof String)) {
+				return false;
+			}
+			String word = (String) o;
+			return word.equals(word.toLowerCase()) && this.state.contains(word, 0, word.length());
+		}
+
+		@Override
+		public int size() {
+			return this.state.size;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			Iterator<String> base = this.state.base.getWords().iterator();
+			return new Iterator<String>() {
+				private int added;
+				private String next = this.advance();
+
+				private String advance() {
+					while (base.hasNext()) {
+						String word = base.next();
+						if (!state.removed.contains(word)) {
+							return word;
+						}
+					}
+					return this.added < state.added.length ? state.added[this.added++] : null;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return this.next != null;
+				}
+
+				@Override
+				public String next() {
+					if (this.next == null) {
+						throw new NoSuchElementException();
+					}
+					String word = this.next;
+					this.next = this.advance();
+					return word;
+				}
+			};
+		}
+	}
+}
@@ -1,4 +1,10 @@
 package edu.isistan.spellchecker.corrector;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.TreeSet;
 import java.util.Set;
 
@@ -9,8 +15,17 @@ import java.util.Set;
  * <p>
  * Implementaciones concretas deben implementar el mtodo getCorrections
  * que en general invocar al mtodo matchCase.
+ * <p>
+ * getCorrections(String, int) devuelve solo las k mejores sugerencias ordenadas
+ * por distancia de edicion y luego por frecuencia (ver getFrequency), usando un
+ * heap acotado a k en lugar de ordenar todos los candidatos.
  */
 public abstract class Corrector {
+	/** Orden de las sugerencias: la mejor primero. */
+	private static final Comparator<Suggestion> RANKING = Comparator
+			.comparingInt((Suggestion suggestion) -> suggestion.distance)
+			.thenComparing(Comparator.comparingInt((Suggestion suggestion) -> suggestion.frequency).reversed())
+			.thenComparing(suggestion -> suggestion.word);
 
 	/**
 	 * Retorna un conjunto con los mismos elementos del set de correcciones
@@ -26,19 +41,143 @@ public abstract class Corrector {
 			throw new IllegalArgumentException("null input given");
 		}
 		Set<String> revisedSet = new TreeSet<String>();
-		boolean capitalizeFirst = Character.isUpperCase(incorrectWord.charAt(0));
 		for (String s : corrections) {
-			if (capitalizeFirst) {
-				String ucfirst =
-						s.substring(0, 1).toUpperCase() + s.substring(1).toLowerCase();
-				revisedSet.add(ucfirst);
-			} else {
-				revisedSet.add(s.toLowerCase());
-			}
+			revisedSet.add(matchCase(incorrectWord, s));
 		}
 		return revisedSet;
 	}
 
+	private static String matchCase(String incorrectWord, String correction) {
+		if (Character.isUpperCase(incorrectWord.charAt(0))) {
+			return correction.substring(0, 1).toUpperCase() + correction.substring(1).toLowerCase();
+		}
+		return correction.toLowerCase();
+	}
+
+	/**
+	 * Retorna las k mejores sugerencias para una palabra mal escrita, la mejor
+	 * primero: menor distancia de edicion a la palabra, luego mayor frecuencia y
+	 * luego orden alfabetico. Las sugerencias llevan la capitalizacion de matchCase.
+	 * Los candidatos que solo difieren en mayusculas se unen antes de elegir las k
+	 * mejores, por lo que no se devuelven menos de k si hay suficientes.
+	 *
+	 * @param wrong palabra a corregir
+	 * @param k cantidad maxima de sugerencias
+	 * @return lista (potencialmente vacia) con a lo sumo k sugerencias
+	 * @throws IllegalArgumentException si la entrada no es una palabra valida o k no es positivo
+	 */
+	public List<String> getCorrections(String wrong, int k) {
+		if (k <= 0) {
+			throw new IllegalArgumentException("k debe ser positivo");
+		}
+		Collection<String> candidates = this.getCandidates(wrong);
+		String word = wrong.toLowerCase();
+		Set<String> unique = new HashSet<>();
+		for (String candidate : candidates) {
+			unique.add(candidate.toLowerCase());
+		}
+		PriorityQueue<Suggestion> best = new PriorityQueue<>(Math.min(k, unique.size()) + 1, RANKING.reversed());
+		for (String candidate : unique) {
+			Suggestion suggestion = new Suggestion(candidate, editDistance(candidate, word),
+					this.getFrequency(candidate));
+			if (best.size() < k) {
+				best.add(suggestion);
+			} else if (RANKING.compare(suggestion, best.peek()) < 0) {
+				best.poll();
+				best.add(suggestion);
+			}
+		}
+		List<Suggestion> ranked = new ArrayList<>(best);
+		ranked.sort(RANKING);
+		List<String> corrections = new ArrayList<>(ranked.size());
+		for (Suggestion suggestion : ranked) {
+			corrections.add(matchCase(wrong, suggestion.word));
+		}
+		return corrections;
+	}
+
+	/**
+	 * Candidatos para la palabra, en cualquier orden y capitalizacion, que usa
+	 * getCorrections(String, int). Por defecto son los de getCorrections(String);
+	 * los correctores que los tienen antes de aplicar matchCase lo redefinen para
+	 * no copiarlos a un TreeSet.
+	 *
+	 * @param wrong palabra a corregir
+	 * @throws IllegalArgumentException si la entrada no es una palabra valida
+	 */
+	protected Collection<String> getCandidates(String wrong) {
+		return this.getCorrections(wrong);
+	}
+
+	/**
+	 * Frecuencia de uso de una sugerencia para el ranking. Por defecto 0; los
+	 * correctores con diccionario usan Dictionary.getFrequency.
+	 *
+	 * @param suggestion sugerencia en minuscula
+	 */
+	protected int getFrequency(String suggestion) {
+		return 0;
+	}
+
+	/**
+	 * getCandidates de otro corrector, para los correctores que combinan a otros.
+	 *
+	 * @param corrector corrector a consultar
+	 * @param wrong palabra a corregir
+	 * @throws IllegalArgumentException si la entrada no es una palabra valida
+	 */
+	protected static Collection<String> getCandidates(Corrector corrector, String wrong) {
+		return corrector.getCandidates(wrong);
+	}
+
+	/**
+	 * getFrequency de otro corrector, para los correctores que combinan a otros.
+	 *
+	 * @param corrector corrector a consultar
+	 * @param suggestion sugerencia en minuscula
+	 */
+	protected static int getFrequency(Corrector corrector, String suggestion) {
+		return corrector.getFrequency(suggestion);
+	}
+
+	/**
+	 * Distancia de Levenshtein entre las palabras, con dos filas de la matriz. La
+	 * usan getCorrections(String, int) y los correctores que filtran candidatos por
+	 * distancia (Levenshtein, SymmetricDeleteCorrector).
+	 *
+	 * @return cantidad minima de inserciones, borrados y sustituciones
+	 */
+	protected static int editDistance(String x, String y) {
+		int[] previous = new int[y.length() + 1];
+		int[] current = new int[y.length() + 1];
+		for (int j = 0; j <= y.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= x.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= y.length(); j++) {
+				int cost = x.charAt(i - 1) == y.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[y.length()];
+	}
+
+	private static final class Suggestion {
+		private final String word;
+		private final int distance;
+		private final int frequency;
+
+		private Suggestion(String word, int distance, int frequency) {
+			this.word = word;
+			this.distance = distance;
+			this.frequency = frequency;
+		}
+	}
+
 	/**
 	 * Retoran una lista de sugerencias para una palabra mal escrita.
 	 * <p>
@@ -0,0 +1,342 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Automata aciclico determinista minimo (DAWG) de palabras.
+ * <p>
+ * A diferencia del Trie, ademas de los prefijos comparte los sufijos ("-ing",
+ * "-tion", "-ness"...). Se construye de forma incremental con el algoritmo de
+ * Daciuk a partir de palabras ordenadas (ver {@link Builder}) y una vez
+ * construido queda congelado en arreglos primitivos: las aristas del nodo n son
+ * [firstEdge[n], firstEdge[n + 1]), ordenadas por etiqueta.
+ * <p>
+ * Como los nodos terminales se comparten, el id de una palabra (ver getWordId) es
+ * su posicion en orden lexicografico: cada arista guarda cuantas palabras menores
+ * deja atras quien la sigue, y el id es la suma de esos valores en el camino.
+ */
+public class Dawg implements WordGraph {
+	private final int[] firstEdge;
+	private final char[] edgeLabels;
+	private final int[] edgeTargets;
+	private final long[] terminal;
+	private final int[] edgeRanks;
+	private final int uniqueWords;
+
+	private Dawg(int[] firstEdge, char[] edgeLabels, int[] edgeTargets, long[] terminal, int uniqueWords) {
+		this.firstEdge = firstEdge;
+		this.edgeLabels = edgeLabels;
+		this.edgeTargets = edgeTargets;
+		this.terminal = terminal;
+		this.uniqueWords = uniqueWords;
+		this.edgeRanks = new int[edgeLabels.length];
+		int[] words = new int[firstEdge.length - 1];
+		Arrays.fill(words, -1);
+		this.countWords(0, words);
+	}
+
+	/**
+	 * Cuenta las palabras que acepta el nodo y completa edgeRanks para sus aristas:
+	 * la palabra que termina en el nodo (si es terminal) mas las de las aristas
+	 * anteriores.
+	 *
+	 * @param words palabras aceptadas por cada nodo, -1 si todavia no se contaron
+	 */
+	private int countWords(int node, int[] words) {
+		if (words[node] < 0) {
+			int count = this.isTerminal(node) ? 1 : 0;
+			for (int edge = this.firstEdge[node]; edge < this.firstEdge[node + 1]; edge++) {
+				this.edgeRanks[edge] = count;
+				count += this.countWords(this.edgeTargets[edge], words);
+			}
+			words[node] = count;
+		}
+		return words[node];
+	}
+
+	/**
+	 * @param word palabra a buscar (ya normalizada)
+	 * @return true si la palabra fue insertada en el automata
+	 */
+	public boolean isWord(String word) {
+		int node = 0;
+		for (int index = 0; index < word.length(); index++) {
+			node = this.getChild(node, word.charAt(index));
+			if (node < 0) {
+				return false;
+			}
+		}
+		return this.isTerminal(node);
+	}
+
+	/**
+	 * Como isWord pero pasando cada caracter del fragmento a minuscula mientras
+	 * recorre el automata.
+	 */
+	public boolean isWordIgnoreCase(CharSequence word, int offset, int length) {
+		int node = 0;
+		for (int index = offset; index < offset + length; index++) {
+			node = this.getChild(node, CaseFolding.fold(word.charAt(index)));
+			if (node < 0) {
+				return false;
+			}
+		}
+		return this.isTerminal(node);
+	}
+
+	/**
+	 * Como isWordIgnoreCase pero devuelve la posicion de la palabra en orden
+	 * lexicografico, que sirve de id.
+	 *
+	 * @return el id, en [0, getUniqueWords()), o -1 si la palabra no esta
+	 */
+	public int getWordId(CharSequence word, int offset, int length) {
+		int node = 0;
+		int id = 0;
+		for (int index = offset; index < offset + length; index++) {
+			int edge = this.findEdge(node, CaseFolding.fold(word.charAt(index)));
+			if (edge < 0) {
+				return -1;
+			}
+			id += this.edgeRanks[edge];
+			node = this.edgeTargets[edge];
+		}
+		return this.isTerminal(node) ? id : -1;
+	}
+
+	/**
+	 * @return el nodo destino de la arista con esa etiqueta o -1 si no existe
+	 */
+	public int getChild(int node, char label) {
+		int edge = this.findEdge(node, label);
+		return edge < 0 ? -1 : this.edgeTargets[edge];
+	}
+
+	/**
+	 * @return la arista del nodo con esa etiqueta (busqueda binaria) o -1 si no existe
+	 */
+	private int findEdge(int node, char label) {
+		int low = this.firstEdge[node];
+		int high = this.firstEdge[node + 1] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char value = this.edgeLabels[middle];
+			if (value < label) {
+				low = middle + 1;
+			} else if (value > label) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int getRoot() {
+		return 0;
+	}
+
+	@Override
+	public int getFirstEdge(int node) {
+		return this.firstEdge[node];
+	}
+
+	@Override
+	public int getEdgeEnd(int node) {
+		return this.firstEdge[node + 1];
+	}
+
+	@Override
+	public char getEdgeLabel(int edge) {
+		return this.edgeLabels[edge];
+	}
+
+	@Override
+	public int getEdgeTarget(int edge) {
+		return this.edgeTargets[edge];
+	}
+
+	@Override
+	public boolean isTerminal(int node) {
+		return (this.terminal[node >>> 6] & (1L << node)) != 0;
+	}
+
+	public int getUniqueWords() {
+		return this.uniqueWords;
+	}
+
+	public int getNodeCount() {
+		return this.firstEdge.length - 1;
+	}
+
+	public int getEdgeCount() {
+		return this.edgeLabels.length;
+	}
+
+	/**
+	 * Construye un Dawg a partir de palabras insertadas en orden lexicografico
+	 * estricto (String.compareTo). Cada vez que llega una palabra, la parte del
+	 * camino anterior que ya no puede cambiar se minimiza contra el registro de
+	 * nodos equivalentes.
+	 */
+	public static class Builder {
+		private final BuildNode root = new BuildNode();
+		private final Map<BuildNode, BuildNode> register = new HashMap<>();
+		private final List<BuildNode> uncheckedParents = new ArrayList<>();
+		private final List<BuildNode> uncheckedChildren = new ArrayList<>();
+		private String previousWord = "";
+		private int uniqueWords;
+		private boolean built;
+
+		/**
+		 * Agrega una palabra. Las palabras repetidas consecutivas se ignoran.
+		 *
+		 * @param word palabra (ya normalizada)
+		 * @throws IllegalArgumentException si la palabra no respeta el orden
+		 * @throws IllegalStateException si el Dawg ya fue construido
+		 */
+		public Builder add(String word) {
+			if (this.built) {
+				throw new IllegalStateException("El Dawg ya fue construido");
+			}
+			int order = word.compareTo(this.previousWord);
+			if (order == 0 && this.uniqueWords > 0) {
+				return this;
+			}
+			if (order < 0) {
+				throw new IllegalArgumentException("Las palabras deben insertarse ordenadas: " + word);
+			}
+			int commonPrefix = 0;
+			int limit = Math.min(word.length(), this.previousWord.length());
+			while (commonPrefix < limit && word.charAt(commonPrefix) == this.previousWord.charAt(commonPrefix)) {
+				commonPrefix++;
+			}
+			this.minimize(commonPrefix);
+			BuildNode node = this.uncheckedChildren.isEmpty()
+					? this.root : this.uncheckedChildren.get(this.uncheckedChildren.size() - 1);
+			for (int index = commonPrefix; index < word.length(); index++) {
+				BuildNode child = new BuildNode();
+				node.addEdge(word.charAt(index), child);
+				this.uncheckedParents.add(node);
+				this.uncheckedChildren.add(child);
+				node = child;
+			}
+			node.terminal = true;
+			this.previousWord = word;
+			this.uniqueWords++;
+			return this;
+		}
+
+		private void minimize(int downTo) {
+			for (int index = this.uncheckedChildren.size() - 1; index >= downTo; index--) {
+				BuildNode parent = this.uncheckedParents.remove(index);
+				BuildNode child = this.uncheckedChildren.remove(index);
+				BuildNode equivalent = this.register.get(child);
+				if (equivalent != null) {
+					parent.targets[parent.size - 1] = equivalent;
+				} else {
+					this.register.put(child, child);
+				}
+			}
+		}
+
+		/**
+		 * Minimiza lo que queda pendiente y congela el automata en arreglos.
+		 */
+		public Dawg build() {
+			this.minimize(0);
+			this.built = true;
+			Map<BuildNode, Integer> ids = new IdentityHashMap<>();
+			List<BuildNode> nodes = new ArrayList<>();
+			ids.put(this.root, 0);
+			nodes.add(this.root);
+			int edges = 0;
+			for (int index = 0; index < nodes.size(); index++) {
+				BuildNode node = nodes.get(index);
+				edges += node.size;
+				for (int edge = 0; edge < node.size; edge++) {
+					BuildNode target = node.targets[edge];
+					if (!ids.containsKey(target)) {
+						ids.put(target, nodes.size());
+						nodes.add(target);
+					}
+				}
+			}
+			int[] firstEdge = new int[nodes.size() + 1];
+			char[] edgeLabels = new char[edges];
+			int[] edgeTargets = new int[edges];
+			long[] terminal = new long[(nodes.size() + 63) >>> 6];
+			int edge = 0;
+			for (int index = 0; index < nodes.size(); index++) {
+				BuildNode node = nodes.get(index);
+				firstEdge[index] = edge;
+				if (node.terminal) {
+					terminal[index >>> 6] |= 1L << index;
+				}
+				for (int child = 0; child < node.size; child++) {
+					edgeLabels[edge] = node.labels[child];
+					edgeTargets[edge] = ids.get(node.targets[child]);
+					edge++;
+				}
+			}
+			firstEdge[nodes.size()] = edge;
+			this.register.clear();
+			return new Dawg(firstEdge, edgeLabels, edgeTargets, terminal, this.uniqueWords);
+		}
+	}
+
+	/**
+	 * Nodo mutable usado solo durante la construccion. Dos nodos son
+	 * equivalentes si tienen la misma terminalidad y las mismas aristas hacia
+	 * los mismos nodos (ya minimizados, por eso se comparan por identidad).
+	 */
+	private static class BuildNode {
+		private char[] labels = new char[2];
+		private BuildNode[] targets = new BuildNode[2];
+		private int size;
+		private boolean terminal;
+
+		private void addEdge(char label, BuildNode target) {
+			if (this.size == this.labels.length) {
+				this.labels = Arrays.copyOf(this.labels, this.size * 2);
+				this.targets = Arrays.copyOf(this.targets, this.size * 2);
+			}
+			this.labels[this.size] = label;
+			this.targets[this.size] = target;
+			this.size++;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = this.terminal ? 1 : 0;
+			for (int index = 0; index < this.size; index++) {
+				hash = 31 * hash + this.labels[index];
+				hash = 31 * hash + System.identityHashCode(this.targets[index]);
+			}
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof BuildNode)) {
+				return false;
+			}
+			BuildNode node = (BuildNode) other;
+			if (node.terminal != this.terminal || node.size != this.size) {
+				return false;
+			}
+			for (int index = 0; index < this.size; index++) {
+				if (node.labels[index] != this.labels[index] || node.targets[index] != this.targets[index]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -1,16 +1,23 @@
 package edu.isistan.spellchecker.corrector;
 
-import edu.isistan.spellchecker.lsh.MinHash;
-import edu.isistan.spellchecker.lsh.MinHashLSH;
-import edu.isistan.spellchecker.lsh.NGram;
+import edu.isistan.spellchecker.lsh.IntSet;
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+import edu.isistan.spellchecker.lsh.ProbeSignature;
+import edu.isistan.spellchecker.metrics.Metrics;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * El diccionario maneja todas las palabras conocidas.
@@ -18,11 +25,53 @@ import java.util.Set;
  *
  * Una palabra "v�lida" es una secuencia de letras (determinado por Character.isLetter)
  * o apostrofes.
+ *
+ * Las palabras similares salen de un indice LSH cuya forma (bandas, filas, hash de
+ * banda y sondas) se elige con un LshConfig; por defecto LshConfig.DEFAULT. El
+ * indice no se construye al cargar: se arma con las palabras de getWords() en el
+ * primer getSimilarWords, o antes con buildSimilarityIndex o
+ * buildSimilarityIndexInBackground si se sabe que el corrector lo va a usar. Se
+ * publica una sola vez y ya completo, por lo que las consultas pueden venir de
+ * cualquier hilo.
+ *
+ * Con listas grandes (al menos {@value #PARALLEL_THRESHOLD} palabras) y mas de un
+ * procesador, las firmas MinHash y las estructuras que lo permiten se construyen en
+ * paralelo; el resultado es identico al secuencial. La propiedad
+ * {@value #PARALLEL_PROPERTY} (true o false) fuerza uno u otro camino.
+ *
+ * Opcionalmente, buildBloomFilter arma un filtro de Bloom con las palabras que
+ * isWord consulta antes que la estructura exacta: la mayoria de las palabras que
+ * no estan (como los candidatos que prueba Levenshtein) se descartan leyendo una
+ * linea de cache.
+ *
+ * getWordGraph devuelve un automata de las palabras para los correctores que lo
+ * recorren (TrieLevenshtein). Las implementaciones que no guardan las palabras en
+ * uno (Dictionary, DictionaryTrie, MappedDictionary) lo arman como un PackedTrie
+ * con getWords() la primera vez que se pide, igual que el indice LSH.
  */
 public class Dictionary {
-	private static final int NUMBER_OF_PERMUTATIONS = 64;
-	private Set<String> dictionary;
-	private MinHashLSH lsh;
+	public static final String PARALLEL_PROPERTY = "spellchecker.dictionary.parallel";
+	public static final int PARALLEL_THRESHOLD = 20000;
+	private LshConfig lshConfig = LshConfig.DEFAULT;
+	private WordSet dictionary;
+	private volatile SimilarityIndex similarityIndex;
+	private volatile int[] frequencies;
+	private volatile BloomFilter bloomFilter;
+	private volatile PackedTrie packedWords;
+
+	/**
+	 * Indice LSH ya armado y la palabra de cada id.
+	 */
+	private static final class SimilarityIndex {
+		private final PackedMinHashLSH lsh;
+		private final String[] words;
+
+		private SimilarityIndex(PackedMinHashLSH lsh, String[] words) {
+			this.lsh = lsh;
+			this.words = words;
+		}
+	}
+
 	/**
 	 * Construye un diccionario usando un TokenScanner
 	 * <p>
@@ -39,43 +88,143 @@ public class Dictionary {
 		if (ts == null) {
 			throw new IllegalArgumentException("TokenScanner es null");
 		}
-		this.lsh = new MinHashLSH();
-		this.doInitializeDictionary(ts);
+		this.doInitializeDictionary(WordList.words(ts));
+	}
+
+	/**
+	 * Construye un diccionario con las palabras leidas por WordList.load, que ya
+	 * estan validadas y en minuscula.
+	 *
+	 * @param words
+	 * @throws IllegalArgumentException la lista es null
+	 */
+	public Dictionary(WordList words) {
+		this(words, LshConfig.DEFAULT);
+	}
+
+	/**
+	 * Como Dictionary(WordList) pero con otra configuracion del LSH.
+	 *
+	 * @param words
+	 * @param lshConfig bandas, filas, hash de banda y sondas del indice
+	 * @throws IllegalArgumentException la lista o la configuracion es null
+	 */
+	public Dictionary(WordList words, LshConfig lshConfig) {
+		if (words == null) {
+			throw new IllegalArgumentException("La lista de palabras es null");
+		}
+		if (lshConfig == null) {
+			throw new IllegalArgumentException("La configuracion del LSH es null");
+		}
+		this.lshConfig = lshConfig;
+		this.doInitializeDictionary(words.iterator());
+	}
+
+	/**
+	 * Constructor para implementaciones que no cargan las palabras en memoria y
+	 * redefinen las consultas (ver MappedDictionary).
+	 */
+	protected Dictionary() {
+	}
+
+	/**
+	 * Carga las palabras en la estructura del diccionario.
+	 *
+	 * @param words palabras validas en minuscula (puede haber repetidas)
+	 */
+	protected void doInitializeDictionary(Iterator<String> words) {
+		this.dictionary = new WordSet();
+		while (words.hasNext()) {
+			this.dictionary.add(words.next());
+		}
+	}
+
+	/**
+	 * Construye el indice de getSimilarWords si todavia no existe. Si otro hilo lo
+	 * esta construyendo, espera a que termine.
+	 */
+	public void buildSimilarityIndex() {
+		this.similarityIndex();
+	}
+
+	/**
+	 * Construye el indice de getSimilarWords en un hilo daemon. Las consultas que
+	 * lleguen antes de que termine esperan al indice en lugar de construir otro.
+	 *
+	 * @return se completa cuando el indice esta listo
+	 */
+	public CompletableFuture<Void> buildSimilarityIndexInBackground() {
+		return CompletableFuture.runAsync(this::buildSimilarityIndex, task -> {
+			Thread thread = new Thread(task, "dictionary-similarity-index");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+
+	/**
+	 * @return true si el indice de getSimilarWords ya esta construido
+	 */
+	public boolean hasSimilarityIndex() {
+		return this.similarityIndex != null;
 	}
 
-	protected void doInitializeDictionary(TokenScanner tokenScanner) {
-		this.dictionary = new HashSet<>();
-		while (tokenScanner.hasNext()) {
-			String token = tokenScanner.next().toLowerCase();
-			if (TokenScanner.isWord(token)) {
-				this.insertInLSH(token);
-				this.dictionary.add(token);
+	private SimilarityIndex similarityIndex() {
+		SimilarityIndex index = this.similarityIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = this.similarityIndex;
+				if (index == null) {
+					String[] words = this.getWords().toArray(new String[0]);
+					PackedMinHashLSH lsh = new PackedMinHashLSH.Builder(this.lshConfig)
+							.parallel(isParallelBuild(words.length))
+							.addAll(Arrays.asList(words), 1)
+							.build();
+					index = new SimilarityIndex(lsh, words);
+					this.similarityIndex = index;
+				}
 			}
 		}
+		return index;
 	}
 
-	protected void insertInLSH(String token) {
-		MinHash minHash = new MinHash(NUMBER_OF_PERMUTATIONS);
-		Set<String> ngrams = NGram.ngrams(1, token);
-		for (String ngram : ngrams) {
-			minHash.update(ngram);
+	/**
+	 * @param words cantidad de palabras a cargar
+	 * @return true si conviene construir en paralelo (ver {@value #PARALLEL_PROPERTY})
+	 */
+	protected static boolean isParallelBuild(int words) {
+		String property = System.getProperty(PARALLEL_PROPERTY);
+		if (property != null) {
+			return Boolean.parseBoolean(property);
 		}
-		lsh.insert(token, minHash);
+		return words >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+	}
+
+	/**
+	 * Escribe la firma MinHash de los unigramas de la palabra, con tantas
+	 * permutaciones como posiciones tenga el arreglo.
+	 */
+	static void signature(String word, int[] signature) {
+		MinHasher.forPermutations(signature.length).signature(word, 1, signature);
+	}
+
+	/**
+	 * @return la configuracion del indice LSH de getSimilarWords
+	 */
+	public LshConfig getLshConfig() {
+		return this.lshConfig;
 	}
 
 	/**
 	 * Construye un diccionario usando un archivo.
-	 *
+	 * <p>
+	 * El archivo se lee en UTF-8 con WordList.load.
 	 *
 	 * @param filename
 	 * @throws FileNotFoundException si el archivo no existe
 	 * @throws IOException Error leyendo el archivo
 	 */
 	public static Dictionary make(String filename) throws IOException {
-		Reader r = new FileReader(filename);
-		Dictionary d = new Dictionary(new TokenScanner(r));
-		r.close();
-		return d;
+		return new Dictionary(WordList.load(filename));
 	}
 
 	/**
@@ -105,15 +254,233 @@ public class Dictionary {
 		if (word == null) {
 			return false;
 		}
-		return this.dictionary.contains(word.toLowerCase()) ;
+		return this.isWord(word, 0, word.length());
+	}
+
+	/**
+	 * Como isWord(String) pero sobre un fragmento de cualquier CharSequence (por
+	 * ejemplo el buffer de un tokenizer o un StringBuilder reutilizado). Pasa cada
+	 * caracter a minuscula mientras busca, sin crear objetos. isWord(String) lo usa;
+	 * la busqueda en si es containsWord, que redefine cada implementacion.
+	 *
+	 * @param word texto que contiene la palabra
+	 * @param offset inicio de la palabra
+	 * @param length largo de la palabra
+	 * @return si la palabra esta en el diccionario; false si word es null
+	 * @throws IndexOutOfBoundsException si el fragmento no esta dentro de word
+	 */
+	public boolean isWord(CharSequence word, int offset, int length) {
+		if (word == null) {
+			return false;
+		}
+		Objects.checkFromIndexSize(offset, length, word.length());
+		if (!Metrics.ENABLED) {
+			return this.lookup(word, offset, length);
+		}
+		boolean found;
+		if (Metrics.sampleIsWord()) {
+			long start = System.nanoTime();
+			found = this.lookup(word, offset, length);
+			Metrics.IS_WORD.record(System.nanoTime() - start);
+		} else {
+			found = this.lookup(word, offset, length);
+		}
+		(found ? Metrics.IS_WORD_HIT_COUNT : Metrics.IS_WORD_MISS_COUNT).increment();
+		return found;
+	}
+
+	/**
+	 * containsWord precedido por el filtro de Bloom, si hay uno.
+	 */
+	final boolean lookup(CharSequence word, int offset, int length) {
+		BloomFilter filter = this.bloomFilter;
+		if (filter == null) {
+			return this.containsWord(word, offset, length);
+		}
+		if (!filter.mightContain(word, offset, length)) {
+			if (Metrics.ENABLED) {
+				Metrics.BLOOM_REJECTED_COUNT.increment();
+			}
+			return false;
+		}
+		boolean found = this.containsWord(word, offset, length);
+		if (Metrics.ENABLED && !found) {
+			Metrics.BLOOM_FALSE_POSITIVE_COUNT.increment();
+		}
+		return found;
+	}
+
+	/**
+	 * Construye, si todavia no existe, el filtro de Bloom que isWord consulta antes
+	 * de buscar en el diccionario. Ocupa unos {@value BloomFilter#DEFAULT_BITS_PER_WORD}
+	 * bits por palabra y deja pasar alrededor del 1% de las palabras que no estan.
+	 */
+	public void buildBloomFilter() {
+		if (this.bloomFilter == null) {
+			synchronized (this) {
+				if (this.bloomFilter == null) {
+					this.bloomFilter = BloomFilter.of(this.getWords());
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return el filtro de Bloom (con su tamano y su tasa de falsos positivos), o
+	 * null si no se construyo
+	 */
+	public BloomFilter getBloomFilter() {
+		return this.bloomFilter;
+	}
+
+	/**
+	 * Busca el fragmento ignorando mayusculas. word no es null y el fragmento ya
+	 * esta dentro de word.
+	 */
+	protected boolean containsWord(CharSequence word, int offset, int length) {
+		return this.dictionary.containsIgnoreCase(word, offset, length);
+	}
+
+	/**
+	 * Asocia frecuencias de uso a las palabras, que los correctores usan para
+	 * ordenar las sugerencias (ver Corrector.getCorrections(String, int)).
+	 * <p>
+	 * Las frecuencias se copian a un int[] indexado por el id de cada palabra en la
+	 * estructura del diccionario (ver getWordId), y las de palabras que no estan se
+	 * descartan: el WordFrequencies no se guarda.
+	 *
+	 * @param frequencies las frecuencias, o null para quitarlas
+	 */
+	public void setWordFrequencies(WordFrequencies frequencies) {
+		if (frequencies == null) {
+			this.frequencies = null;
+			return;
+		}
+		int[] byId = new int[this.getWordIdLimit()];
+		frequencies.forEach((word, frequency) -> {
+			int id = this.getWordId(word, 0, word.length());
+			if (id >= 0) {
+				byId[id] = frequency;
+			}
+		});
+		this.frequencies = byId;
+	}
+
+	/**
+	 * Copia las frecuencias de otro diccionario a las palabras de este, por
+	 * ejemplo al reconstruir el base de un ConcurrentDictionary.
+	 */
+	final void copyWordFrequencies(Dictionary from) {
+		if (from.frequencies == null) {
+			return;
+		}
+		int[] byId = new int[this.getWordIdLimit()];
+		for (String word : this.getWords()) {
+			byId[this.getWordId(word, 0, word.length())] = from.getFrequency(word);
+		}
+		this.frequencies = byId;
+	}
+
+	/**
+	 * Busca la palabra como isWord, sin pasarla a minuscula, y lee su frecuencia.
+	 *
+	 * @return la frecuencia de la palabra, o 0 si es desconocida o el diccionario
+	 * no tiene frecuencias
+	 */
+	public int getFrequency(String word) {
+		int[] current = this.frequencies;
+		if (current == null || word == null) {
+			return 0;
+		}
+		int id = this.getWordId(word, 0, word.length());
+		return id >= 0 ? current[id] : 0;
+	}
+
+	/**
+	 * Id de una palabra en la estructura del diccionario, ignorando mayusculas: la
+	 * posicion en la tabla de hash para Dictionary, el nodo terminal del trie o la
+	 * posicion en orden alfabetico para el DAWG y el snapshot. Las implementaciones
+	 * sin ids propios usan los del PackedTrie de getWordGraph.
+	 *
+	 * @return el id, en [0, getWordIdLimit()), o -1 si la palabra no esta
+	 */
+	protected int getWordId(CharSequence word, int offset, int length) {
+		if (this.dictionary != null) {
+			return this.dictionary.indexOf(word, offset, length);
+		}
+		return this.packedWords().getWordId(word, offset, length);
+	}
+
+	/**
+	 * @return cota (exclusiva) de los ids de getWordId
+	 */
+	protected int getWordIdLimit() {
+		if (this.dictionary != null) {
+			return this.dictionary.capacity();
+		}
+		return this.packedWords().getNodeCount();
+	}
+
+	/**
+	 * Retorna todas las palabras del diccionario (en minuscula, sin repetir).
+	 *
+	 * @return coleccion de solo lectura con las palabras
+	 */
+	public Collection<String> getWords() {
+		return Collections.unmodifiableSet(this.dictionary);
+	}
+
+	/**
+	 * Retorna el automata de palabras del diccionario, para que los correctores
+	 * puedan recorrerlo directamente. Por defecto es un PackedTrie con getWords()
+	 * que se arma la primera vez que se pide; si otro hilo lo esta armando, espera a
+	 * que termine.
+	 *
+	 * @return el automata o null si el diccionario no se puede recorrer
+	 */
+	public WordGraph getWordGraph() {
+		return this.packedWords();
+	}
+
+	/**
+	 * @return el PackedTrie de getWordGraph, armandolo si todavia no existe
+	 */
+	final PackedTrie packedWords() {
+		PackedTrie packed = this.packedWords;
+		if (packed == null) {
+			synchronized (this) {
+				packed = this.packedWords;
+				if (packed == null) {
+					Collection<String> words = this.getWords();
+					packed = new PackedTrie(words, isParallelBuild(words.size()));
+					this.packedWords = packed;
+				}
+			}
+		}
+		return packed;
 	}
 
 	public Set<String> getSimilarWords(String misspelledWord) {
-		MinHash queryMinHash = new MinHash(NUMBER_OF_PERMUTATIONS);
-		Set<String> ngrams = NGram.ngrams(1, misspelledWord.toLowerCase());
-		for (String ngram : ngrams) {
-			queryMinHash.update(ngram);
+		String word = misspelledWord.toLowerCase();
+		MinHasher hasher = MinHasher.forPermutations(this.lshConfig.getPermutations());
+		SimilarityIndex similarity = this.similarityIndex();
+		IntSet ids = new IntSet();
+		if (this.lshConfig.getProbes() > 0) {
+			ProbeSignature probe = new ProbeSignature(this.lshConfig.getPermutations());
+			hasher.signature(word, 1, probe);
+			similarity.lsh.query(probe, ids);
+		} else {
+			int[] query = new int[this.lshConfig.getPermutations()];
+			hasher.signature(word, 1, query);
+			similarity.lsh.query(query, ids);
+		}
+		Set<String> similar = new HashSet<>();
+		for (int index = 0; index < ids.size(); index++) {
+			similar.add(similarity.words[ids.get(index)]);
+		}
+		if (Metrics.ENABLED) {
+			Metrics.SIMILAR_WORDS.record(similar.size());
 		}
-		return lsh.query(queryMinHash);
+		return similar;
 	}
 }
\ No newline at end of file
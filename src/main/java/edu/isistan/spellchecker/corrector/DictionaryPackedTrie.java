@@ -0,0 +1,133 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * El diccionario maneja todas las palabras conocidas.
+ * El diccionario es case insensitive
+ *
+ * Una palabra "valida" es una secuencia de letras (determinado por Character.isLetter)
+ * o apostrofes.
+ * <p>
+ * Variante de DictionaryTrie que almacena las palabras en un PackedTrie: el trie
+ * se arma una unica vez al terminar de leer las palabras y queda compactado en
+ * arreglos primitivos.
+ */
+public class DictionaryPackedTrie extends Dictionary {
+	private PackedTrie dictionary;
+
+	/**
+	 * Construye un diccionario usando un TokenScanner
+	 * <p>
+	 * Una palabra valida es una secuencia de letras (ver Character.isLetter) o apostrofes.
+	 * Toda palabra no valida se debe ignorar
+	 *
+	 * @param ts
+	 * @throws IOException Error leyendo el archivo
+	 * @throws IllegalArgumentException el TokenScanner es null
+	 */
+	public DictionaryPackedTrie(TokenScanner ts) throws IOException {
+		super(ts);
+	}
+
+	/**
+	 * Construye un diccionario con las palabras leidas por WordList.load, que ya
+	 * estan validadas y en minuscula.
+	 *
+	 * @param words
+	 * @throws IllegalArgumentException la lista es null
+	 */
+	public DictionaryPackedTrie(WordList words) {
+		super(words);
+	}
+
+	/**
+	 * Como DictionaryPackedTrie(WordList) pero con otra configuracion del LSH.
+	 *
+	 * @param words
+	 * @param lshConfig bandas, filas, hash de banda y sondas del indice
+	 * @throws IllegalArgumentException la lista o la configuracion es null
+	 */
+	public DictionaryPackedTrie(WordList words, LshConfig lshConfig) {
+		super(words, lshConfig);
+	}
+
+	@Override
+	protected void doInitializeDictionary(Iterator<String> words) {
+		List<String> collected = new ArrayList<>();
+		while (words.hasNext()) {
+			collected.add(words.next());
+		}
+		this.dictionary = new PackedTrie(collected, isParallelBuild(collected.size()));
+	}
+
+	/**
+	 * Construye un diccionario usando un archivo.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo
+	 */
+	public static DictionaryPackedTrie make(String filename) throws IOException {
+		return new DictionaryPackedTrie(WordList.load(filename));
+	}
+
+	/**
+	 * Retorna el numero de palabras correctas en el diccionario.
+	 * El valor se calcula al construir el trie, no recorriendolo.
+	 *
+	 * @return numero de palabras unicas
+	 */
+	@Override
+	public int getNumWords() {
+		return this.dictionary.getUniqueWords();
+	}
+
+	/**
+	 * Testea si una palabra es parte del diccionario. null debe retornar falso.
+	 * Es case insensitive.
+	 *
+	 * @param word verifica si la palabra esta en el diccionario.
+	 * @return si la palabra esta en el diccionario.
+	 */
+	@Override
+	public boolean isWord(String word) {
+		if (word == null) {
+			return false;
+		}
+		return this.isWord(word, 0, word.length());
+	}
+
+	@Override
+	protected boolean containsWord(CharSequence word, int offset, int length) {
+		return this.dictionary.isWordIgnoreCase(word, offset, length);
+	}
+
+	@Override
+	protected int getWordId(CharSequence word, int offset, int length) {
+		return this.dictionary.getWordId(word, offset, length);
+	}
+
+	@Override
+	protected int getWordIdLimit() {
+		return this.dictionary.getNodeCount();
+	}
+
+	@Override
+	public Collection<String> getWords() {
+		return this.dictionary.getWords();
+	}
+
+	@Override
+	public WordGraph getWordGraph() {
+		return this.dictionary;
+	}
+}
@@ -0,0 +1,162 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Compila un diccionario a un archivo binario que MappedDictionary consulta
+ * mapeado a memoria, sin reconstruir el conjunto de palabras ni las firmas MinHash.
+ * <p>
+ * Formato (big endian, version {@value #VERSION}):
+ * <ul>
+ * <li> encabezado: MAGIC, VERSION, permutaciones, bandas, filas, hash de banda
+ * (ordinal de LshConfig.BandHashing), cantidad de palabras n, tamano de la tabla
+ * de hash t y cantidad total de caracteres c (int)
+ * <li> offsets: n + 1 int, inicio de cada palabra en el bloque de caracteres
+ * <li> tabla de hash: t int, id de palabra (o -1) por direccionamiento abierto
+ * sobre String.hashCode
+ * <li> por cada banda del LSH: n int con los hashes de banda ordenados y n int con
+ * el id de la palabra correspondiente
+ * <li> caracteres: c char con las palabras en minuscula, ordenadas
+ * </ul>
+ * Uso: <code>java DictionarySnapshot &ltdiccionario&gt &ltsnapshot&gt</code>
+ */
+public final class DictionarySnapshot {
+	static final int MAGIC = 0x53504443;
+	static final int VERSION = 2;
+	static final int HEADER_INTS = 9;
+
+	private DictionarySnapshot() {
+	}
+
+	/**
+	 * Escribe el snapshot de un conjunto de palabras. El archivo se escribe primero
+	 * en uno temporal y luego se reemplaza, por lo que quien lo este leyendo nunca
+	 * ve un snapshot a medio escribir.
+	 *
+	 * @param words palabras validas en minuscula, por ejemplo un WordList o
+	 * Dictionary.getWords(). Las repetidas se ignoran.
+	 * @param file destino
+	 * @throws IOException Error escribiendo el archivo
+	 * @throws IllegalArgumentException si las palabras o el archivo son null
+	 */
+	public static void write(Iterable<String> words, Path file) throws IOException {
+		write(words, file, LshConfig.DEFAULT);
+	}
+
+	/**
+	 * Como write(words, file) pero con otra forma del indice LSH. Las sondas no se
+	 * guardan: se eligen al abrir el snapshot.
+	 *
+	 * @throws IOException Error escribiendo el archivo
+	 * @throws IllegalArgumentException si las palabras, el archivo o la configuracion son null
+	 */
+	public static void write(Iterable<String> words, Path file, LshConfig lshConfig) throws IOException {
+		if (words == null || file == null || lshConfig == null) {
+			throw new IllegalArgumentException("Las palabras, el archivo o la configuracion son null");
+		}
+		TreeSet<String> sorted = new TreeSet<>();
+		for (String word : words) {
+			sorted.add(word);
+		}
+		writeSorted(new ArrayList<>(sorted), file, lshConfig);
+	}
+
+	private static void writeSorted(List<String> words, Path file, LshConfig lshConfig) throws IOException {
+		int count = words.size();
+		int[] offsets = new int[count + 1];
+		for (int id = 0; id < count; id++) {
+			offsets[id + 1] = offsets[id] + words.get(id).length();
+		}
+		int[] table = new int[tableSize(count)];
+		Arrays.fill(table, -1);
+		for (int id = 0; id < count; id++) {
+			int slot = slot(words.get(id).hashCode(), table.length);
+			while (table[slot] != -1) {
+				slot = (slot + 1) & (table.length - 1);
+			}
+			table[slot] = id;
+		}
+		long[][] bands = new long[lshConfig.getBands()][count];
+		int[] signature = new int[lshConfig.getPermutations()];
+		for (int id = 0; id < count; id++) {
+			Dictionary.signature(words.get(id), signature);
+			for (int band = 0; band < bands.length; band++) {
+				bands[band][id] = ((long) lshConfig.bandHash(signature, band) << 32) | id;
+			}
+		}
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(lshConfig.getPermutations());
+			out.writeInt(lshConfig.getBands());
+			out.writeInt(lshConfig.getRows());
+			out.writeInt(lshConfig.getHashing().ordinal());
+			out.writeInt(count);
+			out.writeInt(table.length);
+			out.writeInt(offsets[count]);
+			for (int offset : offsets) {
+				out.writeInt(offset);
+			}
+			for (int id : table) {
+				out.writeInt(id);
+			}
+			for (long[] band : bands) {
+				Arrays.sort(band);
+				for (long entry : band) {
+					out.writeInt((int) (entry >> 32));
+				}
+				for (long entry : band) {
+					out.writeInt((int) entry);
+				}
+			}
+			for (String word : words) {
+				out.writeChars(word);
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * @return true si el archivo empieza como un snapshot
+	 */
+	public static boolean isSnapshot(Path file) throws IOException {
+		try (InputStream in = Files.newInputStream(file)) {
+			return new DataInputStream(in).readInt() == MAGIC;
+		} catch (EOFException e) {
+			return false;
+		}
+	}
+
+	static int tableSize(int count) {
+		return Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1;
+	}
+
+	static int slot(int hash, int tableSize) {
+		int mixed = hash * 0x9E3779B9;
+		return (mixed ^ (mixed >>> 16)) & (tableSize - 1);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("uso: java DictionarySnapshot <diccionario> <snapshot>");
+			return;
+		}
+		write(WordList.load(args[0]), Paths.get(args[1]));
+	}
+}
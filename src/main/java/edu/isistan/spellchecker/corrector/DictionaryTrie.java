@@ -1,11 +1,14 @@
 package edu.isistan.spellchecker.corrector;
 
+import edu.isistan.spellchecker.lsh.LshConfig;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * El diccionario maneja todas las palabras conocidas.
@@ -32,16 +35,36 @@ public class DictionaryTrie extends Dictionary{
 		super(ts);
 	}
 
+	/**
+	 * Construye un diccionario con las palabras leidas por WordList.load, que ya
+	 * estan validadas y en minuscula.
+	 *
+	 * @param words
+	 * @throws IllegalArgumentException la lista es null
+	 */
+	public DictionaryTrie(WordList words) {
+		super(words);
+	}
+
+	/**
+	 * Como DictionaryTrie(WordList) pero con otra configuracion del LSH.
+	 *
+	 * @param words
+	 * @param lshConfig bandas, filas, hash de banda y sondas del indice
+	 * @throws IllegalArgumentException la lista o la configuracion es null
+	 */
+	public DictionaryTrie(WordList words, LshConfig lshConfig) {
+		super(words, lshConfig);
+	}
+
 	@Override
-	protected void doInitializeDictionary(TokenScanner tokenScanner) {
-		this.dictionary = new Trie();
-		while (tokenScanner.hasNext()) {
-			String token = tokenScanner.next().toLowerCase();
-			if (TokenScanner.isWord(token)) {
-				this.insertInLSH(token);
-				this.dictionary.addWord(token);
-			}
+	protected void doInitializeDictionary(Iterator<String> words) {
+		List<String> collected = new ArrayList<>();
+		while (words.hasNext()) {
+			collected.add(words.next());
 		}
+		this.dictionary = new Trie();
+		this.dictionary.addWords(collected, isParallelBuild(collected.size()));
 	}
 
 	/**
@@ -53,10 +76,7 @@ public class DictionaryTrie extends Dictionary{
 	 * @throws IOException Error leyendo el archivo
 	 */
 	public static DictionaryTrie make(String filename) throws IOException {
-		Reader r = new FileReader(filename);
-		DictionaryTrie d = new DictionaryTrie(new TokenScanner(r));
-		r.close();
-		return d;
+		return new DictionaryTrie(WordList.load(filename));
 	}
 
 	/**
@@ -88,6 +108,16 @@ public class DictionaryTrie extends Dictionary{
 		if (word == null) {
 			return false;
 		}
-		return this.dictionary.isWord(word.toLowerCase()) ;
+		return this.isWord(word, 0, word.length());
+	}
+
+	@Override
+	protected boolean containsWord(CharSequence word, int offset, int length) {
+		return this.dictionary.isWordIgnoreCase(word, offset, length);
+	}
+
+	@Override
+	public Collection<String> getWords() {
+		return this.dictionary.getWords();
 	}
 }
\ No newline at end of file
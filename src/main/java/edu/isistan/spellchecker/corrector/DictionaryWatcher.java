@@ -0,0 +1,129 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vigila un archivo de diccionario y, cuando cambia, lo vuelve a leer con
+ * WordList.load y lo publica con ConcurrentDictionary.reload. La lectura y la
+ * construccion ocurren en un hilo daemon propio, por lo que las consultas en curso
+ * no se bloquean.
+ * <p>
+ * Los cambios se agrupan: se espera a que el archivo pase {@value #QUIET_MILLIS} ms
+ * sin cambios antes de leerlo, para no cargar un archivo a medio escribir. Si la
+ * lectura falla se conserva el diccionario anterior y el error queda en
+ * getLastError.
+ */
+public final class DictionaryWatcher implements Closeable {
+	public static final long QUIET_MILLIS = 200;
+	private final ConcurrentDictionary dictionary;
+	private final Path file;
+	private final Charset charset;
+	private final WatchService watcher;
+	private final Thread thread;
+	private final AtomicInteger reloads = new AtomicInteger();
+	private volatile IOException lastError;
+
+	/**
+	 * Empieza a vigilar el archivo.
+	 *
+	 * @param dictionary diccionario a recargar
+	 * @param file archivo de diccionario
+	 * @param charset codificacion del archivo
+	 * @throws IOException si no se puede vigilar el directorio del archivo
+	 * @throws IllegalArgumentException si algun parametro es null
+	 */
+	public DictionaryWatcher(ConcurrentDictionary dictionary, Path file, Charset charset) throws IOException {
+		if (dictionary == null || file == null || charset == null) {
+			throw new IllegalArgumentException("El diccionario, el archivo o el charset son null");
+		}
+		this.dictionary = dictionary;
+		this.file = file.toAbsolutePath();
+		this.charset = charset;
+		this.watcher = FileSystems.getDefault().newWatchService();
+		try {
+			this.file.getParent().register(this.watcher, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			this.watcher.close();
+			throw e;
+		}
+		this.thread = new Thread(this::run, "dictionary-watcher");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				if (!this.changed(this.watcher.take())) {
+					continue;
+				}
+				WatchKey key;
+				while ((key = this.watcher.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					this.changed(key);
+				}
+				this.reload();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// close()
+		}
+	}
+
+	/**
+	 * @return true si alguno de los eventos de la clave es del archivo vigilado
+	 */
+	private boolean changed(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (this.file.getFileName().equals(event.context())) {
+				changed = true;
+			}
+		}
+		key.reset();
+		return changed;
+	}
+
+	private void reload() {
+		try {
+			this.dictionary.reload(WordList.load(this.file, this.charset));
+			this.lastError = null;
+			this.reloads.incrementAndGet();
+		} catch (IOException e) {
+			this.lastError = e;
+		}
+	}
+
+	/**
+	 * @return cantidad de recargas exitosas
+	 */
+	public int getReloads() {
+		return this.reloads.get();
+	}
+
+	/**
+	 * @return el error de la ultima recarga, o null si fue exitosa
+	 */
+	public IOException getLastError() {
+		return this.lastError;
+	}
+
+	/**
+	 * Deja de vigilar el archivo.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.thread.interrupt();
+		this.watcher.close();
+	}
+}
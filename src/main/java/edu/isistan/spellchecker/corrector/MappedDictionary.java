@@ -0,0 +1,302 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.ProbeSignature;
+import edu.isistan.spellchecker.metrics.Metrics;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Diccionario que responde las consultas directamente sobre un snapshot generado
+ * por DictionarySnapshot y mapeado a memoria.
+ * <p>
+ * Abrirlo solo valida el encabezado: no se crea ningun String ni se calcula
+ * ninguna firma de las palabras del diccionario. isWord busca en la tabla de hash
+ * del archivo comparando los caracteres mapeados, y getSimilarWords busca los
+ * hashes de banda de la consulta en las tablas LSH ordenadas. Como el mapeo es de
+ * solo lectura, varios procesos que abren el mismo snapshot comparten las paginas.
+ * La forma del LSH se lee del encabezado; las sondas se eligen al abrirlo.
+ * <p>
+ * Las consultas solo leen el archivo, por lo que es seguro usarlo desde varios hilos.
+ */
+public class MappedDictionary extends Dictionary {
+	private final int count;
+	private final IntBuffer offsets;
+	private final IntBuffer table;
+	private final IntBuffer[] bandHashes;
+	private final IntBuffer[] bandIds;
+	private final CharBuffer chars;
+	private final LshConfig lshConfig;
+
+	/**
+	 * @param file snapshot generado por DictionarySnapshot
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException si el archivo no se puede leer o no es un snapshot compatible
+	 * @throws IllegalArgumentException si el archivo es null
+	 */
+	public MappedDictionary(Path file) throws IOException {
+		this(file, 0);
+	}
+
+	/**
+	 * @param file snapshot generado por DictionarySnapshot
+	 * @param probes sondas extra por consulta en getSimilarWords (ver LshConfig)
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException si el archivo no se puede leer o no es un snapshot compatible
+	 * @throws IllegalArgumentException si el archivo es null o probes es negativo
+	 */
+	public MappedDictionary(Path file, int probes) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("El archivo es null");
+		}
+		if (probes < 0) {
+			throw new IllegalArgumentException("La cantidad de sondas no puede ser negativa");
+		}
+		ByteBuffer bytes = map(file);
+		if (bytes.remaining() < DictionarySnapshot.HEADER_INTS * Integer.BYTES
+				|| bytes.getInt(0) != DictionarySnapshot.MAGIC) {
+			throw new IOException(file + " no es un snapshot de diccionario");
+		}
+		if (bytes.getInt(4) != DictionarySnapshot.VERSION) {
+			throw new IOException("version de snapshot no soportada: " + bytes.getInt(4));
+		}
+		LshConfig.BandHashing[] hashings = LshConfig.BandHashing.values();
+		int bands = bytes.getInt(12);
+		int rows = bytes.getInt(16);
+		int hashing = bytes.getInt(20);
+		if (bands <= 0 || rows <= 0 || bytes.getInt(8) != bands * rows || hashing < 0 || hashing >= hashings.length) {
+			throw new IOException("el snapshot tiene una configuracion de LSH invalida");
+		}
+		this.lshConfig = new LshConfig(bands, rows, hashings[hashing], probes);
+		this.count = bytes.getInt(24);
+		int tableSize = bytes.getInt(28);
+		int charCount = bytes.getInt(32);
+		long expected = Integer.BYTES * (DictionarySnapshot.HEADER_INTS + (this.count + 1L) + tableSize
+				+ 2L * bands * this.count) + (long) Character.BYTES * charCount;
+		if (bytes.remaining() != expected) {
+			throw new IOException(file + " esta truncado o corrupto");
+		}
+		int position = DictionarySnapshot.HEADER_INTS * Integer.BYTES;
+		this.offsets = ints(bytes, position, this.count + 1);
+		position += (this.count + 1) * Integer.BYTES;
+		this.table = ints(bytes, position, tableSize);
+		position += tableSize * Integer.BYTES;
+		this.bandHashes = new IntBuffer[bands];
+		this.bandIds = new IntBuffer[bands];
+		for (int band = 0; band < this.bandHashes.length; band++) {
+			this.bandHashes[band] = ints(bytes, position, this.count);
+			position += this.count * Integer.BYTES;
+			this.bandIds[band] = ints(bytes, position, this.count);
+			position += this.count * Integer.BYTES;
+		}
+		ByteBuffer charBytes = bytes.duplicate();
+		charBytes.position(position);
+		this.chars = charBytes.slice().asCharBuffer();
+	}
+
+	/**
+	 * Abre un snapshot.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException si el archivo no se puede leer o no es un snapshot compatible
+	 */
+	public static MappedDictionary make(String filename) throws IOException {
+		return new MappedDictionary(Paths.get(filename));
+	}
+
+	private static ByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException(file + " es demasiado grande");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(file.toString());
+		}
+	}
+
+	private static IntBuffer ints(ByteBuffer bytes, int position, int length) {
+		ByteBuffer slice = bytes.duplicate();
+		slice.position(position).limit(position + length * Integer.BYTES);
+		return slice.slice().asIntBuffer();
+	}
+
+	/**
+	 * No hace nada: las tablas LSH ya estan en el snapshot.
+	 */
+	@Override
+	public void buildSimilarityIndex() {
+	}
+
+	@Override
+	public boolean hasSimilarityIndex() {
+		return true;
+	}
+
+	@Override
+	public LshConfig getLshConfig() {
+		return this.lshConfig;
+	}
+
+	@Override
+	public int getNumWords() {
+		return this.count;
+	}
+
+	/**
+	 * Testea si una palabra es parte del diccionario. null debe retornar falso.
+	 * Es case insensitive.
+	 *
+	 * @param word verifica si la palabra esta en el diccionario.
+	 * @return si la palabra esta en el diccionario.
+	 */
+	@Override
+	public boolean isWord(String word) {
+		if (word == null) {
+			return false;
+		}
+		return this.isWord(word, 0, word.length());
+	}
+
+	@Override
+	protected boolean containsWord(CharSequence word, int offset, int length) {
+		return this.getWordId(word, offset, length) >= 0;
+	}
+
+	/**
+	 * @return el id de la palabra en el snapshot (su posicion en orden alfabetico)
+	 */
+	@Override
+	protected int getWordId(CharSequence word, int offset, int length) {
+		int mask = this.table.limit() - 1;
+		int slot = DictionarySnapshot.slot(CaseFolding.hash(word, offset, length), this.table.limit());
+		int id;
+		while ((id = this.table.get(slot)) != -1) {
+			if (this.matches(id, word, offset, length)) {
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	@Override
+	protected int getWordIdLimit() {
+		return this.count;
+	}
+
+	private boolean matches(int id, CharSequence word, int offset, int length) {
+		int start = this.offsets.get(id);
+		if (this.offsets.get(id + 1) - start != length) {
+			return false;
+		}
+		for (int index = 0; index < length; index++) {
+			if (this.chars.get(start + index) != CaseFolding.fold(word.charAt(offset + index))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String word(int id) {
+		int start = this.offsets.get(id);
+		char[] word = new char[this.offsets.get(id + 1) - start];
+		for (int index = 0; index < word.length; index++) {
+			word[index] = this.chars.get(start + index);
+		}
+		return new String(word);
+	}
+
+	/**
+	 * @return las palabras en orden alfabetico; cada una se lee del archivo al pedirla
+	 */
+	@Override
+	public Collection<String> getWords() {
+		return new AbstractList<String>() {
+			@Override
+			public String get(int index) {
+				if (index < 0 || index >= count) {
+					throw new IndexOutOfBoundsException("index " + index + ", size " + count);
+				}
+				return word(index);
+			}
+
+			@Override
+			public int size() {
+				return count;
+			}
+		};
+	}
+
+	@Override
+	public Set<String> getSimilarWords(String misspelledWord) {
+		String word = misspelledWord.toLowerCase();
+		MinHasher hasher = MinHasher.forPermutations(this.lshConfig.getPermutations());
+		Set<String> results = new HashSet<>();
+		if (this.lshConfig.getProbes() == 0) {
+			int[] query = new int[this.lshConfig.getPermutations()];
+			hasher.signature(word, 1, query);
+			for (int band = 0; band < this.bandHashes.length; band++) {
+				this.collect(band, this.lshConfig.bandHash(query, band), results);
+			}
+			return recordCandidates(results);
+		}
+		ProbeSignature probe = new ProbeSignature(this.lshConfig.getPermutations());
+		hasher.signature(word, 1, probe);
+		for (int band = 0; band < this.bandHashes.length; band++) {
+			this.collect(band, this.lshConfig.bandHash(probe.getSignature(), band), results);
+		}
+		int probes = Math.min(this.lshConfig.getProbes(), probe.getProbeCount());
+		for (int index = 0; index < probes; index++) {
+			for (int band = 0; band < this.bandHashes.length; band++) {
+				if (probe.changesBand(this.lshConfig, band, index)) {
+					this.collect(band, probe.probeBandHash(this.lshConfig, band, index), results);
+				}
+			}
+		}
+		return recordCandidates(results);
+	}
+
+	private static Set<String> recordCandidates(Set<String> results) {
+		if (Metrics.ENABLED) {
+			Metrics.SIMILAR_WORDS.record(results.size());
+		}
+		return results;
+	}
+
+	private void collect(int band, int hash, Set<String> results) {
+		IntBuffer hashes = this.bandHashes[band];
+		for (int index = lowerBound(hashes, hash); index < this.count && hashes.get(index) == hash; index++) {
+			results.add(this.word(this.bandIds[band].get(index)));
+		}
+	}
+
+	private int lowerBound(IntBuffer hashes, int hash) {
+		int low = 0;
+		int high = this.count;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (hashes.get(middle) < hash) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
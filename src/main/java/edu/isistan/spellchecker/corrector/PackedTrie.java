@@ -0,0 +1,195 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Trie inmutable empaquetado en arreglos primitivos.
+ * <p>
+ * Los nodos se numeran en orden BFS, por lo que los hijos de cada nodo quedan
+ * contiguos: los hijos del nodo n son los nodos [firstChild[n], firstChild[n + 1]),
+ * ordenados por la etiqueta de la arista que llega a ellos (labels). Los nodos
+ * terminales se marcan en un bitset.
+ * <p>
+ * No hay un objeto por nodo ni claves boxeadas: el trie completo son tres arreglos.
+ * Como en un trie cada nodo tiene una unica arista entrante, como WordGraph la
+ * arista i es la que llega al nodo i.
+ */
+public class PackedTrie implements WordGraph {
+	private final char[] labels;
+	private final int[] firstChild;
+	private final long[] terminal;
+	private final int uniqueWords;
+
+	/**
+	 * Construye el trie a partir de un conjunto de palabras.
+	 * Las palabras repetidas se cuentan una sola vez.
+	 *
+	 * @param words palabras a insertar (ya normalizadas)
+	 */
+	public PackedTrie(Collection<String> words) {
+		this(words, false);
+	}
+
+	/**
+	 * Como PackedTrie(words), ordenando las palabras con Arrays.parallelSort si
+	 * parallel es true. El resultado es el mismo.
+	 *
+	 * @param words palabras a insertar (ya normalizadas)
+	 * @param parallel si el ordenamiento usa varios hilos
+	 */
+	public PackedTrie(Collection<String> words, boolean parallel) {
+		String[] sorted = words.toArray(new String[0]);
+		if (parallel) {
+			Arrays.parallelSort(sorted);
+		} else {
+			Arrays.sort(sorted);
+		}
+		int size = 0;
+		int totalChars = 0;
+		for (String word : sorted) {
+			if (size == 0 || !sorted[size - 1].equals(word)) {
+				sorted[size++] = word;
+				totalChars += word.length();
+			}
+		}
+		this.uniqueWords = size;
+
+		int capacity = totalChars + 1;
+		char[] nodeLabels = new char[capacity];
+		int[] children = new int[capacity + 1];
+		long[] terminals = new long[(capacity + 63) >>> 6];
+		int[] low = new int[capacity];
+		int[] high = new int[capacity];
+		int[] depth = new int[capacity];
+		int nodes = 1;
+		high[0] = size;
+		for (int node = 0; node < nodes; node++) {
+			int index = low[node];
+			int end = high[node];
+			int d = depth[node];
+			if (index < end && sorted[index].length() == d) {
+				terminals[node >>> 6] |= 1L << node;
+				index++;
+			}
+			children[node] = nodes;
+			while (index < end) {
+				char label = sorted[index].charAt(d);
+				int groupStart = index;
+				while (index < end && sorted[index].charAt(d) == label) {
+					index++;
+				}
+				nodeLabels[nodes] = label;
+				low[nodes] = groupStart;
+				high[nodes] = index;
+				depth[nodes] = d + 1;
+				nodes++;
+			}
+		}
+		children[nodes] = nodes;
+
+		this.labels = Arrays.copyOf(nodeLabels, nodes);
+		this.firstChild = Arrays.copyOf(children, nodes + 1);
+		this.terminal = Arrays.copyOf(terminals, (nodes + 63) >>> 6);
+	}
+
+	/**
+	 * @param word palabra a buscar (ya normalizada)
+	 * @return true si la palabra fue insertada en el trie
+	 */
+	public boolean isWord(String word) {
+		int node = 0;
+		for (int index = 0; index < word.length(); index++) {
+			node = this.getChild(node, word.charAt(index));
+			if (node < 0) {
+				return false;
+			}
+		}
+		return this.isTerminal(node);
+	}
+
+	/**
+	 * Como isWord pero pasando cada caracter del fragmento a minuscula mientras
+	 * recorre el automata.
+	 */
+	public boolean isWordIgnoreCase(CharSequence word, int offset, int length) {
+		return this.getWordId(word, offset, length) >= 0;
+	}
+
+	/**
+	 * Como isWordIgnoreCase pero devuelve el nodo en el que termina la palabra, que
+	 * es distinto para cada palabra y sirve de id.
+	 *
+	 * @return el nodo terminal, en [0, getNodeCount()), o -1 si la palabra no esta
+	 */
+	public int getWordId(CharSequence word, int offset, int length) {
+		int node = 0;
+		for (int index = offset; index < offset + length; index++) {
+			node = this.getChild(node, CaseFolding.fold(word.charAt(index)));
+			if (node < 0) {
+				return -1;
+			}
+		}
+		return this.isTerminal(node) ? node : -1;
+	}
+
+	/**
+	 * Busca el hijo de un nodo por etiqueta (busqueda binaria sobre los hermanos).
+	 *
+	 * @return el nodo hijo o -1 si no existe
+	 */
+	public int getChild(int node, char label) {
+		int low = this.firstChild[node];
+		int high = this.firstChild[node + 1] - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			char value = this.labels[middle];
+			if (value < label) {
+				low = middle + 1;
+			} else if (value > label) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int getRoot() {
+		return 0;
+	}
+
+	@Override
+	public int getFirstEdge(int node) {
+		return this.firstChild[node];
+	}
+
+	@Override
+	public int getEdgeEnd(int node) {
+		return this.firstChild[node + 1];
+	}
+
+	@Override
+	public char getEdgeLabel(int edge) {
+		return this.labels[edge];
+	}
+
+	@Override
+	public int getEdgeTarget(int edge) {
+		return edge;
+	}
+
+	@Override
+	public boolean isTerminal(int node) {
+		return (this.terminal[node >>> 6] & (1L << node)) != 0;
+	}
+
+	public int getUniqueWords() {
+		return this.uniqueWords;
+	}
+
+	public int getNodeCount() {
+		return this.labels.length;
+	}
+}
@@ -1,10 +1,13 @@
 package edu.isistan.spellchecker.corrector;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Trie {
 	private TrieNode root;
+	private int uniqueWords;
 
 	public Trie() {
 		this.root = new TrieNode();
@@ -16,7 +19,65 @@ public class Trie {
 		for (int index = 0; index < value.length(); index++) {
 			node = node.getChildren().computeIfAbsent(value.charAt(index), absent -> new TrieNode());
 		}
-		node.setTerminal(true);
+		if (!node.isTerminal()) {
+			node.setTerminal(true);
+			this.uniqueWords++;
+		}
+	}
+
+	/**
+	 * Agrega las palabras en orden. En paralelo, si el trie esta vacio, arma un
+	 * subarbol por primera letra en el ForkJoinPool comun y los cuelga de la raiz en
+	 * el orden en que aparecen; cada subarbol recibe sus palabras en el mismo orden,
+	 * por lo que el trie es identico al de agregarlas una por una.
+	 *
+	 * @param words
+	 * @param parallel si se arman los subarboles en varios hilos
+	 */
+	public void addWords(List<String> words, boolean parallel) {
+		if (!parallel || !this.root.getChildren().isEmpty() || this.root.isTerminal()) {
+			for (String word : words) {
+				this.addWord(word);
+			}
+			return;
+		}
+		Map<Character, List<String>> partitions = new LinkedHashMap<>();
+		for (String word : words) {
+			String value = word.toLowerCase();
+			if (value.isEmpty()) {
+				this.addWord(value);
+			} else {
+				partitions.computeIfAbsent(value.charAt(0), absent -> new ArrayList<>()).add(value);
+			}
+		}
+		Map<Character, Trie> subtries = new LinkedHashMap<>();
+		for (Character first : partitions.keySet()) {
+			subtries.put(first, new Trie());
+		}
+		partitions.entrySet().parallelStream().forEach(partition -> {
+			Trie subtrie = subtries.get(partition.getKey());
+			for (String word : partition.getValue()) {
+				subtrie.addSuffix(word);
+			}
+		});
+		for (Map.Entry<Character, Trie> subtrie : subtries.entrySet()) {
+			this.root.getChildren().put(subtrie.getKey(), subtrie.getValue().root);
+			this.uniqueWords += subtrie.getValue().uniqueWords;
+		}
+	}
+
+	/**
+	 * Agrega la palabra sin su primera letra (ya en minuscula).
+	 */
+	private void addSuffix(String word) {
+		TrieNode node = this.root;
+		for (int index = 1; index < word.length(); index++) {
+			node = node.getChildren().computeIfAbsent(word.charAt(index), absent -> new TrieNode());
+		}
+		if (!node.isTerminal()) {
+			node.setTerminal(true);
+			this.uniqueWords++;
+		}
 	}
 
 	public boolean isWord(String word) {
@@ -30,17 +91,39 @@ public class Trie {
 		return node.isTerminal();
 	}
 
-	public int getUniqueWords() {
-		int uniqueWords = 0;
-		Queue<TrieNode> queue = new ArrayDeque<>();
-		queue.add(this.root);
-		while (!queue.isEmpty()) {
-			TrieNode node = queue.remove();
-			if (node.isTerminal()) {
-				uniqueWords++;
+	/**
+	 * Como isWord pero pasando cada caracter del fragmento a minuscula mientras
+	 * recorre el trie.
+	 */
+	public boolean isWordIgnoreCase(CharSequence word, int offset, int length) {
+		TrieNode node = this.root;
+		for (int index = offset; index < offset + length; index++) {
+			node = node.getChildren().get(CaseFolding.fold(word.charAt(index)));
+			if (node == null) {
+				return false;
 			}
-			queue.addAll(node.getChildren().values());
 		}
-		return uniqueWords;
+		return node.isTerminal();
+	}
+
+	public int getUniqueWords() {
+		return this.uniqueWords;
+	}
+
+	public List<String> getWords() {
+		List<String> words = new ArrayList<>();
+		this.collectWords(this.root, new StringBuilder(), words);
+		return words;
+	}
+
+	private void collectWords(TrieNode node, StringBuilder prefix, List<String> words) {
+		if (node.isTerminal()) {
+			words.add(prefix.toString());
+		}
+		for (Map.Entry<Character, TrieNode> child : node.getChildren().entrySet()) {
+			prefix.append(child.getKey().charValue());
+			this.collectWords(child.getValue(), prefix, words);
+			prefix.setLength(prefix.length() - 1);
+		}
 	}
 }
\ No newline at end of file
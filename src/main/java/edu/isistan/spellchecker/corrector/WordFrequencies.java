@@ -0,0 +1,132 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Frecuencias de uso de las palabras, tal como se leen o se cuentan, para
+ * pasarlas a Dictionary.setWordFrequencies.
+ * <p>
+ * Es solo el formato de carga: el diccionario copia las frecuencias a un int[]
+ * indexado por los ids de sus propias palabras y no guarda este objeto, por lo que
+ * las palabras no quedan repetidas en memoria. Aca se guardan en dos arreglos
+ * paralelos ordenados por palabra.
+ * <p>
+ * Es inmutable y se puede usar desde varios hilos.
+ */
+public final class WordFrequencies {
+	private final String[] words;
+	private final int[] frequencies;
+
+	private WordFrequencies(Map<String, Integer> counts) {
+		this.words = counts.keySet().toArray(new String[0]);
+		Arrays.sort(this.words);
+		this.frequencies = new int[this.words.length];
+		for (int index = 0; index < this.words.length; index++) {
+			this.frequencies[index] = counts.get(this.words[index]);
+		}
+	}
+
+	/**
+	 * Lee un archivo en UTF-8 con una palabra y su frecuencia por linea, separadas
+	 * por espacios o tabs (por ejemplo <code>the 23135851162</code>). Las lineas
+	 * vacias o que empiezan con # se ignoran, igual que las entradas que no son
+	 * palabras validas. Si una palabra aparece varias veces se suman sus
+	 * frecuencias; las que no entran en un int quedan en Integer.MAX_VALUE.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo o si una linea no tiene el formato
+	 */
+	public static WordFrequencies load(String filename) throws IOException {
+		Map<String, Integer> counts = new HashMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+			String line;
+			int number = 0;
+			while ((line = reader.readLine()) != null) {
+				number++;
+				line = line.trim();
+				if (line.isEmpty() || line.charAt(0) == '#') {
+					continue;
+				}
+				String[] fields = line.split("\\s+");
+				long frequency;
+				try {
+					frequency = fields.length == 2 ? Long.parseLong(fields[1]) : -1;
+				} catch (NumberFormatException e) {
+					frequency = -1;
+				}
+				if (frequency < 0) {
+					throw new IOException(filename + ":" + number + ": se esperaba <palabra> <frecuencia>");
+				}
+				String word = fields[0].toLowerCase();
+				if (TokenScanner.isWord(word)) {
+					counts.merge(word, (int) Math.min(frequency, Integer.MAX_VALUE), WordFrequencies::add);
+				}
+			}
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(filename);
+		}
+		return new WordFrequencies(counts);
+	}
+
+	/**
+	 * Cuenta las apariciones de cada palabra valida, por ejemplo los tokens de un
+	 * corpus. No distingue mayusculas de minusculas.
+	 *
+	 * @param words
+	 * @throws IllegalArgumentException si las palabras son null
+	 */
+	public static WordFrequencies count(Iterable<String> words) {
+		if (words == null) {
+			throw new IllegalArgumentException("Las palabras son null");
+		}
+		Map<String, Integer> counts = new HashMap<>();
+		for (String word : words) {
+			if (TokenScanner.isWord(word)) {
+				counts.merge(word.toLowerCase(), 1, WordFrequencies::add);
+			}
+		}
+		return new WordFrequencies(counts);
+	}
+
+	private static int add(int a, int b) {
+		int sum = a + b;
+		return sum < 0 ? Integer.MAX_VALUE : sum;
+	}
+
+	/**
+	 * @return la frecuencia de la palabra (en minuscula), 0 si no se conoce
+	 */
+	public int getFrequency(String word) {
+		int index = Arrays.binarySearch(this.words, word);
+		return index >= 0 ? this.frequencies[index] : 0;
+	}
+
+	/**
+	 * Recorre las palabras (en minuscula) con su frecuencia, en orden alfabetico.
+	 */
+	void forEach(ObjIntConsumer<String> action) {
+		for (int index = 0; index < this.words.length; index++) {
+			action.accept(this.words[index], this.frequencies[index]);
+		}
+	}
+
+	/**
+	 * @return cantidad de palabras con frecuencia
+	 */
+	public int size() {
+		return this.words.length;
+	}
+}
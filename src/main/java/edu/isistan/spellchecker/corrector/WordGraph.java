@@ -0,0 +1,58 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vista de solo lectura de un automata de palabras (trie o DAWG) que permite
+ * recorrerlo arista por arista sin crear Strings.
+ * <p>
+ * Los nodos y las aristas se identifican con enteros. Las aristas que salen del
+ * nodo n son las del rango [getFirstEdge(n), getEdgeEnd(n)), ordenadas por etiqueta.
+ * Las palabras se almacenan en minuscula.
+ */
+public interface WordGraph {
+
+	/**
+	 * @return el nodo inicial del automata
+	 */
+	int getRoot();
+
+	int getFirstEdge(int node);
+
+	/**
+	 * @return el indice siguiente a la ultima arista del nodo (exclusivo)
+	 */
+	int getEdgeEnd(int node);
+
+	char getEdgeLabel(int edge);
+
+	int getEdgeTarget(int edge);
+
+	/**
+	 * @return true si el camino hasta el nodo forma una palabra del diccionario
+	 */
+	boolean isTerminal(int node);
+
+	/**
+	 * Enumera todas las palabras del automata en orden lexicografico.
+	 *
+	 * @return lista con las palabras
+	 */
+	default List<String> getWords() {
+		List<String> words = new ArrayList<>();
+		this.collectWords(this.getRoot(), new StringBuilder(), words);
+		return words;
+	}
+
+	private void collectWords(int node, StringBuilder prefix, List<String> words) {
+		if (this.isTerminal(node)) {
+			words.add(prefix.toString());
+		}
+		for (int edge = this.getFirstEdge(node); edge < this.getEdgeEnd(node); edge++) {
+			prefix.append(this.getEdgeLabel(edge));
+			this.collectWords(this.getEdgeTarget(edge), prefix, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package edu.isistan.spellchecker.corrector;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lista de palabras validas (en minuscula) leida de un archivo de diccionario,
+ * lista para alimentar a cualquier implementacion de Dictionary.
+ * <p>
+ * Si el archivo tiene una palabra por linea se mapea a memoria con un FileChannel
+ * y las lineas se parsean directamente desde los bytes mapeados: las lineas ASCII
+ * se validan y pasan a minuscula sin decodificarlas y solo las que tienen otros
+ * bytes se decodifican con el charset indicado. Si alguna linea no es una palabra
+ * (texto libre), o el charset no es compatible con ASCII, el archivo se vuelve a
+ * leer con un TokenScanner como antes. Ambos caminos producen las mismas palabras.
+ */
+public final class WordList implements Iterable<String> {
+	private final List<String> words;
+
+	private WordList(List<String> words) {
+		this.words = Collections.unmodifiableList(words);
+	}
+
+	/**
+	 * @param words palabras validas en minuscula (puede haber repetidas)
+	 */
+	static WordList of(List<String> words) {
+		return new WordList(new ArrayList<>(words));
+	}
+
+	/**
+	 * Lee un archivo de diccionario en UTF-8.
+	 *
+	 * @param filename
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo
+	 */
+	public static WordList load(String filename) throws IOException {
+		return load(Paths.get(filename), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Lee un archivo de diccionario.
+	 *
+	 * @param path archivo a leer
+	 * @param charset codificacion del archivo
+	 * @throws FileNotFoundException si el archivo no existe
+	 * @throws IOException Error leyendo el archivo
+	 * @throws IllegalArgumentException si el archivo o el charset son null
+	 */
+	public static WordList load(Path path, Charset charset) throws IOException {
+		if (path == null || charset == null) {
+			throw new IllegalArgumentException("El archivo o el charset son null");
+		}
+		if (isAsciiCompatible(charset)) {
+			try (FileChannel channel = open(path)) {
+				long size = channel.size();
+				if (size <= Integer.MAX_VALUE) {
+					MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+					List<String> words = parseLines(bytes, charset);
+					if (words != null) {
+						return new WordList(words);
+					}
+				}
+			}
+		}
+		List<String> words = new ArrayList<>();
+		try (Reader reader = new InputStreamReader(Files.newInputStream(path), charset)) {
+			Iterator<String> tokens = words(new TokenScanner(reader));
+			while (tokens.hasNext()) {
+				words.add(tokens.next());
+			}
+		}
+		return new WordList(words);
+	}
+
+	private static FileChannel open(Path path) throws IOException {
+		try {
+			return FileChannel.open(path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(path.toString());
+		}
+	}
+
+	/**
+	 * @return las palabras validas de los tokens, en minuscula
+	 */
+	static Iterator<String> words(Iterator<String> tokens) {
+		return new Iterator<String>() {
+			private String next;
+
+			@Override
+			public boolean hasNext() {
+				while (this.next == null && tokens.hasNext()) {
+					String token = tokens.next().toLowerCase();
+					if (TokenScanner.isWord(token)) {
+						this.next = token;
+					}
+				}
+				return this.next != null;
+			}
+
+			@Override
+			public String next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				String word = this.next;
+				this.next = null;
+				return word;
+			}
+		};
+	}
+
+	/**
+	 * @return las palabras de cada linea o null si alguna linea no es una palabra
+	 */
+	private static List<String> parseLines(ByteBuffer bytes, Charset charset) throws CharacterCodingException {
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		List<String> words = new ArrayList<>();
+		char[] line = new char[64];
+		int limit = bytes.limit();
+		int position = 0;
+		while (position < limit) {
+			int end = position;
+			while (end < limit && bytes.get(end) != '\n') {
+				end++;
+			}
+			int next = end + 1;
+			while (position < end && isBlank(bytes.get(position))) {
+				position++;
+			}
+			while (end > position && isBlank(bytes.get(end - 1))) {
+				end--;
+			}
+			if (position < end) {
+				if (end - position > line.length) {
+					line = new char[Math.max(end - position, line.length * 2)];
+				}
+				int length = 0;
+				boolean ascii = true;
+				for (int index = position; index < end && ascii; index++) {
+					byte b = bytes.get(index);
+					if (b < 0) {
+						ascii = false;
+					} else if (b >= 'A' && b <= 'Z') {
+						line[length++] = (char) (b + ('a' - 'A'));
+					} else if ((b >= 'a' && b <= 'z') || b == '\'') {
+						line[length++] = (char) b;
+					} else {
+						return null;
+					}
+				}
+				String word;
+				if (ascii) {
+					word = new String(line, 0, length);
+				} else {
+					ByteBuffer slice = bytes.duplicate();
+					slice.limit(end).position(position);
+					CharBuffer decoded = decoder.reset().decode(slice);
+					word = decoded.toString().toLowerCase();
+					if (!TokenScanner.isWord(word)) {
+						return null;
+					}
+				}
+				words.add(word);
+			}
+			position = next;
+		}
+		return words;
+	}
+
+	private static boolean isBlank(byte b) {
+		return b == ' ' || b == '\t' || b == '\r';
+	}
+
+	/**
+	 * El parseo por bytes asume que el salto de linea, los espacios, las letras
+	 * ASCII y el apostrofe se codifican como en ASCII y que ningun otro caracter
+	 * usa esos bytes (UTF-8, ISO-8859-1, etc.).
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.name().matches("(?i)ISO-8859-\\d+|windows-125\\d");
+	}
+
+	/**
+	 * @return cantidad de palabras leidas (puede haber repetidas)
+	 */
+	public int size() {
+		return this.words.size();
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return this.words.iterator();
+	}
+}
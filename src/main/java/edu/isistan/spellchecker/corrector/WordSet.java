@@ -0,0 +1,134 @@
+package edu.isistan.spellchecker.corrector;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto de palabras en minuscula por direccionamiento abierto que, ademas de
+ * contains, busca un fragmento de cualquier CharSequence ignorando mayusculas sin
+ * crear objetos (ver CaseFolding).
+ * <p>
+ * Solo admite agregar; una vez cargado se puede consultar desde varios hilos.
+ * Mientras no se agreguen palabras, la posicion de cada una en la tabla (ver
+ * indexOf) no cambia y sirve de id.
+ */
+final class WordSet extends AbstractSet<String> {
+	private String[] table = new String[16];
+	private int size;
+
+	/**
+	 * @param word palabra en minuscula
+	 * @return false si ya estaba
+	 */
+	@Override
+	public boolean add(String word) {
+		if (this.find(word, 0, word.length()) >= 0) {
+			return false;
+		}
+		if (2 * (this.size + 1) > this.table.length) {
+			this.resize();
+		}
+		this.insert(word);
+		this.size++;
+		return true;
+	}
+
+	private void insert(String word) {
+		int mask = this.table.length - 1;
+		int slot = DictionarySnapshot.slot(CaseFolding.hash(word, 0, word.length()), this.table.length);
+		while (this.table[slot] != null) {
+			slot = (slot + 1) & mask;
+		}
+		this.table[slot] = word;
+	}
+
+	private void resize() {
+		String[] old = this.table;
+		this.table = new String[old.length * 2];
+		for (String word : old) {
+			if (word != null) {
+				this.insert(word);
+			}
+		}
+	}
+
+	private int find(CharSequence word, int offset, int length) {
+		int mask = this.table.length - 1;
+		int slot = DictionarySnapshot.slot(CaseFolding.hash(word, offset, length), this.table.length);
+		String candidate;
+		while ((candidate = this.table[slot]) != null) {
+			if (CaseFolding.equals(candidate, word, offset, length)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return true si el fragmento, pasado a minuscula, esta en el conjunto
+	 */
+	boolean containsIgnoreCase(CharSequence word, int offset, int length) {
+		return this.find(word, offset, length) >= 0;
+	}
+
+	/**
+	 * @return la posicion en la tabla del fragmento, pasado a minuscula, en
+	 * [0, capacity()), o -1 si no esta
+	 */
+	int indexOf(CharSequence word, int offset, int length) {
+		return this.find(word, offset, length);
+	}
+
+	/**
+	 * @return tamano de la tabla: cota de las posiciones de indexOf
+	 */
+	int capacity() {
+		return this.table.length;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (!(o instanceof String)) {
+			return false;
+		}
+		String word = (String) o;
+		int slot = this.find(word, 0, word.length());
+		return slot >= 0 && this.table[slot].equals(word);
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		return new Iterator<String>() {
+			private int slot = this.advance(0);
+
+			private int advance(int from) {
+				while (from < table.length && table[from] == null) {
+					from++;
+				}
+				return from;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return this.slot < table.length;
+			}
+
+			@Override
+			public String next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				String word = table[this.slot];
+				this.slot = this.advance(this.slot + 1);
+				return word;
+			}
+		};
+	}
+}
@@ -0,0 +1,186 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+
+/**
+ * Corrector que envuelve a otro y recuerda sus sugerencias.
+ * <p>
+ * La cache esta indexada por la palabra en minuscula, por lo que "Teh" y "teh"
+ * comparten la entrada; la capitalizacion se aplica despues con matchCase y cada
+ * entrada guarda ya calculadas sus dos variantes (todo minuscula o primera
+ * mayuscula), que son las unicas que produce matchCase.
+ * <p>
+ * La cache es acotada y segura para usar desde varios hilos: esta partida en
+ * segmentos LRU (LinkedHashMap en orden de acceso) protegidos cada uno por su
+ * propio lock. Cuando un segmento se llena se descarta su entrada usada hace mas
+ * tiempo. Los conjuntos retornados son de solo lectura.
+ * <p>
+ * getCorrections(String, int) toma los candidatos de la cache y las frecuencias
+ * del corrector envuelto, por lo que ordena igual que el corrector sin cache.
+ */
+public class CachingCorrector extends Corrector {
+
+	private static final int MAX_SEGMENTS = 16;
+	private final Corrector corrector;
+	private final Segment[] segments;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param corrector corrector a envolver
+	 * @param maxEntries cantidad maxima de palabras en la cache
+	 * @throws IllegalArgumentException si el corrector es null o maxEntries no es positivo
+	 */
+	public CachingCorrector(Corrector corrector, int maxEntries) {
+		if (corrector == null) {
+			throw new IllegalArgumentException("El corrector es null");
+		}
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("La cache debe tener al menos una entrada");
+		}
+		this.corrector = corrector;
+		this.segments = new Segment[Integer.highestOneBit(Math.min(MAX_SEGMENTS, maxEntries))];
+		for (int index = 0; index < this.segments.length; index++) {
+			this.segments[index] = new Segment(maxEntries / this.segments.length);
+		}
+	}
+
+	/**
+	 * Retorna las sugerencias del corrector envuelto, calculandolas solo si la
+	 * palabra (ignorando mayusculas) no esta en la cache.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return conjunto de solo lectura (potencialmente vacio) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es valida para el corrector envuelto
+	 */
+	public Set<String> getCorrections(String wrong) {
+		return this.entry(wrong).matching(wrong);
+	}
+
+	/**
+	 * @return las sugerencias guardadas en la cache, en minuscula y sin copiarlas
+	 */
+	@Override
+	protected Collection<String> getCandidates(String wrong) {
+		return this.entry(wrong).corrections;
+	}
+
+	@Override
+	protected int getFrequency(String suggestion) {
+		return getFrequency(this.corrector, suggestion);
+	}
+
+	private Entry entry(String wrong) {
+		if (wrong == null || wrong.isEmpty()) {
+			throw new IllegalArgumentException("La entrada no es una palabra valida");
+		}
+		String key = wrong.toLowerCase();
+		Segment segment = this.segmentFor(key);
+		Entry entry;
+		synchronized (segment) {
+			entry = segment.get(key);
+		}
+		if (entry != null) {
+			this.hits.increment();
+		} else {
+			this.misses.increment();
+			entry = new Entry(this.corrector.getCorrections(key));
+			synchronized (segment) {
+				segment.put(key, entry);
+			}
+		}
+		return entry;
+	}
+
+	private Segment segmentFor(String key) {
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+		return this.segments[hash & (this.segments.length - 1)];
+	}
+
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * @return cantidad de palabras actualmente en la cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : this.segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	private class Segment extends LinkedHashMap<String, Entry> {
+		private static final long serialVersionUID = 1L;
+		private final int capacity;
+
+		private Segment(int capacity) {
+			super(16, 0.75F, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			if (this.size() > this.capacity) {
+				CachingCorrector.this.evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Sugerencias de una palabra con sus dos capitalizaciones posibles. Las
+	 * variantes se calculan la primera vez que se piden; si dos hilos lo hacen a la
+	 * vez ambos obtienen conjuntos iguales.
+	 */
+	private class Entry {
+		private final Set<String> corrections;
+		private volatile Set<String> lowerCase;
+		private volatile Set<String> capitalized;
+
+		private Entry(Set<String> corrections) {
+			this.corrections = corrections;
+		}
+
+		private Set<String> matching(String wrong) {
+			if (Character.isUpperCase(wrong.charAt(0))) {
+				Set<String> result = this.capitalized;
+				if (result == null) {
+					result = Collections.unmodifiableSet(matchCase(wrong, this.corrections));
+					this.capitalized = result;
+				}
+				return result;
+			}
+			Set<String> result = this.lowerCase;
+			if (result == null) {
+				result = Collections.unmodifiableSet(matchCase(wrong, this.corrections));
+				this.lowerCase = result;
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+
+/**
+ * Corrector que combina las sugerencias de varios correctores.
+ * <p>
+ * Tiene dos modos:
+ * <ul>
+ * <li> chain: consulta los correctores en orden, del mas barato al mas caro, y
+ * deja de consultar apenas junto al menos <code>enough</code> sugerencias. Por
+ * ejemplo FileCorrector, SwapCorrector y Levenshtein: una palabra que esta en el
+ * archivo de errores nunca llega a generar ediciones.
+ * <li> fanOut: consulta todos los correctores a la vez en un Executor y espera
+ * como mucho <code>budgetMillis</code> por palabra, o hasta juntar
+ * <code>enough</code> sugerencias. Los correctores que no terminaron a tiempo se
+ * cancelan y sus sugerencias se pierden (ver getTimeoutCount); las sugerencias de
+ * los que terminaron se usan igual.
+ * </ul>
+ * En ambos modos las sugerencias se unen sin repetir en un conjunto ordenado, con
+ * la capitalizacion de matchCase que ya aplico cada corrector. getCorrections(String,
+ * int) ordena los candidatos de los correctores consultados con la mayor de sus
+ * frecuencias. Como un CompositeCorrector es un Corrector, los modos se pueden
+ * anidar: una cadena cuyo ultimo eslabon es un fanOut de los correctores caros.
+ * <p>
+ * La cancelacion interrumpe el hilo del corrector, pero los correctores de este
+ * paquete no consultan la interrupcion: un corrector demorado sigue ocupando su
+ * hilo hasta terminar, aunque su resultado se descarte. Por eso el pool propio de
+ * fanOut es acotado a {@value #THREADS_PER_CORRECTOR} hilos por corrector: si todos
+ * estan ocupados por consultas vencidas, el corrector no se consulta para esa
+ * palabra (ver getRejectedCount) en lugar de crear otro hilo.
+ */
+public class CompositeCorrector extends Corrector {
+
+	/**
+	 * Hilos por corrector del pool propio de fanOut: uno para la palabra en curso y
+	 * el resto para consultas vencidas que todavia no terminaron.
+	 */
+	public static final int THREADS_PER_CORRECTOR = 4;
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final Corrector[] correctors;
+	private final int enough;
+	private final long budgetNanos;
+	private final Executor executor;
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	private CompositeCorrector(Corrector[] correctors, int enough, long budgetNanos, Executor executor) {
+		if (correctors == null || correctors.length == 0) {
+			throw new IllegalArgumentException("Se necesita al menos un corrector");
+		}
+		for (Corrector corrector : correctors) {
+			if (corrector == null) {
+				throw new IllegalArgumentException("El corrector es null");
+			}
+		}
+		if (enough <= 0) {
+			throw new IllegalArgumentException("La cantidad de sugerencias debe ser positiva");
+		}
+		this.correctors = correctors.clone();
+		this.enough = enough;
+		this.budgetNanos = budgetNanos;
+		this.executor = executor;
+	}
+
+	/**
+	 * Crea una cadena de correctores que se consultan en orden.
+	 *
+	 * @param enough cantidad de sugerencias a partir de la cual no se consultan los
+	 * correctores siguientes; Integer.MAX_VALUE los consulta a todos
+	 * @param correctors correctores, del mas barato al mas caro
+	 * @throws IllegalArgumentException si no hay correctores, alguno es null o
+	 * enough no es positivo
+	 */
+	public static CompositeCorrector chain(int enough, Corrector... correctors) {
+		return new CompositeCorrector(correctors, enough, 0, null);
+	}
+
+	/**
+	 * Crea un corrector que consulta a los demas en paralelo en un pool propio de
+	 * hilos daemon, de a lo sumo THREADS_PER_CORRECTOR hilos por corrector.
+	 *
+	 * @see #fanOut(int, long, Executor, Corrector...)
+	 */
+	public static CompositeCorrector fanOut(int enough, long budgetMillis, Corrector... correctors) {
+		int threads = (correctors == null ? 1 : Math.max(1, correctors.length)) * THREADS_PER_CORRECTOR;
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), task -> {
+					Thread thread = new Thread(task, "composite-corrector");
+					thread.setDaemon(true);
+					return thread;
+				});
+		pool.allowCoreThreadTimeOut(true);
+		return fanOut(enough, budgetMillis, pool, correctors);
+	}
+
+	/**
+	 * Crea un corrector que consulta a los demas en paralelo.
+	 *
+	 * @param enough cantidad de sugerencias a partir de la cual no se espera a los
+	 * correctores que faltan
+	 * @param budgetMillis tiempo maximo de espera por palabra, en milisegundos
+	 * @param executor donde se ejecutan los correctores; necesita un hilo libre por
+	 * corrector para que corran a la vez. Si rechaza una tarea, ese corrector no se
+	 * consulta para esa palabra.
+	 * @param correctors correctores
+	 * @throws IllegalArgumentException si no hay correctores, alguno es null, el
+	 * executor es null o enough o budgetMillis no son positivos
+	 */
+	public static CompositeCorrector fanOut(int enough, long budgetMillis, Executor executor,
+			Corrector... correctors) {
+		if (budgetMillis <= 0) {
+			throw new IllegalArgumentException("El tiempo maximo debe ser positivo");
+		}
+		if (executor == null) {
+			throw new IllegalArgumentException("El executor es null");
+		}
+		return new CompositeCorrector(correctors, enough, TimeUnit.MILLISECONDS.toNanos(budgetMillis), executor);
+	}
+
+	/**
+	 * Retorna la union de las sugerencias de los correctores consultados.
+	 * <p>
+	 * Ver superclase.
+	 *
+	 * @param wrong
+	 * @return conjunto ordenado (potencialmente vacio) de sugerencias.
+	 * @throws IllegalArgumentException si la entrada no es valida para alguno de los
+	 * correctores consultados
+	 */
+	public Set<String> getCorrections(String wrong) {
+		return this.collect(wrong, corrector -> corrector.getCorrections(wrong), new TreeSet<>());
+	}
+
+	/**
+	 * Union de los candidatos de los correctores consultados, con el mismo criterio
+	 * de corte que getCorrections.
+	 */
+	@Override
+	protected Collection<String> getCandidates(String wrong) {
+		return this.collect(wrong, corrector -> getCandidates(corrector, wrong), new LinkedHashSet<>());
+	}
+
+	/**
+	 * @return la mayor frecuencia que le da alguno de los correctores
+	 */
+	@Override
+	protected int getFrequency(String suggestion) {
+		int frequency = 0;
+		for (Corrector corrector : this.correctors) {
+			frequency = Math.max(frequency, getFrequency(corrector, suggestion));
+		}
+		return frequency;
+	}
+
+	private Set<String> collect(String wrong, Function<Corrector, Collection<String>> query, Set<String> into) {
+		if (wrong == null || wrong.isEmpty()) {
+			throw new IllegalArgumentException("La entrada no es una palabra valida");
+		}
+		return this.executor == null ? this.chained(query, into) : this.fannedOut(query, into);
+	}
+
+	private Set<String> chained(Function<Corrector, Collection<String>> query, Set<String> corrections) {
+		for (Corrector corrector : this.correctors) {
+			corrections.addAll(query.apply(corrector));
+			if (corrections.size() >= this.enough) {
+				break;
+			}
+		}
+		return corrections;
+	}
+
+	private Set<String> fannedOut(Function<Corrector, Collection<String>> query, Set<String> corrections) {
+		CompletionService<Collection<String>> completion = new ExecutorCompletionService<>(this.executor);
+		List<Future<Collection<String>>> pending = new ArrayList<>(this.correctors.length);
+		for (Corrector corrector : this.correctors) {
+			try {
+				pending.add(completion.submit(() -> query.apply(corrector)));
+			} catch (RejectedExecutionException e) {
+				this.rejected.increment();
+			}
+		}
+		long deadline = System.nanoTime() + this.budgetNanos;
+		try {
+			for (int done = 0; done < pending.size() && corrections.size() < this.enough; done++) {
+				Future<Collection<String>> next = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (next == null) {
+					this.timeouts.increment();
+					break;
+				}
+				corrections.addAll(result(next));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			for (Future<Collection<String>> future : pending) {
+				future.cancel(true);
+			}
+		}
+		return corrections;
+	}
+
+	/**
+	 * @return el resultado de un corrector que ya termino; relanza su excepcion
+	 */
+	private static Collection<String> result(Future<Collection<String>> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * @return cantidad de palabras para las que fanOut se quedo sin tiempo antes de
+	 * que terminaran todos los correctores; siempre 0 para chain
+	 */
+	public long getTimeoutCount() {
+		return this.timeouts.sum();
+	}
+
+	/**
+	 * @return cantidad de consultas a un corrector que fanOut no hizo porque el
+	 * executor no tenia hilos libres; siempre 0 para chain
+	 */
+	public long getRejectedCount() {
+		return this.rejected.sum();
+	}
+
+	/**
+	 * @return los correctores, en el orden en que se consultan
+	 */
+	public List<Corrector> getCorrectors() {
+		return Arrays.asList(this.correctors.clone());
+	}
+}
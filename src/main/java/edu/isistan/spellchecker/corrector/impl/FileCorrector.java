@@ -1,17 +1,35 @@
 package edu.isistan.spellchecker.corrector.impl;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.tokenizer.TokenScanner;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Corrector basado en un archivo.
- * 
+ * <p>
+ * El archivo se lee por bloques de caracteres y cada linea se parsea a mano, sin
+ * expresiones regulares ni un String por linea. Con archivos grandes (al menos
+ * {@value #PARALLEL_THRESHOLD} bytes) y mas de un procesador, make parsea los
+ * bloques en paralelo; el resultado es identico al secuencial. La propiedad
+ * {@value #PARALLEL_PROPERTY} (true o false) fuerza uno u otro camino.
+ * <p>
+ * Las correcciones se guardan en un MisspellingMap con las dos capitalizaciones
+ * de matchCase ya calculadas, por lo que getCorrections no crea conjuntos nuevos.
+ * Los conjuntos devueltos son de solo lectura.
  */
 public class FileCorrector extends Corrector {
+	public static final String PARALLEL_PROPERTY = "spellchecker.filecorrector.parallel";
+	public static final long PARALLEL_THRESHOLD = 4 << 20;
+	private static final int CHUNK_SIZE = 64 * 1024;
+	private static final int PARALLEL_CHUNK_SIZE = 1024 * 1024;
 
 	/** Clase especial que se utiliza al tener 
 	 * algn error de formato en el archivo de entrada.
@@ -22,7 +40,14 @@ public class FileCorrector extends Corrector {
 		}
 	}
 
-	private Map<String, Set<String>> suggestionDictionary;
+	private final MisspellingMap suggestionDictionary;
+
+	/**
+	 * Destino de los pares (palabra en minuscula, correccion) que se parsean.
+	 */
+	private interface Pairs {
+		void add(String misspelled, String correction);
+	}
 
 
 	/**
@@ -81,23 +106,204 @@ public class FileCorrector extends Corrector {
 	 * @throws IllegalArgumentException reader es null
 	 */
 	public FileCorrector(Reader r) throws IOException, FormatException {
+		this(r, false);
+	}
+
+	/**
+	 * Como FileCorrector(Reader), con la opcion de parsear los bloques del archivo
+	 * en paralelo en el ForkJoinPool comun.
+	 *
+	 * @param r Secuencia de caracteres
+	 * @param parallel true para parsear en paralelo
+	 * @throws IOException error leyendo el archivo
+	 * @throws FileCorrector.FormatException error de formato
+	 * @throws IllegalArgumentException reader es null
+	 */
+	public FileCorrector(Reader r, boolean parallel) throws IOException, FormatException {
 		if (r == null) {
 			throw new IllegalArgumentException("El reader es null");
 		}
-		this.suggestionDictionary = new HashMap<>();
-		BufferedReader reader = new BufferedReader(r);
-		String line;
-		while ((line = reader.readLine()) != null) {
-			String[] lineWords = line.split(",");
-			if (lineWords.length != 2) {
-				throw new FileCorrector.FormatException("Error de formato");
+		MisspellingMap.Builder builder = new MisspellingMap.Builder();
+		if (parallel) {
+			loadParallel(r, builder);
+		} else {
+			load(r, builder);
+		}
+		this.suggestionDictionary = builder.build();
+	}
+
+	private static void load(Reader r, MisspellingMap.Builder builder) throws IOException, FormatException {
+		char[] buffer = new char[CHUNK_SIZE];
+		int length = 0;
+		int read;
+		while ((read = r.read(buffer, length, buffer.length - length)) != -1) {
+			length += read;
+			int end = linesEnd(buffer, length);
+			if (end == 0 && length == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				continue;
 			}
-			String misspelledWord = lineWords[0].trim().toLowerCase();
-			String correctedWord = lineWords[1].trim();
-			Set<String> suggestions = this.suggestionDictionary.getOrDefault(misspelledWord, new LinkedHashSet<>());
-			suggestions.add(correctedWord);
-			this.suggestionDictionary.put(misspelledWord, suggestions);
+			parseLines(buffer, 0, end, builder::add);
+			System.arraycopy(buffer, end, buffer, 0, length - end);
+			length -= end;
 		}
+		parseLines(buffer, 0, length, builder::add);
+	}
+
+	/**
+	 * Lee bloques de PARALLEL_CHUNK_SIZE caracteres cortados en fin de linea, los
+	 * parsea en el ForkJoinPool comun y agrega los pares en el orden del archivo.
+	 */
+	private static void loadParallel(Reader r, MisspellingMap.Builder builder) throws IOException, FormatException {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		Deque<ForkJoinTask<List<String>>> pending = new ArrayDeque<>();
+		int maxPending = 2 * pool.getParallelism();
+		char[] buffer = new char[PARALLEL_CHUNK_SIZE];
+		int length = 0;
+		int read;
+		while ((read = r.read(buffer, length, buffer.length - length)) != -1) {
+			length += read;
+			if (length < buffer.length) {
+				continue;
+			}
+			int end = linesEnd(buffer, length);
+			if (end == 0) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				continue;
+			}
+			char[] chunk = buffer;
+			int chunkEnd = end;
+			pending.addLast(pool.submit(() -> parseLines(chunk, chunkEnd)));
+			buffer = new char[PARALLEL_CHUNK_SIZE];
+			System.arraycopy(chunk, end, buffer, 0, length - end);
+			length -= end;
+			while (pending.size() > maxPending) {
+				addPairs(join(pending.removeFirst()), builder);
+			}
+		}
+		char[] last = buffer;
+		int lastEnd = length;
+		pending.addLast(pool.submit(() -> parseLines(last, lastEnd)));
+		while (!pending.isEmpty()) {
+			addPairs(join(pending.removeFirst()), builder);
+		}
+	}
+
+	private static List<String> parseLines(char[] chars, int end) throws FormatException {
+		List<String> pairs = new ArrayList<>();
+		parseLines(chars, 0, end, (misspelled, correction) -> {
+			pairs.add(misspelled);
+			pairs.add(correction);
+		});
+		return pairs;
+	}
+
+	private static List<String> join(ForkJoinTask<List<String>> task) throws FormatException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			// El pool envuelve las excepciones controladas de la tarea
+			for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+				if (cause instanceof FormatException) {
+					throw (FormatException) cause;
+				}
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static void addPairs(List<String> pairs, MisspellingMap.Builder builder) {
+		for (int index = 0; index < pairs.size(); index += 2) {
+			builder.add(pairs.get(index), pairs.get(index + 1));
+		}
+	}
+
+	/**
+	 * @return posicion siguiente al ultimo fin de linea completo de chars[0, length),
+	 * o 0 si no hay ninguno. Un '\r' al final no cuenta: puede seguirle un '\n'.
+	 */
+	private static int linesEnd(char[] chars, int length) {
+		for (int index = length - 1; index >= 0; index--) {
+			if (chars[index] == '\n' || (chars[index] == '\r' && index < length - 1)) {
+				return index + 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Parsea las lineas de chars[from, to) (separadas como en BufferedReader.readLine)
+	 * con las mismas reglas que <code>line.split(",")</code>: se ignoran las comas
+	 * del final de la linea y tiene que quedar exactamente una.
+	 */
+	private static void parseLines(char[] chars, int from, int to, Pairs builder)
+			throws FormatException {
+		int start = from;
+		while (start < to) {
+			int end = start;
+			while (end < to && chars[end] != '\n' && chars[end] != '\r') {
+				end++;
+			}
+			parseLine(chars, start, end, builder);
+			if (end < to && chars[end] == '\r' && end + 1 < to && chars[end + 1] == '\n') {
+				end++;
+			}
+			start = end + 1;
+		}
+	}
+
+	private static void parseLine(char[] chars, int start, int end, Pairs builder)
+			throws FormatException {
+		int last = end;
+		while (last > start && chars[last - 1] == ',') {
+			last--;
+		}
+		int comma = -1;
+		for (int index = start; index < last; index++) {
+			if (chars[index] == ',') {
+				if (comma >= 0) {
+					throw formatError(chars, start, end);
+				}
+				comma = index;
+			}
+		}
+		if (comma < 0) {
+			throw formatError(chars, start, end);
+		}
+		builder.add(trim(chars, start, comma).toLowerCase(), trim(chars, comma + 1, last));
+	}
+
+	/**
+	 * @return el fragmento sin los caracteres menores o iguales a ' ' de los
+	 * extremos, como String.trim
+	 */
+	private static String trim(char[] chars, int start, int end) {
+		while (start < end && chars[start] <= ' ') {
+			start++;
+		}
+		while (end > start && chars[end - 1] <= ' ') {
+			end--;
+		}
+		return new String(chars, start, end - start);
+	}
+
+	private static FormatException formatError(char[] chars, int start, int end) {
+		return new FileCorrector.FormatException("Error de formato: " + new String(chars, start, end - start));
+	}
+
+	/**
+	 * @param bytes tamano del archivo
+	 * @return true si conviene parsear en paralelo (ver {@value #PARALLEL_PROPERTY})
+	 */
+	static boolean isParallelLoad(long bytes) {
+		String property = System.getProperty(PARALLEL_PROPERTY);
+		if (property != null) {
+			return Boolean.parseBoolean(property);
+		}
+		return bytes >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
 	}
 
 	/** Construye el Filereader.
@@ -111,7 +317,7 @@ public class FileCorrector extends Corrector {
 		Reader r = new FileReader(filename);
 		FileCorrector fc;
 		try {
-			fc = new FileCorrector(r);
+			fc = new FileCorrector(r, isParallelLoad(Files.size(Paths.get(filename))));
 		} finally {
 			if (r != null) { r.close(); }
 		}
@@ -132,6 +338,17 @@ public class FileCorrector extends Corrector {
 		if (!TokenScanner.isWord(wrong)) {
 			throw new IllegalArgumentException("La entrada no es una palabra valida");
 		}
-		return this.matchCase(wrong, suggestionDictionary.getOrDefault(wrong.toLowerCase(), new LinkedHashSet<>()));
+		return this.suggestionDictionary.get(wrong.toLowerCase(), Character.isUpperCase(wrong.charAt(0)));
+	}
+
+	/**
+	 * @return las correcciones en minuscula, sin pasar por matchCase
+	 */
+	@Override
+	protected Collection<String> getCandidates(String wrong) {
+		if (!TokenScanner.isWord(wrong)) {
+			throw new IllegalArgumentException("La entrada no es una palabra valida");
+		}
+		return this.suggestionDictionary.get(wrong.toLowerCase(), false);
 	}
 }
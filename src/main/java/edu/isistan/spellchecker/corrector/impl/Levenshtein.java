@@ -4,6 +4,7 @@ import java.util.Set;
 
 import edu.isistan.spellchecker.corrector.Corrector;
 import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.metrics.Metrics;
 
 /**
  *
@@ -46,10 +47,12 @@ public class Levenshtein extends Corrector {
 	Set<String> getDeletions(String s) {
 		Set<String> deletions = new LinkedHashSet<>();
 		if (s.length() > 1) {
+			StringBuilder candidate = new StringBuilder(s.length());
 			for (int index = 0; index < s.length(); index++) {
-				String candidate = new StringBuilder(s).deleteCharAt(index).toString();
-				if (this.dictionary.isWord(candidate)) {
-					deletions.add(candidate);
+				candidate.setLength(0);
+				candidate.append(s, 0, index).append(s, index + 1, s.length());
+				if (this.dictionary.isWord(candidate, 0, candidate.length())) {
+					deletions.add(candidate.toString());
 				}
 			}
 		}
@@ -57,20 +60,27 @@ public class Levenshtein extends Corrector {
 	}
 
 	/**
+	 * Prueba los candidatos sobre un unico StringBuilder; solo se crea el String
+	 * de los que estan en el diccionario.
+	 *
 	 * @param s palabra
 	 * @return todas las palabras a substitution distance uno
 	 */
 	public Set<String> getSubstitutions(String s) {
 		Set<String> substitutions = new LinkedHashSet<>();
+		StringBuilder candidate = new StringBuilder(s);
 		for (int index = 0; index < s.length(); index++) {
-			StringBuilder stringBuilder = new StringBuilder(s);
+			char original = s.charAt(index);
 			for (char letter = 'a'; letter <= 'z'; letter++) {
-				stringBuilder.setCharAt(index, letter);
-				String candidate = stringBuilder.toString();
-				if (!candidate.equals(s) && this.dictionary.isWord(candidate)) {
-					substitutions.add(candidate);
+				if (letter == original) {
+					continue;
+				}
+				candidate.setCharAt(index, letter);
+				if (this.dictionary.isWord(candidate, 0, candidate.length())) {
+					substitutions.add(candidate.toString());
 				}
 			}
+			candidate.setCharAt(index, original);
 		}
 		return substitutions;
 	}
@@ -82,13 +92,14 @@ public class Levenshtein extends Corrector {
 	 */
 	public Set<String> getInsertions(String s) {
 		Set<String> insertions = new LinkedHashSet<>();
+		StringBuilder candidate = new StringBuilder(s.length() + 1);
 		for (int index = 0; index <= s.length(); index++) {
+			candidate.setLength(0);
+			candidate.append(s, 0, index).append('a').append(s, index, s.length());
 			for (char letter = 'a'; letter <= 'z'; letter++) {
-				StringBuilder stringBuilder = new StringBuilder(s);
-				stringBuilder.insert(index, letter);
-				String candidate = stringBuilder.toString();
-				if (this.dictionary.isWord(candidate)) {
-					insertions.add(candidate);
+				candidate.setCharAt(index, letter);
+				if (this.dictionary.isWord(candidate, 0, candidate.length())) {
+					insertions.add(candidate.toString());
 				}
 			}
 		}
@@ -96,41 +107,39 @@ public class Levenshtein extends Corrector {
 	}
 
     public Set<String> getCorrections(String wrong) {
+        return this.matchCase(wrong, this.getCandidates(wrong));
+    }
+
+    @Override
+    protected Set<String> getCandidates(String wrong) {
         if (wrong == null) {
             throw new IllegalArgumentException("Word is null");
         }
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
         Set<String> corrections = new LinkedHashSet<>();
         Set<String> suggestions = this.dictionary.getSimilarWords(wrong.toLowerCase());
         if (suggestions.isEmpty()) {
             corrections.addAll(this.getDeletions(wrong));
             corrections.addAll(this.getSubstitutions(wrong));
             corrections.addAll(this.getInsertions(wrong));
+            if (Metrics.ENABLED) {
+                Metrics.LEVENSHTEIN_FALLBACK.record(System.nanoTime() - start);
+            }
         } else {
             for (String suggestion : suggestions) {
-                if (calculateDistance(suggestion, wrong) <= MAXIMUM_EDIT_DISTANCE) {
+                if (editDistance(suggestion, wrong) <= MAXIMUM_EDIT_DISTANCE) {
                     corrections.add(suggestion);
                 }
             }
+            if (Metrics.ENABLED) {
+                Metrics.LEVENSHTEIN_LSH.record(System.nanoTime() - start);
+            }
         }
-        return this.matchCase(wrong, corrections);
+        return corrections;
     }
 
-    private int calculateDistance(String x, String y) {
-        int[][] distanceMatrix = new int[x.length() + 1][y.length() + 1];
-        for (int i = 0; i <= x.length(); i++) {
-            for (int j = 0; j <= y.length(); j++) {
-                if (i == 0) {
-                    distanceMatrix[i][j] = j;
-                } else if (j == 0) {
-                    distanceMatrix[i][j] = i;
-                } else {
-                    distanceMatrix[i][j] = Math.min(Math.min(distanceMatrix[i - 1][j - 1]
-                                            + (x.charAt(i - 1) == y.charAt(j - 1) ? 0 : 1),
-                                    distanceMatrix[i - 1][j] + 1),
-                            distanceMatrix[i][j - 1] + 1);
-                }
-            }
-        }
-        return distanceMatrix[x.length()][y.length()];
+    @Override
+    protected int getFrequency(String suggestion) {
+        return this.dictionary.getFrequency(suggestion);
     }
 }
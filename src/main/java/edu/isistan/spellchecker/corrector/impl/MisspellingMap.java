@@ -0,0 +1,215 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Mapa de solo lectura de palabra mal escrita (en minuscula) a sus correcciones,
+ * usado por FileCorrector.
+ * <p>
+ * Las correcciones de cada palabra se guardan ya con las dos capitalizaciones que
+ * puede dar Corrector.matchCase (todo en minuscula, o la primera en mayuscula y el
+ * resto en minuscula), ordenadas y sin repetir, en dos arreglos compartidos por
+ * todas las palabras. Las palabras se buscan por direccionamiento abierto sobre un
+ * int[] de ids. Una consulta no crea mas que la vista del rango de correcciones,
+ * que ademas es el mismo conjunto (y en el mismo orden) que devolvia matchCase.
+ * Los String iguales de distintas correcciones se comparten.
+ */
+final class MisspellingMap {
+	private final int[] table;
+	private final String[] keys;
+	private final int[] lowerStarts;
+	private final String[] lower;
+	private final int[] capitalizedStarts;
+	private final String[] capitalized;
+
+	/**
+	 * Acumula los pares (palabra, correccion) en el orden en que se leen. Las
+	 * palabras con una sola correccion, la mayoria, guardan el String sin lista.
+	 */
+	static final class Builder {
+		private final Map<String, Object> corrections = new HashMap<>();
+
+		/**
+		 * @param misspelled palabra mal escrita, en minuscula
+		 * @param correction correccion, en cualquier capitalizacion
+		 */
+		void add(String misspelled, String correction) {
+			Object previous = this.corrections.putIfAbsent(misspelled, correction);
+			if (previous instanceof String) {
+				List<String> list = new ArrayList<>(2);
+				list.add((String) previous);
+				list.add(correction);
+				this.corrections.put(misspelled, list);
+			} else if (previous != null) {
+				@SuppressWarnings("unchecked")
+				List<String> list = (List<String>) previous;
+				list.add(correction);
+			}
+		}
+
+		MisspellingMap build() {
+			return new MisspellingMap(this.corrections);
+		}
+	}
+
+	private MisspellingMap(Map<String, Object> corrections) {
+		int count = corrections.size();
+		this.table = new int[Integer.highestOneBit(Math.max(1, count) * 2) * 2];
+		Arrays.fill(this.table, -1);
+		this.keys = new String[count];
+		this.lowerStarts = new int[count + 1];
+		this.capitalizedStarts = new int[count + 1];
+		List<String> lower = new ArrayList<>();
+		List<String> capitalized = new ArrayList<>();
+		Map<String, String[]> variants = new HashMap<>();
+		int id = 0;
+		for (Map.Entry<String, Object> entry : corrections.entrySet()) {
+			this.keys[id] = entry.getKey();
+			int mask = this.table.length - 1;
+			int slot = slot(entry.getKey().hashCode(), mask);
+			while (this.table[slot] != -1) {
+				slot = (slot + 1) & mask;
+			}
+			this.table[slot] = id;
+			addVariants(entry.getValue(), 0, lower, variants);
+			addVariants(entry.getValue(), 1, capitalized, variants);
+			id++;
+			this.lowerStarts[id] = lower.size();
+			this.capitalizedStarts[id] = capitalized.size();
+		}
+		this.lower = lower.toArray(new String[0]);
+		this.capitalized = capitalized.toArray(new String[0]);
+	}
+
+	/**
+	 * Agrega las correcciones con la capitalizacion pedida, ordenadas y sin repetir.
+	 *
+	 * @param value una correccion (String) o varias (List)
+	 * @param variant 0 para minuscula, 1 para la primera en mayuscula
+	 * @param variants las dos variantes de cada correccion distinta, que se calculan
+	 * una sola vez y se comparten entre todas las palabras
+	 */
+	private static void addVariants(Object value, int variant, List<String> out,
+			Map<String, String[]> variants) {
+		if (value instanceof String) {
+			out.add(variants((String) value, variants)[variant]);
+			return;
+		}
+		@SuppressWarnings("unchecked")
+		List<String> corrections = (List<String>) value;
+		String[] words = new String[corrections.size()];
+		for (int index = 0; index < words.length; index++) {
+			words[index] = variants(corrections.get(index), variants)[variant];
+		}
+		Arrays.sort(words);
+		for (int index = 0; index < words.length; index++) {
+			if (index == 0 || !words[index].equals(words[index - 1])) {
+				out.add(words[index]);
+			}
+		}
+	}
+
+	private static String[] variants(String correction, Map<String, String[]> variants) {
+		String[] pair = variants.get(correction);
+		if (pair == null) {
+			pair = new String[]{variant(correction, false), variant(correction, true)};
+			variants.put(correction, pair);
+		}
+		return pair;
+	}
+
+	/**
+	 * @return la correccion como la escribe Corrector.matchCase
+	 */
+	private static String variant(String correction, boolean capitalize) {
+		if (!capitalize || correction.isEmpty()) {
+			return correction.toLowerCase();
+		}
+		return correction.substring(0, 1).toUpperCase() + correction.substring(1).toLowerCase();
+	}
+
+	private static int slot(int hash, int mask) {
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	/**
+	 * @return cantidad de palabras mal escritas
+	 */
+	int size() {
+		return this.keys.length;
+	}
+
+	/**
+	 * @param misspelled palabra mal escrita, en minuscula
+	 * @param capitalize true para la variante con la primera letra en mayuscula
+	 * @return las correcciones, ordenadas; vacio si la palabra no esta
+	 */
+	Set<String> get(String misspelled, boolean capitalize) {
+		int mask = this.table.length - 1;
+		int slot = slot(misspelled.hashCode(), mask);
+		int id;
+		while ((id = this.table[slot]) != -1) {
+			if (this.keys[id].equals(misspelled)) {
+				return capitalize
+						? new Corrections(this.capitalized, this.capitalizedStarts[id], this.capitalizedStarts[id + 1])
+						: new Corrections(this.lower, this.lowerStarts[id], this.lowerStarts[id + 1]);
+			}
+			slot = (slot + 1) & mask;
+		}
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Vista de solo lectura de un rango ordenado de uno de los arreglos.
+	 */
+	private static final class Corrections extends AbstractSet<String> {
+		private final String[] words;
+		private final int from;
+		private final int to;
+
+		private Corrections(String[] words, int from, int to) {
+			this.words = words;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof String && Arrays.binarySearch(this.words, this.from, this.to, o) >= 0;
+		}
+
+		@Override
+		public int size() {
+			return this.to - this.from;
+		}
+
+		@Override
+		public Iterator<String> iterator() {
+			return new Iterator<String>() {
+				private int next = from;
+
+				@Override
+				public boolean hasNext() {
+					return this.next < to;
+				}
+
+				@Override
+				public String next() {
+					if (this.next >= to) {
+						throw new NoSuchElementException();
+					}
+					return words[this.next++];
+				}
+			};
+		}
+	}
+}
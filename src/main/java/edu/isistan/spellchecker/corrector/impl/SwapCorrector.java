@@ -55,17 +55,28 @@ public class SwapCorrector extends Corrector {
 	 */
 
 	public Set<String> getCorrections(String wrong) {
+		return this.matchCase(wrong, this.getCandidates(wrong));
+	}
+
+	@Override
+	protected Set<String> getCandidates(String wrong) {
 		if (!TokenScanner.isWord(wrong)) {
 			throw new IllegalArgumentException("La entrada no es una palabra valida");
 		}
 		Set<String> swaps = new LinkedHashSet<>();
 		Set<String> suggestions = this.dictionary.getSimilarWords(wrong);
+		String lowerCase = wrong.toLowerCase();
 		for (String suggestion : suggestions) {
-			if (isSwap(suggestion, wrong.toLowerCase())) {
+			if (isSwap(suggestion, lowerCase)) {
 				swaps.add(suggestion);
 			}
 		}
-		return this.matchCase(wrong, swaps);
+		return swaps;
+	}
+
+	@Override
+	protected int getFrequency(String suggestion) {
+		return this.dictionary.getFrequency(suggestion);
 	}
 
 	private boolean isSwap(String suggestion, String wrong) {
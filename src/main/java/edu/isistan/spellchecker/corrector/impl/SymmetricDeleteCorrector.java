@@ -0,0 +1,170 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+
+/**
+ * Corrector por "edit distance" basado en borrados simetricos (estilo SymSpell).
+ * <p>
+ * Al construirse genera, para cada palabra del diccionario, todas las variantes
+ * que resultan de borrar hasta maxEditDistance letras, y las indexa en una tabla
+ * de hash: variante -> ids de las palabras que la generan. Dos palabras estan a
+ * distancia de Levenshtein d o menos solo si comparten alguna variante con d
+ * borrados en total, por lo que al corregir alcanza con generar los borrados de
+ * la palabra mal escrita, buscarlos en la tabla y verificar la distancia real de
+ * los candidatos.
+ * <p>
+ * Cambia memoria por velocidad: el indice crece con la cantidad de borrados por
+ * palabra, pero una consulta no prueba ninguna insercion ni sustitucion. El indice
+ * se construye en paralelo.
+ */
+public class SymmetricDeleteCorrector extends Corrector {
+
+	private static final int DEFAULT_EDIT_DISTANCE = 1;
+	private static final int[] NO_WORDS = new int[0];
+	private final Dictionary dictionary;
+	private final String[] words;
+	private final Map<String, int[]> deletes;
+	private final int maxEditDistance;
+
+	/**
+	 * Construye el corrector con distancia maxima uno.
+	 *
+	 * @param dict
+	 * @throws IllegalArgumentException si el diccionario es null
+	 */
+	public SymmetricDeleteCorrector(Dictionary dict) {
+		this(dict, DEFAULT_EDIT_DISTANCE);
+	}
+
+	/**
+	 * @param dict
+	 * @param maxEditDistance distancia de edicion maxima de las sugerencias
+	 * @throws IllegalArgumentException si el diccionario es null o la distancia es negativa
+	 */
+	public SymmetricDeleteCorrector(Dictionary dict, int maxEditDistance) {
+		if (dict == null) {
+			throw new IllegalArgumentException("El diccionario es null");
+		}
+		if (maxEditDistance < 0) {
+			throw new IllegalArgumentException("La distancia maxima no puede ser negativa");
+		}
+		this.maxEditDistance = maxEditDistance;
+		this.dictionary = dict;
+		this.words = dict.getWords().toArray(new String[0]);
+		this.deletes = this.buildIndex();
+	}
+
+	private Map<String, int[]> buildIndex() {
+		Map<String, IdList> index = new ConcurrentHashMap<>();
+		IntStream.range(0, this.words.length).parallel().forEach(id -> {
+			for (String delete : this.generateDeletes(this.words[id])) {
+				index.computeIfAbsent(delete, key -> new IdList()).add(id);
+			}
+		});
+		Map<String, int[]> frozen = new HashMap<>(index.size() * 4 / 3 + 1);
+		for (Map.Entry<String, IdList> entry : index.entrySet()) {
+			frozen.put(entry.getKey(), entry.getValue().toSortedArray());
+		}
+		return frozen;
+	}
+
+	/**
+	 * @return la palabra y todas sus variantes con hasta maxEditDistance borrados
+	 */
+	Set<String> generateDeletes(String word) {
+		Set<String> deletes = new HashSet<>();
+		deletes.add(word);
+		this.generateDeletes(word, this.maxEditDistance, deletes);
+		return deletes;
+	}
+
+	private void generateDeletes(String word, int remaining, Set<String> deletes) {
+		if (remaining == 0 || word.isEmpty()) {
+			return;
+		}
+		for (int index = 0; index < word.length(); index++) {
+			String delete = word.substring(0, index) + word.substring(index + 1);
+			if (deletes.add(delete)) {
+				this.generateDeletes(delete, remaining - 1, deletes);
+			}
+		}
+	}
+
+	public Set<String> getCorrections(String wrong) {
+		return this.matchCase(wrong, this.getCandidates(wrong));
+	}
+
+	@Override
+	protected Set<String> getCandidates(String wrong) {
+		if (wrong == null) {
+			throw new IllegalArgumentException("Word is null");
+		}
+		String word = wrong.toLowerCase();
+		Set<String> corrections = new LinkedHashSet<>();
+		for (String delete : this.generateDeletes(word)) {
+			for (int id : this.deletes.getOrDefault(delete, NO_WORDS)) {
+				String candidate = this.words[id];
+				if (!candidate.equals(word) && !corrections.contains(candidate)
+						&& Math.abs(candidate.length() - word.length()) <= this.maxEditDistance
+						&& editDistance(candidate, word) <= this.maxEditDistance) {
+					corrections.add(candidate);
+				}
+			}
+		}
+		return corrections;
+	}
+
+	@Override
+	protected int getFrequency(String suggestion) {
+		return this.dictionary.getFrequency(suggestion);
+	}
+
+	/**
+	 * @return cantidad de variantes distintas en el indice
+	 */
+	public int getIndexKeys() {
+		return this.deletes.size();
+	}
+
+	/**
+	 * @return cantidad total de ids almacenados en el indice
+	 */
+	public long getIndexPostings() {
+		long postings = 0;
+		for (int[] ids : this.deletes.values()) {
+			postings += ids.length;
+		}
+		return postings;
+	}
+
+	/**
+	 * Lista de ids que admite escrituras concurrentes durante la construccion.
+	 */
+	private static class IdList {
+		private int[] ids = new int[2];
+		private int size;
+
+		private synchronized void add(int id) {
+			if (this.size == this.ids.length) {
+				this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			}
+			this.ids[this.size++] = id;
+		}
+
+		private synchronized int[] toSortedArray() {
+			int[] sorted = Arrays.copyOf(this.ids, this.size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+}
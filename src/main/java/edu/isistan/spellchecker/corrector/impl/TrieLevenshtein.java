@@ -0,0 +1,129 @@
+package edu.isistan.spellchecker.corrector.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.WordGraph;
+
+/**
+ * Corrector por "edit distance" que recorre el automata de palabras del
+ * diccionario (ver {@link Dictionary#getWordGraph()}) en lugar de generar
+ * candidatos.
+ * <p>
+ * Por cada arista se calcula una fila de la matriz de Levenshtein respecto de la
+ * palabra mal escrita. Si el minimo de la fila supera la distancia maxima, ningun
+ * sufijo puede bajarla, por lo que el subarbol completo se descarta. Asi la
+ * distancia maxima es un parametro y no se crea ningun String salvo para las
+ * sugerencias encontradas. Ademas solo se calculan las celdas de la banda
+ * diagonal |fila - columna| &lt;= distancia maxima, ya que fuera de ella la
+ * distancia supera el limite; esas celdas quedan fijas en distancia + 1.
+ * <p>
+ * A diferencia de Levenshtein, las ediciones consideran cualquier caracter del
+ * diccionario (incluidos los apostrofes), no solo a-z.
+ */
+public class TrieLevenshtein extends Corrector {
+
+	private static final int DEFAULT_EDIT_DISTANCE = 1;
+	private final Dictionary dictionary;
+	private final WordGraph graph;
+	private final int maxEditDistance;
+
+	/**
+	 * Construye el corrector con distancia maxima uno.
+	 *
+	 * @param dict diccionario con automata de palabras
+	 * @throws IllegalArgumentException si el diccionario es null o no se puede recorrer
+	 */
+	public TrieLevenshtein(Dictionary dict) {
+		this(dict, DEFAULT_EDIT_DISTANCE);
+	}
+
+	/**
+	 * @param dict diccionario con automata de palabras
+	 * @param maxEditDistance distancia de edicion maxima de las sugerencias
+	 * @throws IllegalArgumentException si el diccionario es null o no se puede recorrer,
+	 * o si la distancia es negativa
+	 */
+	public TrieLevenshtein(Dictionary dict, int maxEditDistance) {
+		if (dict == null) {
+			throw new IllegalArgumentException("El diccionario es null");
+		}
+		if (dict.getWordGraph() == null) {
+			throw new IllegalArgumentException("El diccionario no tiene un automata de palabras");
+		}
+		if (maxEditDistance < 0) {
+			throw new IllegalArgumentException("La distancia maxima no puede ser negativa");
+		}
+		this.dictionary = dict;
+		this.graph = dict.getWordGraph();
+		this.maxEditDistance = maxEditDistance;
+	}
+
+	public Set<String> getCorrections(String wrong) {
+		return this.matchCase(wrong, this.getCandidates(wrong));
+	}
+
+	@Override
+	protected Set<String> getCandidates(String wrong) {
+		if (wrong == null) {
+			throw new IllegalArgumentException("Word is null");
+		}
+		String word = wrong.toLowerCase();
+		int columns = word.length() + 1;
+		int maxDepth = word.length() + this.maxEditDistance;
+		int limit = this.maxEditDistance + 1;
+		int[][] rows = new int[maxDepth + 1][columns];
+		for (int[] row : rows) {
+			Arrays.fill(row, limit);
+		}
+		for (int column = 0; column < columns && column < limit; column++) {
+			rows[0][column] = column;
+		}
+		Set<String> corrections = new LinkedHashSet<>();
+		this.search(this.graph.getRoot(), 1, word, rows, new char[maxDepth], corrections);
+		corrections.remove(word);
+		return corrections;
+	}
+
+	@Override
+	protected int getFrequency(String suggestion) {
+		return this.dictionary.getFrequency(suggestion);
+	}
+
+	private void search(int node, int depth, String word, int[][] rows, char[] prefix, Set<String> corrections) {
+		if (depth >= rows.length) {
+			return;
+		}
+		int[] previous = rows[depth - 1];
+		int[] current = rows[depth];
+		int firstColumn = Math.max(1, depth - this.maxEditDistance);
+		int lastColumn = Math.min(word.length(), depth + this.maxEditDistance);
+		for (int edge = this.graph.getFirstEdge(node); edge < this.graph.getEdgeEnd(node); edge++) {
+			char label = this.graph.getEdgeLabel(edge);
+			int rowMinimum = Integer.MAX_VALUE;
+			if (depth <= this.maxEditDistance) {
+				current[0] = depth;
+				rowMinimum = depth;
+			}
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				int cost = word.charAt(column - 1) == label ? 0 : 1;
+				int distance = Math.min(Math.min(current[column - 1] + 1, previous[column] + 1),
+						previous[column - 1] + cost);
+				current[column] = distance;
+				rowMinimum = Math.min(rowMinimum, distance);
+			}
+			if (rowMinimum > this.maxEditDistance) {
+				continue;
+			}
+			prefix[depth - 1] = label;
+			int target = this.graph.getEdgeTarget(edge);
+			if (current[current.length - 1] <= this.maxEditDistance && this.graph.isTerminal(target)) {
+				corrections.add(new String(prefix, 0, depth));
+			}
+			this.search(target, depth + 1, word, rows, prefix, corrections);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package edu.isistan.spellchecker.lsh;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de ints no negativos sin boxing, pensado para reutilizarse entre
+ * consultas: los valores se guardan en el orden en que se agregaron y clear()
+ * cuesta lo mismo que la cantidad de elementos, no que la capacidad.
+ * <p>
+ * No es seguro para usar desde varios hilos.
+ */
+public final class IntSet {
+    private static final int EMPTY = -1;
+    private int[] table;
+    private int[] values;
+    private int size;
+
+    public IntSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize cantidad de elementos esperada
+     */
+    public IntSet(int expectedSize) {
+        this.table = new int[tableSize(expectedSize)];
+        Arrays.fill(this.table, EMPTY);
+        this.values = new int[Math.max(1, expectedSize)];
+    }
+
+    private static int tableSize(int expectedSize) {
+        return Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+    }
+
+    private static int slot(int value, int mask) {
+        int mixed = value * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+
+    /**
+     * @return true si el valor no estaba en el conjunto
+     * @throws IllegalArgumentException si el valor es negativo
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Solo se admiten valores no negativos");
+        }
+        int mask = this.table.length - 1;
+        int slot = slot(value, mask);
+        while (this.table[slot] != EMPTY) {
+            if (this.table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = value;
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        this.values[this.size++] = value;
+        if (this.size * 2 > this.table.length) {
+            this.rehash();
+        }
+        return true;
+    }
+
+    private void rehash() {
+        this.table = new int[this.table.length * 2];
+        Arrays.fill(this.table, EMPTY);
+        int mask = this.table.length - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = slot(this.values[index], mask);
+            while (this.table[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = this.values[index];
+        }
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int mask = this.table.length - 1;
+        int slot = slot(value, mask);
+        while (this.table[slot] != EMPTY) {
+            if (this.table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return el i-esimo valor agregado
+     * @throws IndexOutOfBoundsException si el indice no es valido
+     */
+    public int get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + this.size);
+        }
+        return this.values[index];
+    }
+
+    public void clear() {
+        int mask = this.table.length - 1;
+        for (int index = 0; index < this.size; index++) {
+            int slot = slot(this.values[index], mask);
+            while (this.table[slot] != EMPTY) {
+                this.table[slot] = EMPTY;
+                slot = (slot + 1) & mask;
+            }
+        }
+        this.size = 0;
+    }
+
+    /**
+     * @return una copia de los valores, en el orden en que se agregaron
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
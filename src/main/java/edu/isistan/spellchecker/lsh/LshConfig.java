@@ -0,0 +1,121 @@
+package edu.isistan.spellchecker.lsh;
+
+/**
+ * Configuracion de un indice LSH: cantidad de bandas, filas por banda, como se
+ * combinan las filas de una banda en la clave del bucket y cuantas sondas extra
+ * (multi-probe) se hacen por consulta.
+ * <p>
+ * La firma tiene bands * rows permutaciones. Con mas bandas (o menos filas) dos
+ * palabras parecidas tienen mas chances de compartir un bucket: sube el recall,
+ * pero tambien la cantidad de candidatos que el corrector tiene que filtrar. Las
+ * sondas suben el recall sin agregar tablas (ver PackedMinHashLSH).
+ * <p>
+ * DEFAULT reproduce el indice original de MinHashLSH: 4 bandas de 16 filas
+ * sumadas y sin sondas.
+ */
+public final class LshConfig {
+    public static final LshConfig DEFAULT = new LshConfig(4, 16, BandHashing.SUM, 0);
+    private final int bands;
+    private final int rows;
+    private final BandHashing hashing;
+    private final int probes;
+
+    /**
+     * Como se combinan los valores de las filas de una banda.
+     */
+    public enum BandHashing {
+        /** suma de los valores, como MinHashLSH; distintas bandas pueden chocar */
+        SUM {
+            @Override
+            int hash(int[] values, int from, int to) {
+                int result = 0;
+                for (int index = from; index < to; index++) {
+                    result += values[index];
+                }
+                return result;
+            }
+        },
+        /** combinacion que depende del orden de las filas, con mezcla final */
+        MIX {
+            @Override
+            int hash(int[] values, int from, int to) {
+                int result = 0;
+                for (int index = from; index < to; index++) {
+                    result = (result ^ values[index]) * 0x9E3779B9;
+                    result ^= result >>> 15;
+                }
+                result ^= result >>> 16;
+                result *= 0x85EBCA6B;
+                return result ^ (result >>> 13);
+            }
+        };
+
+        abstract int hash(int[] values, int from, int to);
+    }
+
+    /**
+     * @param bands cantidad de bandas (tablas)
+     * @param rows filas por banda
+     * @param hashing como se combinan las filas de una banda
+     * @param probes maxima cantidad de sondas extra por consulta; 0 las desactiva
+     * @throws IllegalArgumentException si bands o rows no son positivos, probes es
+     * negativo o hashing es null
+     */
+    public LshConfig(int bands, int rows, BandHashing hashing, int probes) {
+        if (bands <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Las bandas y las filas deben ser positivas");
+        }
+        if (hashing == null) {
+            throw new IllegalArgumentException("El hashing de las bandas es null");
+        }
+        if (probes < 0) {
+            throw new IllegalArgumentException("La cantidad de sondas no puede ser negativa");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.hashing = hashing;
+        this.probes = probes;
+    }
+
+    /**
+     * @return la misma configuracion con otra cantidad de sondas
+     */
+    public LshConfig withProbes(int probes) {
+        return new LshConfig(this.bands, this.rows, this.hashing, probes);
+    }
+
+    public int getBands() {
+        return this.bands;
+    }
+
+    public int getRows() {
+        return this.rows;
+    }
+
+    public BandHashing getHashing() {
+        return this.hashing;
+    }
+
+    public int getProbes() {
+        return this.probes;
+    }
+
+    /**
+     * @return largo de la firma MinHash
+     */
+    public int getPermutations() {
+        return this.bands * this.rows;
+    }
+
+    /**
+     * @return la clave del bucket de la banda
+     */
+    public int bandHash(int[] signature, int band) {
+        return this.hashing.hash(signature, band * this.rows, (band + 1) * this.rows);
+    }
+
+    @Override
+    public String toString() {
+        return this.bands + "x" + this.rows + " " + this.hashing + (this.probes > 0 ? " probes=" + this.probes : "");
+    }
+}
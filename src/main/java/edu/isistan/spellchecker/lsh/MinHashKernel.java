@@ -0,0 +1,20 @@
+package edu.isistan.spellchecker.lsh;
+
+/**
+ * Actualizacion de una firma MinHash con un elemento: para cada permutacion i,
+ * signature[i] = min(signature[i], (a[i] * hash + b[i]) % LARGEST_PRIME), con la
+ * aritmetica de int de Java (desborde y resto con signo).
+ */
+interface MinHashKernel {
+
+    void update(int[] permutationA, int[] permutationB, int hash, int[] signature);
+
+    MinHashKernel SCALAR = (permutationA, permutationB, hash, signature) -> {
+        for (int index = 0; index < permutationA.length; index++) {
+            int value = (permutationA[index] * hash + permutationB[index]) % MinHasher.LARGEST_PRIME;
+            if (value < signature[index]) {
+                signature[index] = value;
+            }
+        }
+    };
+}
@@ -15,7 +15,14 @@ public class MinHashLSH {
     }
 
     public void insert(String key, MinHash minHash) {
-        int[] minHashHashValues = minHash.getHashValues();
+        this.insert(key, minHash.getHashValues());
+    }
+
+    /**
+     * Inserta la palabra dada su firma (ver MinHasher). La firma no se guarda, por
+     * lo que el arreglo se puede reutilizar.
+     */
+    public void insert(String key, int[] minHashHashValues) {
         for (int i = 0; i < BANDS; i++) {
             Integer hashValue = getHashValue(minHashHashValues, i);
             Map<Integer, List<String>> hashTable = this.hashTables.get(i);
@@ -35,9 +42,36 @@ public class MinHashLSH {
         return result;
     }
 
+    /**
+     * @return el hash de cada banda de la firma, es decir la clave del bucket en
+     * que se guarda (o se busca) la palabra en cada tabla
+     */
+    public int[] getBandHashes(MinHash minHash) {
+        return this.getBandHashes(minHash.getHashValues());
+    }
+
+    public int[] getBandHashes(int[] minHashHashValues) {
+        int[] bandHashes = new int[BANDS];
+        for (int i = 0; i < BANDS; i++) {
+            bandHashes[i] = getHashValue(minHashHashValues, i);
+        }
+        return bandHashes;
+    }
+
+    public int getBands() {
+        return BANDS;
+    }
+
+    public int getRows() {
+        return ROWS;
+    }
+
     public Set<String> query(MinHash queryMinHash) {
+        return this.query(queryMinHash.getHashValues());
+    }
+
+    public Set<String> query(int[] queryMinHashHashValues) {
         Set<String> results = new HashSet<>();
-        int[] queryMinHashHashValues = queryMinHash.getHashValues();
         for (int i = 0; i < BANDS; i++) {
             Integer hashValue = getHashValue(queryMinHashHashValues, i);
             List<String> values = this.hashTables.get(i).get(hashValue);
@@ -0,0 +1,185 @@
+package edu.isistan.spellchecker.lsh;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calcula firmas MinHash sin crear objetos.
+ * <p>
+ * Las permutaciones (a, b) son las mismas que genera MinHash y se crean una unica
+ * vez por cantidad de permutaciones: todas las instancias que devuelve
+ * forPermutations(n) comparten las mismas tablas inmutables. Los n-gramas se
+ * hashean directamente desde los caracteres con un hash rodante que da el mismo
+ * valor que String.hashCode() del n-grama, por lo que la firma es identica a la de
+ * MinHash actualizada con NGram.ngrams(n, word). La firma se escribe en un arreglo
+ * del llamador, que puede reutilizarse entre palabras.
+ * <p>
+ * Si el modulo jdk.incubator.vector esta disponible (--add-modules
+ * jdk.incubator.vector) las permutaciones se calculan con instrucciones SIMD (ver
+ * VectorMinHashKernel); si no, o si la propiedad {@value #VECTOR_PROPERTY} es
+ * false, se usa el calculo escalar. Ambos dan la misma firma.
+ * <p>
+ * Es inmutable y se puede usar desde varios hilos.
+ */
+public final class MinHasher {
+    static final int LARGEST_PRIME = 2147483647; //Mersenne
+    private static final int HASH_MULTIPLIER = 31;
+    public static final String VECTOR_PROPERTY = "spellchecker.minhash.vector";
+    private static final MinHashKernel DEFAULT_KERNEL = loadKernel();
+    private static final Map<Integer, MinHasher> INSTANCES = new ConcurrentHashMap<>();
+    private final MinHashKernel kernel;
+    private final int[] permutationA;
+    private final int[] permutationB;
+
+    private MinHasher(int numberOfPermutations) {
+        this.kernel = DEFAULT_KERNEL;
+        this.permutationA = new int[numberOfPermutations];
+        this.permutationB = new int[numberOfPermutations];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int index = 0; index < numberOfPermutations; index++) {
+            this.permutationA[index] = random.nextInt(1, LARGEST_PRIME);
+            this.permutationB[index] = random.nextInt(0, LARGEST_PRIME);
+        }
+    }
+
+    private MinHasher(MinHasher tables, MinHashKernel kernel) {
+        this.kernel = kernel;
+        this.permutationA = tables.permutationA;
+        this.permutationB = tables.permutationB;
+    }
+
+    /**
+     * @return el hasher (compartido) para esa cantidad de permutaciones
+     * @throws IllegalArgumentException si la cantidad no es positiva
+     */
+    public static MinHasher forPermutations(int numberOfPermutations) {
+        if (numberOfPermutations <= 0) {
+            throw new IllegalArgumentException("La cantidad de permutaciones debe ser positiva");
+        }
+        return INSTANCES.computeIfAbsent(numberOfPermutations, MinHasher::new);
+    }
+
+    /**
+     * @return un hasher con las mismas tablas que forPermutations(n) pero que siempre
+     * usa el calculo escalar, para comparar y medir
+     * @throws IllegalArgumentException si la cantidad no es positiva
+     */
+    public static MinHasher scalar(int numberOfPermutations) {
+        return new MinHasher(forPermutations(numberOfPermutations), MinHashKernel.SCALAR);
+    }
+
+    private static MinHashKernel loadKernel() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            return MinHashKernel.SCALAR;
+        }
+        try {
+            return (MinHashKernel) Class.forName(MinHasher.class.getPackage().getName() + ".VectorMinHashKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return MinHashKernel.SCALAR;
+        }
+    }
+
+    /**
+     * @return true si las firmas se calculan con la Vector API
+     */
+    public boolean isVectorized() {
+        return this.kernel != MinHashKernel.SCALAR;
+    }
+
+    public int getNumberOfPermutations() {
+        return this.permutationA.length;
+    }
+
+    /**
+     * Calcula la firma de los n-gramas de la palabra.
+     *
+     * @param word
+     * @param n largo de los n-gramas
+     * @param signature destino; debe tener al menos getNumberOfPermutations() posiciones
+     */
+    public void signature(CharSequence word, int n, int[] signature) {
+        this.reset(signature);
+        int length = word.length();
+        if (n == 1) {
+            for (int i = 0; i < length; i++) {
+                this.update(word.charAt(i), signature);
+            }
+            return;
+        }
+        if (n <= 0 || length < n) {
+            return;
+        }
+        int hash = 0;
+        int highestPower = 1;
+        for (int i = 0; i < n; i++) {
+            hash = HASH_MULTIPLIER * hash + word.charAt(i);
+            highestPower *= HASH_MULTIPLIER;
+        }
+        this.update(hash, signature);
+        for (int i = n; i < length; i++) {
+            hash = HASH_MULTIPLIER * hash + word.charAt(i) - highestPower * word.charAt(i - n);
+            this.update(hash, signature);
+        }
+    }
+
+    /**
+     * Calcula la firma de los n-gramas de la palabra junto con los segundos minimos
+     * que usa multi-probe. Es mas cara que signature(word, n, int[]) y esta pensada
+     * para las consultas.
+     *
+     * @param word
+     * @param n largo de los n-gramas
+     * @param probe destino; debe tener getNumberOfPermutations() posiciones
+     */
+    public void signature(CharSequence word, int n, ProbeSignature probe) {
+        probe.reset();
+        int length = word.length();
+        if (n == 1) {
+            for (int i = 0; i < length; i++) {
+                probe.addNGram(word.charAt(i));
+            }
+        } else if (n > 0 && length >= n) {
+            int hash = 0;
+            int highestPower = 1;
+            for (int i = 0; i < n; i++) {
+                hash = HASH_MULTIPLIER * hash + word.charAt(i);
+                highestPower *= HASH_MULTIPLIER;
+            }
+            probe.addNGram(hash);
+            for (int i = n; i < length; i++) {
+                hash = HASH_MULTIPLIER * hash + word.charAt(i) - highestPower * word.charAt(i - n);
+                probe.addNGram(hash);
+            }
+        }
+        for (int ngram = 0; ngram < probe.ngramCount; ngram++) {
+            int hash = probe.ngrams[ngram];
+            for (int index = 0; index < this.permutationA.length; index++) {
+                int value = (this.permutationA[index] * hash + this.permutationB[index]) % LARGEST_PRIME;
+                if (value < probe.minimum[index]) {
+                    probe.secondMinimum[index] = probe.minimum[index];
+                    probe.minimum[index] = value;
+                    probe.minimumNGram[index] = hash;
+                } else if (value < probe.secondMinimum[index]) {
+                    probe.secondMinimum[index] = value;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deja la firma como la de un conjunto vacio.
+     */
+    public void reset(int[] signature) {
+        Arrays.fill(signature, 0, this.permutationA.length, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Agrega a la firma un elemento dado su hash.
+     */
+    public void update(int hash, int[] signature) {
+        this.kernel.update(this.permutationA, this.permutationB, hash, signature);
+    }
+}
@@ -0,0 +1,254 @@
+package edu.isistan.spellchecker.lsh;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Indice LSH como MinHashLSH pero con tipos primitivos: las palabras son ids
+ * densos (int) que asigna quien lo usa y cada banda se guarda en arreglos.
+ * <p>
+ * Por banda, los buckets quedan ordenados por hash y sus ids contiguos en un unico
+ * arreglo (bucketStarts marca donde empieza cada bucket); una tabla de hash por
+ * direccionamiento abierto lleva del hash de banda al numero de bucket. No hay
+ * Integer, listas ni mapas, y una consulta escribe los ids en un IntSet del
+ * llamador que elimina los repetidos entre bandas.
+ * <p>
+ * Las bandas, filas y la forma de combinar las filas salen de un LshConfig. Si la
+ * configuracion tiene sondas, query(ProbeSignature, IntSet) ademas busca en los
+ * buckets de la consulta sin cada uno de sus n-gramas (ver ProbeSignature).
+ * <p>
+ * Se arma con un Builder y queda inmutable, por lo que las consultas se pueden
+ * hacer desde varios hilos (cada uno con su IntSet).
+ */
+public final class PackedMinHashLSH {
+    private final LshConfig config;
+    private final Band[] tables;
+
+    private PackedMinHashLSH(LshConfig config, Band[] tables) {
+        this.config = config;
+        this.tables = tables;
+    }
+
+    public LshConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Agrega a result los ids que comparten al menos una banda con la firma.
+     *
+     * @param signature firma con al menos config.getPermutations() valores
+     * @param result destino; no se vacia antes de agregar
+     */
+    public void query(int[] signature, IntSet result) {
+        for (int band = 0; band < this.tables.length; band++) {
+            this.tables[band].collect(this.config.bandHash(signature, band), result);
+        }
+    }
+
+    /**
+     * Como query(int[], IntSet) y ademas prueba hasta config.getProbes() sondas.
+     *
+     * @param probe firma de la consulta calculada con MinHasher
+     * @param result destino; no se vacia antes de agregar
+     */
+    public void query(ProbeSignature probe, IntSet result) {
+        this.query(probe.getSignature(), result);
+        int probes = Math.min(this.config.getProbes(), probe.getProbeCount());
+        for (int index = 0; index < probes; index++) {
+            for (int band = 0; band < this.tables.length; band++) {
+                if (probe.changesBand(this.config, band, index)) {
+                    this.tables[band].collect(probe.probeBandHash(this.config, band, index), result);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return cantidad de buckets distintos, sumando todas las bandas
+     */
+    public int getBucketCount() {
+        int buckets = 0;
+        for (Band band : this.tables) {
+            buckets += band.bucketHashes.length;
+        }
+        return buckets;
+    }
+
+    private static int slot(int hash, int mask) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+
+    private static final class Band {
+        /** numero de bucket + 1 por slot, 0 si esta vacio */
+        private final int[] table;
+        private final int[] bucketHashes;
+        private final int[] bucketStarts;
+        private final int[] ids;
+
+        private Band(long[] entries, int size) {
+            Arrays.sort(entries, 0, size);
+            this.ids = new int[size];
+            int buckets = 0;
+            for (int index = 0; index < size; index++) {
+                this.ids[index] = (int) entries[index];
+                if (index == 0 || (int) (entries[index] >> 32) != (int) (entries[index - 1] >> 32)) {
+                    buckets++;
+                }
+            }
+            this.bucketHashes = new int[buckets];
+            this.bucketStarts = new int[buckets + 1];
+            this.table = new int[Integer.highestOneBit(Math.max(2, buckets) * 2 - 1) << 1];
+            int mask = this.table.length - 1;
+            int bucket = -1;
+            for (int index = 0; index < size; index++) {
+                int hash = (int) (entries[index] >> 32);
+                if (bucket < 0 || hash != this.bucketHashes[bucket]) {
+                    bucket++;
+                    this.bucketHashes[bucket] = hash;
+                    this.bucketStarts[bucket] = index;
+                    int slot = slot(hash, mask);
+                    while (this.table[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    this.table[slot] = bucket + 1;
+                }
+            }
+            this.bucketStarts[buckets] = size;
+        }
+
+        private void collect(int hash, IntSet result) {
+            int mask = this.table.length - 1;
+            int slot = slot(hash, mask);
+            int entry;
+            while ((entry = this.table[slot]) != 0) {
+                int bucket = entry - 1;
+                if (this.bucketHashes[bucket] == hash) {
+                    for (int index = this.bucketStarts[bucket]; index < this.bucketStarts[bucket + 1]; index++) {
+                        result.add(this.ids[index]);
+                    }
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
+    /**
+     * Acumula (id, firma) y arma el indice. Solo se guardan los hashes de banda, por
+     * lo que el arreglo de la firma se puede reutilizar entre llamadas.
+     * <p>
+     * Con parallel(true), addAll calcula las firmas y build ordena las bandas en el
+     * ForkJoinPool comun. Cada palabra escribe solo su posicion y las bandas se
+     * ordenan por separado, por lo que el indice es identico al secuencial.
+     */
+    public static final class Builder {
+        private static final int CHUNK = 1024;
+        private final LshConfig config;
+        private long[][] entries;
+        private int size;
+        private boolean parallel;
+
+        public Builder() {
+            this(LshConfig.DEFAULT);
+        }
+
+        /**
+         * @throws IllegalArgumentException si la configuracion es null
+         */
+        public Builder(LshConfig config) {
+            if (config == null) {
+                throw new IllegalArgumentException("La configuracion es null");
+            }
+            this.config = config;
+            this.entries = new long[config.getBands()][64];
+        }
+
+        /**
+         * @param parallel si addAll y build usan varios hilos
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Agrega las palabras con ids consecutivos a partir de la cantidad ya
+         * agregada, calculando la firma de sus n-gramas con MinHasher.
+         *
+         * @param words palabras; no se modifican mientras se agregan
+         * @param n largo de los n-gramas
+         * @throws IllegalStateException si el indice ya se armo
+         */
+        public Builder addAll(List<? extends CharSequence> words, int n) {
+            if (this.entries == null) {
+                throw new IllegalStateException("El indice ya fue armado");
+            }
+            int base = this.size;
+            int count = words.size();
+            if (base + count > this.entries[0].length) {
+                int capacity = Math.max(base + count, this.entries[0].length * 2);
+                for (int band = 0; band < this.entries.length; band++) {
+                    this.entries[band] = Arrays.copyOf(this.entries[band], capacity);
+                }
+            }
+            MinHasher hasher = MinHasher.forPermutations(this.config.getPermutations());
+            IntStream chunks = IntStream.range(0, (count + CHUNK - 1) / CHUNK);
+            (this.parallel ? chunks.parallel() : chunks).forEach(chunk -> {
+                int[] signature = new int[this.config.getPermutations()];
+                for (int index = chunk * CHUNK; index < Math.min(count, (chunk + 1) * CHUNK); index++) {
+                    hasher.signature(words.get(index), n, signature);
+                    for (int band = 0; band < this.entries.length; band++) {
+                        this.entries[band][base + index] = ((long) this.config.bandHash(signature, band) << 32)
+                                | (base + index);
+                    }
+                }
+            });
+            this.size += count;
+            return this;
+        }
+
+        /**
+         * @param id id no negativo de la palabra
+         * @param signature firma con al menos config.getPermutations() valores
+         * @throws IllegalArgumentException si el id es negativo
+         * @throws IllegalStateException si el indice ya se armo
+         */
+        public Builder add(int id, int[] signature) {
+            if (id < 0) {
+                throw new IllegalArgumentException("El id no puede ser negativo");
+            }
+            if (this.entries == null) {
+                throw new IllegalStateException("El indice ya fue armado");
+            }
+            if (this.size == this.entries[0].length) {
+                for (int band = 0; band < this.entries.length; band++) {
+                    this.entries[band] = Arrays.copyOf(this.entries[band], this.size * 2);
+                }
+            }
+            for (int band = 0; band < this.entries.length; band++) {
+                this.entries[band][this.size] = ((long) this.config.bandHash(signature, band) << 32) | id;
+            }
+            this.size++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException si el indice ya se armo
+         */
+        public PackedMinHashLSH build() {
+            if (this.entries == null) {
+                throw new IllegalStateException("El indice ya fue armado");
+            }
+            Band[] tables = new Band[this.entries.length];
+            IntStream bands = IntStream.range(0, tables.length);
+            (this.parallel ? bands.parallel() : bands).forEach(band -> {
+                tables[band] = new Band(this.entries[band], this.size);
+                this.entries[band] = null;
+            });
+            this.entries = null;
+            return new PackedMinHashLSH(this.config, tables);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package edu.isistan.spellchecker.lsh;
+
+import java.util.Arrays;
+
+/**
+ * Firma MinHash de una consulta con la informacion necesaria para multi-probe.
+ * <p>
+ * Ademas del minimo de cada permutacion guarda cual n-grama lo produjo y el
+ * segundo minimo. La sonda i es la firma que tendria la consulta sin su i-esimo
+ * n-grama distinto: en las filas donde ese n-grama era el minimo se usa el
+ * segundo minimo. Asi se encuentran, sin tablas extra, las palabras a las que a la
+ * consulta le sobra una letra (o, con n-gramas, un fragmento).
+ * <p>
+ * Se llena con MinHasher.signature(word, n, probe) y se puede reutilizar entre
+ * consultas. No es seguro para usar desde varios hilos.
+ */
+public final class ProbeSignature {
+    final int[] minimum;
+    final int[] secondMinimum;
+    final int[] minimumNGram;
+    private final int[] perturbed;
+    int[] ngrams = new int[16];
+    int ngramCount;
+
+    /**
+     * @param permutations largo de la firma
+     * @throws IllegalArgumentException si el largo no es positivo
+     */
+    public ProbeSignature(int permutations) {
+        if (permutations <= 0) {
+            throw new IllegalArgumentException("La cantidad de permutaciones debe ser positiva");
+        }
+        this.minimum = new int[permutations];
+        this.secondMinimum = new int[permutations];
+        this.minimumNGram = new int[permutations];
+        this.perturbed = new int[permutations];
+    }
+
+    void reset() {
+        Arrays.fill(this.minimum, Integer.MAX_VALUE);
+        Arrays.fill(this.secondMinimum, Integer.MAX_VALUE);
+        this.ngramCount = 0;
+    }
+
+    /**
+     * Agrega el hash de un n-grama si no estaba.
+     *
+     * @return false si el n-grama ya estaba
+     */
+    boolean addNGram(int hash) {
+        for (int index = 0; index < this.ngramCount; index++) {
+            if (this.ngrams[index] == hash) {
+                return false;
+            }
+        }
+        if (this.ngramCount == this.ngrams.length) {
+            this.ngrams = Arrays.copyOf(this.ngrams, this.ngramCount * 2);
+        }
+        this.ngrams[this.ngramCount++] = hash;
+        return true;
+    }
+
+    /**
+     * @return la firma (los minimos) de la consulta
+     */
+    public int[] getSignature() {
+        return this.minimum;
+    }
+
+    /**
+     * @return cantidad de sondas posibles (n-gramas distintos de la consulta), o 0
+     * si la consulta tiene un solo n-grama
+     */
+    public int getProbeCount() {
+        return this.ngramCount > 1 ? this.ngramCount : 0;
+    }
+
+    /**
+     * @return true si sacar el n-grama de la sonda cambia la clave de la banda
+     */
+    public boolean changesBand(LshConfig config, int band, int probe) {
+        int ngram = this.ngrams[probe];
+        for (int row = band * config.getRows(); row < (band + 1) * config.getRows(); row++) {
+            if (this.minimumNGram[row] == ngram) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return la clave de la banda para la sonda (ver changesBand)
+     */
+    public int probeBandHash(LshConfig config, int band, int probe) {
+        int ngram = this.ngrams[probe];
+        int from = band * config.getRows();
+        int to = from + config.getRows();
+        for (int row = from; row < to; row++) {
+            this.perturbed[row] = this.minimumNGram[row] == ngram ? this.secondMinimum[row] : this.minimum[row];
+        }
+        return config.getHashing().hash(this.perturbed, from, to);
+    }
+}
@@ -0,0 +1,42 @@
+package edu.isistan.spellchecker.lsh;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * MinHashKernel que calcula todas las permutaciones de a SPECIES.length() por vez
+ * con la Vector API (jdk.incubator.vector).
+ * <p>
+ * La Vector API no tiene un resto entero acelerado, pero como LARGEST_PRIME es
+ * 2^31 - 1 el resto de Java se puede expresar con comparaciones: x % P es x salvo
+ * para x = P o x = -P (que dan 0) y x = Integer.MIN_VALUE (que da -1). El
+ * resultado es identico al del kernel escalar.
+ * <p>
+ * Solo se carga si el modulo esta disponible (ver MinHasher); requiere ejecutar
+ * con --add-modules jdk.incubator.vector.
+ */
+final class VectorMinHashKernel implements MinHashKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void update(int[] permutationA, int[] permutationB, int hash, int[] signature) {
+        int length = permutationA.length;
+        int bound = SPECIES.loopBound(length);
+        int index = 0;
+        for (; index < bound; index += SPECIES.length()) {
+            IntVector value = IntVector.fromArray(SPECIES, permutationA, index).mul(hash)
+                    .add(IntVector.fromArray(SPECIES, permutationB, index));
+            VectorMask<Integer> multiple = value.eq(MinHasher.LARGEST_PRIME).or(value.eq(-MinHasher.LARGEST_PRIME));
+            VectorMask<Integer> minimum = value.eq(Integer.MIN_VALUE);
+            value = value.blend(0, multiple).blend(-1, minimum);
+            IntVector.fromArray(SPECIES, signature, index).min(value).intoArray(signature, index);
+        }
+        for (; index < length; index++) {
+            int value = (permutationA[index] * hash + permutationB[index]) % MinHasher.LARGEST_PRIME;
+            if (value < signature[index]) {
+                signature[index] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package edu.isistan.spellchecker.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores no negativos (latencias en nanosegundos o tamanos) que se
+ * puede actualizar desde muchos hilos sin contencion: cada bucket es un LongAdder,
+ * que reparte las sumas entre celdas por hilo.
+ * <p>
+ * Los buckets son logaritmicos con cuatro sub-buckets por potencia de dos, por lo
+ * que un percentil se reporta con un error relativo de a lo sumo 25%. Los valores
+ * menores a 4 tienen un bucket propio.
+ */
+public final class Histogram implements HistogramMXBean {
+	private static final int SUB_BUCKET_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final String name;
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * @param name nombre con el que se publica, por ejemplo dictionary.isWord
+	 */
+	public Histogram(String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("El nombre es null");
+		}
+		this.name = name;
+		for (int index = 0; index < BUCKETS; index++) {
+			this.buckets[index] = new LongAdder();
+		}
+	}
+
+	static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * @return el mayor valor que cae en el bucket
+	 */
+	static long highestValue(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + 1;
+		long subBucket = bucket % SUB_BUCKETS;
+		long next = (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+		return next < 0 ? Long.MAX_VALUE : next - 1;
+	}
+
+	/**
+	 * Registra un valor; los negativos cuentan como 0.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		this.buckets[bucket(value)].increment();
+		this.sum.add(value);
+		this.max.accumulate(value);
+	}
+
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return copia de los contadores. Si hay hilos registrando valores la copia no
+	 * es atomica, pero cada valor registrado antes de llamar aparece en ella.
+	 */
+	public Snapshot snapshot() {
+		long[] counts = new long[BUCKETS];
+		for (int index = 0; index < BUCKETS; index++) {
+			counts[index] = this.buckets[index].sum();
+		}
+		return new Snapshot(this.name, counts, this.sum.sum(), this.max.get());
+	}
+
+	/**
+	 * Vuelve el histograma a cero.
+	 */
+	@Override
+	public void reset() {
+		for (LongAdder bucket : this.buckets) {
+			bucket.reset();
+		}
+		this.sum.reset();
+		this.max.reset();
+	}
+
+	@Override
+	public long getCount() {
+		return this.snapshot().getCount();
+	}
+
+	@Override
+	public double getMean() {
+		return this.snapshot().getMean();
+	}
+
+	@Override
+	public long getMax() {
+		return this.max.get();
+	}
+
+	@Override
+	public long getP50() {
+		return this.snapshot().getPercentile(50);
+	}
+
+	@Override
+	public long getP90() {
+		return this.snapshot().getPercentile(90);
+	}
+
+	@Override
+	public long getP99() {
+		return this.snapshot().getPercentile(99);
+	}
+
+	/**
+	 * Estado inmutable de un histograma en un momento dado.
+	 */
+	public static final class Snapshot {
+		private final String name;
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long max;
+
+		private Snapshot(String name, long[] counts, long sum, long max) {
+			this.name = name;
+			this.counts = counts;
+			long count = 0;
+			for (long bucket : counts) {
+				count += bucket;
+			}
+			this.count = count;
+			this.sum = sum;
+			this.max = max;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public long getCount() {
+			return this.count;
+		}
+
+		public long getSum() {
+			return this.sum;
+		}
+
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 * @return promedio de los valores, 0 si no hay ninguno
+		 */
+		public double getMean() {
+			return this.count == 0 ? 0 : (double) this.sum / this.count;
+		}
+
+		/**
+		 * @param percentile entre 0 y 100
+		 * @return cota superior del bucket donde cae el percentil (nunca mayor al
+		 * maximo), 0 si no hay valores
+		 * @throws IllegalArgumentException si el percentil esta fuera de rango
+		 */
+		public long getPercentile(double percentile) {
+			if (!(percentile >= 0 && percentile <= 100)) {
+				throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+			}
+			if (this.count == 0) {
+				return 0;
+			}
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+			long seen = 0;
+			for (int bucket = 0; bucket < this.counts.length; bucket++) {
+				seen += this.counts[bucket];
+				if (seen >= rank) {
+					return Math.min(highestValue(bucket), this.max);
+				}
+			}
+			return this.max;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s count=%d mean=%.1f p50=%d p90=%d p99=%d max=%d", this.name, this.count,
+					this.getMean(), this.getPercentile(50), this.getPercentile(90), this.getPercentile(99), this.max);
+		}
+	}
+}
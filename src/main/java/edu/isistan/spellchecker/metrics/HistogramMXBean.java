@@ -0,0 +1,22 @@
+package edu.isistan.spellchecker.metrics;
+
+/**
+ * Vista JMX de un Histogram. Los percentiles son la cota superior del bucket
+ * correspondiente.
+ */
+public interface HistogramMXBean {
+
+	long getCount();
+
+	double getMean();
+
+	long getMax();
+
+	long getP50();
+
+	long getP90();
+
+	long getP99();
+
+	void reset();
+}
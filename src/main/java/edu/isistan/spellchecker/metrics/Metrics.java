@@ -0,0 +1,215 @@
+package edu.isistan.spellchecker.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metricas del spellchecker: histogramas de latencia y de tamanos, y contadores.
+ * <p>
+ * Se activan con la propiedad de sistema {@value #PROPERTY}=true al iniciar la JVM.
+ * ENABLED es una constante, por lo que con las metricas desactivadas el JIT elimina
+ * las ramas <code>if (Metrics.ENABLED)</code> de los caminos calientes y el costo es
+ * nulo. Activadas, cada medicion es un System.nanoTime y una suma en un LongAdder,
+ * que no genera contencion entre hilos.
+ * <p>
+ * Con las metricas activadas (o luego de registerMBeans) se publican por JMX bajo
+ * el dominio {@value #DOMAIN}:
+ * <code>type=Metrics</code> (MetricsMXBean) y un <code>type=Histogram,name=...</code>
+ * por histograma. snapshot() da el mismo contenido sin JMX.
+ * <p>
+ * Nombres usados:
+ * <ul>
+ * <li> {@value #IS_WORD_NAME}: nanosegundos por Dictionary.isWord, medidos en una
+ * muestra de las llamadas, y contadores {@value #IS_WORD_HITS} y {@value #IS_WORD_MISSES}
+ * <li> contadores {@value #BLOOM_REJECTED} y {@value #BLOOM_FALSE_POSITIVES}: palabras
+ * que el filtro de Bloom del diccionario descarto o dejo pasar sin estar, de los que
+ * sale getBloomFalsePositiveRate
+ * <li> {@value #SIMILAR_WORDS_NAME}: candidatos devueltos por getSimilarWords
+ * <li> corrector.&lt;clase&gt;: nanosegundos por getCorrections pedido por el SpellChecker
+ * <li> {@value #LEVENSHTEIN_LSH_NAME} y {@value #LEVENSHTEIN_FALLBACK_NAME}: nanosegundos
+ * de Levenshtein segun use los candidatos del LSH o genere todas las ediciones
+ * <li> contadores {@value #TOKENS}, {@value #MISSPELLED} y {@value #CHECK_NANOS} del
+ * modo batch del SpellChecker, de los que sale getTokensPerSecond
+ * </ul>
+ */
+public final class Metrics {
+	public static final String PROPERTY = "spellchecker.metrics";
+	public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+	public static final String DOMAIN = "edu.isistan.spellchecker";
+
+	public static final String IS_WORD_NAME = "dictionary.isWord";
+	public static final String IS_WORD_HITS = "dictionary.isWord.hits";
+	public static final String IS_WORD_MISSES = "dictionary.isWord.misses";
+	/**
+	 * isWord tarda decenas de nanosegundos, del orden de lo que cuesta medirlo: solo
+	 * se mide el tiempo de una de cada IS_WORD_SAMPLING llamadas.
+	 */
+	public static final int IS_WORD_SAMPLING = 64;
+	public static final String BLOOM_REJECTED = "dictionary.bloom.rejected";
+	public static final String BLOOM_FALSE_POSITIVES = "dictionary.bloom.falsePositives";
+	public static final String SIMILAR_WORDS_NAME = "dictionary.similarWords.candidates";
+	public static final String LEVENSHTEIN_LSH_NAME = "levenshtein.lsh";
+	public static final String LEVENSHTEIN_FALLBACK_NAME = "levenshtein.fallback";
+	public static final String TOKENS = "spellchecker.tokens";
+	public static final String MISSPELLED = "spellchecker.misspelled";
+	public static final String CHECK_NANOS = "spellchecker.nanos";
+
+	private static final ConcurrentMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+	private static final ClassValue<Histogram> CORRECTORS = new ClassValue<Histogram>() {
+		@Override
+		protected Histogram computeValue(Class<?> type) {
+			return histogram("corrector." + type.getSimpleName());
+		}
+	};
+
+	private static volatile boolean published;
+
+	static {
+		if (ENABLED) {
+			registerMBeans();
+		}
+	}
+
+	public static final Histogram IS_WORD = histogram(IS_WORD_NAME);
+	public static final LongAdder IS_WORD_HIT_COUNT = counter(IS_WORD_HITS);
+	public static final LongAdder IS_WORD_MISS_COUNT = counter(IS_WORD_MISSES);
+	public static final LongAdder BLOOM_REJECTED_COUNT = counter(BLOOM_REJECTED);
+	public static final LongAdder BLOOM_FALSE_POSITIVE_COUNT = counter(BLOOM_FALSE_POSITIVES);
+	public static final Histogram SIMILAR_WORDS = histogram(SIMILAR_WORDS_NAME);
+	public static final Histogram LEVENSHTEIN_LSH = histogram(LEVENSHTEIN_LSH_NAME);
+	public static final Histogram LEVENSHTEIN_FALLBACK = histogram(LEVENSHTEIN_FALLBACK_NAME);
+
+	private Metrics() {
+	}
+
+	/**
+	 * @return el histograma con ese nombre; lo crea (y lo publica por JMX si ya se
+	 * llamo a registerMBeans) la primera vez
+	 */
+	public static Histogram histogram(String name) {
+		return HISTOGRAMS.computeIfAbsent(name, key -> {
+			Histogram histogram = new Histogram(key);
+			if (published) {
+				registerHistogram(histogram);
+			}
+			return histogram;
+		});
+	}
+
+	/**
+	 * @return true para una de cada IS_WORD_SAMPLING llamadas, al azar
+	 */
+	public static boolean sampleIsWord() {
+		return (ThreadLocalRandom.current().nextInt() & (IS_WORD_SAMPLING - 1)) == 0;
+	}
+
+	/**
+	 * @return el histograma de getCorrections de esa clase de corrector
+	 */
+	public static Histogram corrector(Class<?> type) {
+		return CORRECTORS.get(type);
+	}
+
+	/**
+	 * @return el contador con ese nombre; lo crea la primera vez
+	 */
+	public static LongAdder counter(String name) {
+		return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+	}
+
+	/**
+	 * @return copia de todos los histogramas y contadores
+	 */
+	public static MetricsSnapshot snapshot() {
+		Map<String, Histogram.Snapshot> histograms = new TreeMap<>();
+		for (Histogram histogram : HISTOGRAMS.values()) {
+			histograms.put(histogram.getName(), histogram.snapshot());
+		}
+		Map<String, Long> counters = new TreeMap<>();
+		for (Map.Entry<String, LongAdder> counter : COUNTERS.entrySet()) {
+			counters.put(counter.getKey(), counter.getValue().sum());
+		}
+		return new MetricsSnapshot(histograms, counters);
+	}
+
+	/**
+	 * Vuelve a cero todos los histogramas y contadores.
+	 */
+	public static void reset() {
+		for (Histogram histogram : HISTOGRAMS.values()) {
+			histogram.reset();
+		}
+		for (LongAdder counter : COUNTERS.values()) {
+			counter.reset();
+		}
+	}
+
+	/**
+	 * Publica las metricas por JMX. Se llama sola al cargar la clase si las metricas
+	 * estan activadas; llamarla de nuevo no tiene efecto.
+	 */
+	public static synchronized void registerMBeans() {
+		if (published) {
+			return;
+		}
+		published = true;
+		register("type=Metrics", new Bean());
+		for (Histogram histogram : HISTOGRAMS.values()) {
+			registerHistogram(histogram);
+		}
+	}
+
+	private static void registerHistogram(Histogram histogram) {
+		register("type=Histogram,name=" + ObjectName.quote(histogram.getName()), histogram);
+	}
+
+	private static void register(String properties, Object bean) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			server.registerMBean(bean, new ObjectName(DOMAIN + ":" + properties));
+		} catch (InstanceAlreadyExistsException e) {
+			// Otra copia de la clase (otro class loader) ya lo publico
+		} catch (JMException e) {
+			throw new IllegalStateException("No se pudo publicar " + properties, e);
+		}
+	}
+
+	private static final class Bean implements MetricsMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return ENABLED;
+		}
+
+		@Override
+		public Map<String, Long> getCounters() {
+			return snapshot().getCounters();
+		}
+
+		@Override
+		public double getTokensPerSecond() {
+			return snapshot().getTokensPerSecond();
+		}
+
+		@Override
+		public String getReport() {
+			return snapshot().toString();
+		}
+
+		@Override
+		public void reset() {
+			Metrics.reset();
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package edu.isistan.spellchecker.metrics;
+
+import java.util.Map;
+
+/**
+ * Vista JMX del conjunto de metricas. Cada histograma se publica ademas como un
+ * HistogramMXBean propio.
+ */
+public interface MetricsMXBean {
+
+	boolean isEnabled();
+
+	Map<String, Long> getCounters();
+
+	double getTokensPerSecond();
+
+	/**
+	 * @return una linea por contador y por histograma
+	 */
+	String getReport();
+
+	void reset();
+}
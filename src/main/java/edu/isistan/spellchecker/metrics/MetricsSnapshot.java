@@ -0,0 +1,74 @@
+package edu.isistan.spellchecker.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Copia inmutable de las metricas, ordenadas por nombre.
+ *
+ * @see Metrics#snapshot()
+ */
+public final class MetricsSnapshot {
+	private final Map<String, Histogram.Snapshot> histograms;
+	private final Map<String, Long> counters;
+
+	MetricsSnapshot(Map<String, Histogram.Snapshot> histograms, Map<String, Long> counters) {
+		this.histograms = Collections.unmodifiableMap(histograms);
+		this.counters = Collections.unmodifiableMap(counters);
+	}
+
+	public Map<String, Histogram.Snapshot> getHistograms() {
+		return this.histograms;
+	}
+
+	/**
+	 * @return el histograma con ese nombre, o null si nunca se creo
+	 */
+	public Histogram.Snapshot getHistogram(String name) {
+		return this.histograms.get(name);
+	}
+
+	public Map<String, Long> getCounters() {
+		return this.counters;
+	}
+
+	/**
+	 * @return el valor del contador, 0 si nunca se creo
+	 */
+	public long getCounter(String name) {
+		return this.counters.getOrDefault(name, 0L);
+	}
+
+	/**
+	 * @return tokens por segundo del modo batch del SpellChecker, contando solo el
+	 * tiempo que se paso chequeando documentos; 0 si no se chequeo ninguno
+	 */
+	public double getTokensPerSecond() {
+		long nanos = this.getCounter(Metrics.CHECK_NANOS);
+		return nanos == 0 ? 0 : this.getCounter(Metrics.TOKENS) * 1e9 / nanos;
+	}
+
+	/**
+	 * @return fraccion de las palabras ausentes que el filtro de Bloom del
+	 * diccionario dejo pasar; 0 si no descarto ni dejo pasar ninguna
+	 */
+	public double getBloomFalsePositiveRate() {
+		long falsePositives = this.getCounter(Metrics.BLOOM_FALSE_POSITIVES);
+		long absent = falsePositives + this.getCounter(Metrics.BLOOM_REJECTED);
+		return absent == 0 ? 0 : (double) falsePositives / absent;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder report = new StringBuilder();
+		for (Map.Entry<String, Long> counter : this.counters.entrySet()) {
+			report.append(counter.getKey()).append(' ').append(counter.getValue()).append('\n');
+		}
+		report.append(String.format("spellchecker.tokensPerSecond %.1f%n", this.getTokensPerSecond()));
+		report.append(String.format("dictionary.bloom.falsePositiveRate %.4f%n", this.getBloomFalsePositiveRate()));
+		for (Histogram.Snapshot histogram : this.histograms.values()) {
+			report.append(histogram).append('\n');
+		}
+		return report.toString();
+	}
+}
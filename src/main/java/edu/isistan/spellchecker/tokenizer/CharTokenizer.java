@@ -0,0 +1,185 @@
+package edu.isistan.spellchecker.tokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Tokenizer de bajo costo sobre una ventana de caracteres reutilizable.
+ * <p>
+ * Separa la entrada en los mismos tokens que el TokenScanner (secuencias maximas
+ * de caracteres de palabra o de caracteres que no lo son) pero no crea objetos por
+ * token: despues de cada llamada a advance() el token actual es el rango
+ * [getStart(), getStart() + getLength()) de getBuffer(). Los Strings se crean solo
+ * si se piden con getTokenString().
+ * <p>
+ * El token actual (y la vista de getToken()) es valido hasta la siguiente llamada
+ * a advance().
+ */
+public class CharTokenizer {
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private final Reader reader;
+  private final TokenView view = new TokenView();
+  private char[] buffer;
+  private int position;
+  private int limit;
+  private int start;
+  private int length;
+  private boolean word;
+  private boolean endOfStream;
+
+  /**
+   * @param in fuente de entrada
+   * @throws IllegalArgumentException si el Reader provisto es null
+   */
+  public CharTokenizer(Reader in) {
+    this(in, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param in fuente de entrada
+   * @param bufferSize tamano inicial de la ventana; crece si un token no entra
+   * @throws IllegalArgumentException si el Reader provisto es null
+   */
+  public CharTokenizer(Reader in, int bufferSize) {
+    if (in == null) {
+      throw new IllegalArgumentException("El Reader provisto es null");
+    }
+    this.reader = in;
+    this.buffer = new char[Math.max(1, bufferSize)];
+  }
+
+  /**
+   * Avanza al siguiente token.
+   *
+   * @return false si se alcanzo el final del stream
+   * @throws IOException si hay algun error leyendo.
+   */
+  public boolean advance() throws IOException {
+    if (this.position == this.limit && !this.fill()) {
+      this.length = 0;
+      return false;
+    }
+    this.word = TokenScanner.isWordCharacter(this.buffer[this.position]);
+    int end = this.position + 1;
+    while (true) {
+      while (end < this.limit && TokenScanner.isWordCharacter(this.buffer[end]) == this.word) {
+        end++;
+      }
+      if (end < this.limit || this.endOfStream) {
+        break;
+      }
+      int consumed = end - this.position;
+      if (!this.fill()) {
+        end = this.position + consumed;
+        break;
+      }
+      end = this.position + consumed;
+    }
+    this.start = this.position;
+    this.length = end - this.position;
+    this.position = end;
+    return true;
+  }
+
+  /**
+   * Lee mas caracteres a la ventana, conservando los del token en curso
+   * (desde position). La ventana crece si el token ocupa todo el buffer.
+   *
+   * @return false si no se pudo leer nada mas
+   */
+  private boolean fill() throws IOException {
+    if (this.endOfStream) {
+      return false;
+    }
+    int pending = this.limit - this.position;
+    if (this.position > 0) {
+      System.arraycopy(this.buffer, this.position, this.buffer, 0, pending);
+    } else if (pending == this.buffer.length) {
+      char[] larger = new char[this.buffer.length * 2];
+      System.arraycopy(this.buffer, 0, larger, 0, pending);
+      this.buffer = larger;
+    }
+    this.position = 0;
+    this.limit = pending;
+    int read;
+    do {
+      read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+    } while (read == 0);
+    if (read < 0) {
+      this.endOfStream = true;
+      return false;
+    }
+    this.limit += read;
+    return true;
+  }
+
+  /**
+   * @return el buffer que contiene el token actual
+   */
+  public char[] getBuffer() {
+    return this.buffer;
+  }
+
+  public int getStart() {
+    return this.start;
+  }
+
+  public int getLength() {
+    return this.length;
+  }
+
+  /**
+   * @return true si el token actual es una palabra (ver TokenScanner.isWord)
+   */
+  public boolean isWord() {
+    return this.word;
+  }
+
+  /**
+   * @return vista del token actual sin copiarlo. Se reutiliza entre tokens.
+   */
+  public CharSequence getToken() {
+    return this.view;
+  }
+
+  /**
+   * @return una copia del token actual
+   */
+  public String getTokenString() {
+    return new String(this.buffer, this.start, this.length);
+  }
+
+  /**
+   * Escribe el token actual sin crear un String.
+   */
+  public void writeTo(Writer out) throws IOException {
+    out.write(this.buffer, this.start, this.length);
+  }
+
+  private class TokenView implements CharSequence {
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= length) {
+        throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+      }
+      return buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      return this.toString().substring(from, to);
+    }
+
+    @Override
+    public String toString() {
+      return getTokenString();
+    }
+  }
+}
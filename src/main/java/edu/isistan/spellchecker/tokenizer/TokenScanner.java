@@ -1,6 +1,5 @@
 package edu.isistan.spellchecker.tokenizer;
 
-import java.io.BufferedReader;
 import java.util.*;
 import java.io.IOException;
 
@@ -8,9 +7,8 @@ import java.io.IOException;
  * Dado un archivo provee un m�todo para recorrerlo.
  */
 public class TokenScanner implements Iterator<String> {
-  private final BufferedReader reader;
-  private final List<String> tokens;
-  private static final int TOKENS_SIZE = 2000;
+  private final CharTokenizer tokenizer;
+  private String nextToken;
 
   /**
    * Crea un TokenScanner.
@@ -19,6 +17,8 @@ public class TokenScanner implements Iterator<String> {
    * necesario para implementar los m�todos next() y hasNext(). 
    * No se debe leer toda la entrada de una.
    * <p>
+   * Los tokens se obtienen de un CharTokenizer, que lee la entrada por ventanas
+   * y solo crea el String del token que se retorna.
    *
    * @param in fuente de entrada
    * @throws IOException si hay alg�n error leyendo.
@@ -28,62 +28,7 @@ public class TokenScanner implements Iterator<String> {
     if (in == null) {
       throw new IllegalArgumentException("El Reader provisto es null");
     }
-    this.tokens = new LinkedList<>();
-    this.reader = new BufferedReader(in);
-    this.readInput();
-  }
-
-  /**
-   * Lee BUFFER_SIZE caracteres del reader y se agregan los tokens
-   * palabra y no-palabra
-   * @throws IOException si hay un error al leer la entrada
-   */
-  private void readInput() throws IOException {
-    int tokensAdded = 0;
-    int character;
-    StringBuilder wordToken = new StringBuilder();
-    StringBuilder nonWordToken = new StringBuilder();
-    while (tokensAdded <= TOKENS_SIZE && (character = this.reader.read()) != -1) {
-      if (isWordCharacter(character)) {
-        tokensAdded = checkTokenTypeChange(nonWordToken, this.tokens, tokensAdded);
-        wordToken.append((char) character);
-      } else {
-        tokensAdded = checkTokenTypeChange(wordToken, this.tokens, tokensAdded);
-        nonWordToken.append((char) character);
-      }
-    }
-    checkUnprocessedToken(wordToken, this.reader, this.tokens, TokenScanner::isWordCharacter);
-    checkUnprocessedToken(nonWordToken, this.reader, this.tokens, c -> !isWordCharacter(c));
-  }
-
-  private void checkUnprocessedToken(StringBuilder stringBuilder, BufferedReader reader, List<String> tokens, Condition condition) throws IOException {
-    int character;
-    if (!stringBuilder.isEmpty()) {
-      boolean endToken = false;
-      reader.mark(0);
-      while (!endToken && (character = reader.read()) != -1) {
-        if (condition.check(character)) {
-          stringBuilder.append((char) character);
-        } else {
-          endToken = true;
-          reader.reset();
-        }
-      }
-      tokens.add(stringBuilder.toString());
-    }
-  }
-
-  private int checkTokenTypeChange(StringBuilder stringBuilder, List<String> tokens, int tokensAdded) {
-    if (!stringBuilder.isEmpty()) {
-      tokens.add(stringBuilder.toString());
-      stringBuilder.setLength(0);
-      return tokensAdded + 1;
-    }
-    return tokensAdded;
-  }
-
-  private interface Condition {
-    boolean check(int c);
+    this.tokenizer = new CharTokenizer(in);
   }
 
   /**
@@ -124,18 +69,16 @@ public class TokenScanner implements Iterator<String> {
    * Determina si hay otro token en el reader.
    */
   public boolean hasNext() {
-    this.checkRemainingLines();
-    return !this.tokens.isEmpty();
-  }
-
-  private void checkRemainingLines() {
-    if (this.tokens.isEmpty()) {
+    if (this.nextToken == null) {
       try {
-        this.readInput();
+        if (this.tokenizer.advance()) {
+          this.nextToken = this.tokenizer.getTokenString();
+        }
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
     }
+    return this.nextToken != null;
   }
 
   /**
@@ -147,7 +90,9 @@ public class TokenScanner implements Iterator<String> {
     if (!this.hasNext()) {
       throw new NoSuchElementException("Se alcanzo el final del stream");
     }
-    return this.tokens.remove(0);
+    String token = this.nextToken;
+    this.nextToken = null;
+    return token;
   }
 
 }
@@ -0,0 +1,125 @@
+package edu.isistan.spellchecker;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.CompositeCorrector;
+import edu.isistan.spellchecker.corrector.impl.FileCorrector;
+import edu.isistan.spellchecker.corrector.impl.TrieLevenshtein;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SpellCheckerBatchTest {
+    private SpellChecker spellChecker;
+
+    @Before
+    public void setUp() throws IOException, FileCorrector.FormatException {
+        Dictionary dict = Dictionary.make("theFoxDictionary.txt");
+        Corrector corr = FileCorrector.make("theFoxMisspellings.txt");
+        spellChecker = new SpellChecker(corr, dict);
+    }
+
+    private String check(CorrectionPolicy policy) throws IOException {
+        StringWriter out = new StringWriter();
+        try (Reader in = new BufferedReader(new FileReader("theFox.txt"))) {
+            spellChecker.checkDocument(in, out, policy);
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testTopSuggestion() throws IOException {
+        assertEquals("The quick 45 brown Fox jumped over $ the lazy Doggs.",
+                check(CorrectionPolicy.TOP_SUGGESTION));
+    }
+
+    @Test
+    public void testKeepOriginal() throws IOException {
+        assertEquals("Tghe qiuck 45 brown Fox jumped over $ tje lazy Doggs.",
+                check(CorrectionPolicy.KEEP_ORIGINAL));
+    }
+
+    @Test
+    public void testMark() throws IOException {
+        assertEquals("[Tghe|The] [qiuck|quick] 45 [brown] Fox jumped over $ [tje|the] lazy [Doggs].",
+                check(CorrectionPolicy.MARK));
+    }
+
+    @Test
+    public void testForName() {
+        assertEquals(CorrectionPolicy.TOP_SUGGESTION, CorrectionPolicy.forName("TOP"));
+        assertEquals(CorrectionPolicy.KEEP_ORIGINAL, CorrectionPolicy.forName("KEEP"));
+        assertEquals(CorrectionPolicy.MARK, CorrectionPolicy.forName("MARK"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPolicy() {
+        CorrectionPolicy.forName("ASK");
+    }
+
+    @Test
+    public void testChainedCorrector() throws IOException, FileCorrector.FormatException {
+        Dictionary dict = Dictionary.make("theFoxDictionary.txt");
+        Corrector chain = SpellCheckerRunner.makeCorrector(
+                "theFoxMisspellings.txt" + File.pathSeparator + "SWAP" + File.pathSeparator + "LEV", dict);
+        assertTrue(chain instanceof CompositeCorrector);
+        assertEquals(3, ((CompositeCorrector) chain).getCorrectors().size());
+    }
+
+    @Test
+    public void testTrieLevenshteinCorrector() throws IOException, FileCorrector.FormatException {
+        Dictionary dict = Dictionary.make("theFoxDictionary.txt");
+        Corrector one = SpellCheckerRunner.makeCorrector("TRIE_LEV", dict);
+        Corrector two = SpellCheckerRunner.makeCorrector("TRIE_LEV=2", dict);
+        assertTrue(one instanceof TrieLevenshtein);
+        assertTrue(one.getCorrections("qiuk").isEmpty());
+        assertTrue(two.getCorrections("qiuk").contains("quick"));
+        try {
+            SpellCheckerRunner.makeCorrector("TRIE_LEV=x", dict);
+            fail("Expected an IllegalArgumentException - bad distance.");
+        } catch (IllegalArgumentException ex) {
+            //Do nothing - its supposed to throw an exception!
+        }
+    }
+
+    @Test
+    public void testFrequenciesProperty() throws IOException {
+        Dictionary dict = Dictionary.make("theFoxDictionary.txt");
+        SpellCheckerRunner.loadWordFrequencies(dict);
+        assertEquals(0, dict.getFrequency("fox"));
+        Path file = Files.createTempFile("frequencies", ".txt");
+        Files.write(file, Arrays.asList("fox 7", "the 40"));
+        System.setProperty(SpellCheckerRunner.FREQUENCIES_PROPERTY, file.toString());
+        try {
+            SpellCheckerRunner.loadWordFrequencies(dict);
+            assertEquals(7, dict.getFrequency("Fox"));
+            assertEquals(40, dict.getFrequency("the"));
+        } finally {
+            System.clearProperty(SpellCheckerRunner.FREQUENCIES_PROPERTY);
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileCorrectorPathWithSeparators() throws IOException, FileCorrector.FormatException {
+        Dictionary dict = Dictionary.make("theFoxDictionary.txt");
+        Path dir = Files.createTempDirectory("corrector");
+        Path file = dir.resolve("mis,spellings" + File.pathSeparator + "fox.txt");
+        Files.copy(Paths.get("theFoxMisspellings.txt"), file);
+        try {
+            assertTrue(SpellCheckerRunner.makeCorrector(file.toString(), dict) instanceof FileCorrector);
+        } finally {
+            Files.delete(file);
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package edu.isistan.spellchecker;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpellCheckerParallelTest {
+    private static SpellChecker spellChecker;
+    private static ForkJoinPool pool;
+    private static String document;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Dictionary dict = Dictionary.make("dictionary.txt");
+        spellChecker = new SpellChecker(new SwapCorrector(dict), dict);
+        pool = new ForkJoinPool(4);
+        String gettysburg = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), "ISO-8859-1");
+        StringBuilder builder = new StringBuilder();
+        for (int copy = 0; copy < 20; copy++) {
+            builder.append(gettysburg).append(copy).append(" Teh nto it's 'quoted' wiht\r\n");
+        }
+        document = builder.toString();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    private String checkSequential() throws IOException {
+        StringWriter out = new StringWriter();
+        spellChecker.checkDocument(new StringReader(document), out, CorrectionPolicy.MARK);
+        return out.toString();
+    }
+
+    private String checkParallel(int chunkSize) throws IOException {
+        StringWriter out = new StringWriter();
+        spellChecker.checkDocument(new StringReader(document), out, CorrectionPolicy.MARK, pool, chunkSize);
+        return out.toString();
+    }
+
+    @Test
+    public void testSameOutputAsSequential() throws IOException {
+        String expected = checkSequential();
+        for (int chunkSize : new int[]{1, 7, 64, 1000, 1 << 20}) {
+            assertEquals("chunk size " + chunkSize, expected, checkParallel(chunkSize));
+        }
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        StringWriter out = new StringWriter();
+        spellChecker.checkDocument(new StringReader(""), out, CorrectionPolicy.TOP_SUGGESTION, pool);
+        assertEquals("", out.toString());
+    }
+}
@@ -0,0 +1,130 @@
+package edu.isistan.spellchecker;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class SpellCheckerServerTest {
+    private static Dictionary dict;
+    private static SpellCheckerServer server;
+    private static HttpClient client;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        dict = Dictionary.make("smallDictionary.txt");
+        server = new SpellCheckerServer(new Levenshtein(dict), dict, 0);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.close();
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+    }
+
+    @Test
+    public void testSuggest() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(request("/suggest?word=banan&limit=1"));
+        assertEquals(200, response.statusCode());
+        assertEquals("false", response.headers().firstValue(SpellCheckerServer.CORRECT_HEADER).get());
+        assertEquals("banana\n", response.body());
+        response = send(request("/suggest?word=apple"));
+        assertEquals("true", response.headers().firstValue(SpellCheckerServer.CORRECT_HEADER).get());
+        assertEquals("", response.body());
+    }
+
+    @Test
+    public void testCheckMatchesBatchMode() throws IOException, InterruptedException {
+        String document = "Appel is a fruit.\nPlum and banan are \u00e1lso fruits!";
+        StringWriter expected = new StringWriter();
+        new SpellChecker(new Levenshtein(dict), dict)
+                .checkDocument(new StringReader(document), expected, CorrectionPolicy.MARK);
+        HttpResponse<String> response = send(request("/check?policy=MARK")
+                .POST(HttpRequest.BodyPublishers.ofString(document, StandardCharsets.UTF_8)));
+        assertEquals(200, response.statusCode());
+        assertEquals(expected.toString(), response.body());
+    }
+
+    @Test
+    public void testBadRequests() throws IOException, InterruptedException {
+        assertEquals(400, send(request("/suggest")).statusCode());
+        assertEquals(400, send(request("/suggest?word=appel&limit=x")).statusCode());
+        assertEquals(400, send(request("/suggest?word=appel&limit=0")).statusCode());
+        assertEquals(400, send(request("/check?policy=NONE")
+                .POST(HttpRequest.BodyPublishers.ofString("appel"))).statusCode());
+        assertEquals(405, send(request("/check")).statusCode());
+        assertEquals(404, send(request("/other")).statusCode());
+    }
+
+    @Test
+    public void testNonWordIsBadRequest() throws IOException, InterruptedException {
+        try (SpellCheckerServer swap = new SpellCheckerServer(new SwapCorrector(dict), dict, 0)) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + swap.getPort() + "/suggest?word=abc1")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, response.statusCode());
+        }
+    }
+
+    @Test
+    public void testKeepAliveAfterEmptyResponse() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            for (int index = 0; index < 50; index++) {
+                out.write("GET /suggest?word=apple HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                String status = in.readLine();
+                assertNotNull("connection closed after " + index + " responses", status);
+                assertEquals("HTTP/1.1 200 OK", status);
+                String header;
+                do {
+                    header = in.readLine();
+                    assertNotNull(header);
+                } while (!header.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentRequests() {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int index = 0; index < 200; index++) {
+            responses.add(client.sendAsync(request("/suggest?word=banan&limit=1").build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals("banana\n", response.join().body());
+        }
+    }
+}
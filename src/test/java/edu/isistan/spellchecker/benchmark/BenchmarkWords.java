@@ -0,0 +1,151 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.WordList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Datos compartidos por los benchmarks: palabras del diccionario, subconjuntos de
+ * un tamano dado y errores de una edicion, todos generados con semilla fija para
+ * que las corridas sean comparables.
+ */
+final class BenchmarkWords {
+    static final long SEED = 42;
+    private static final char[] LETTERS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private BenchmarkWords() {
+    }
+
+    /**
+     * @return las palabras distintas del archivo, en orden alfabetico
+     */
+    static List<String> load(String filename) throws IOException {
+        List<String> words = new ArrayList<>(new HashSet<>(toList(WordList.load(filename))));
+        words.sort(null);
+        return words;
+    }
+
+    static List<String> toList(Iterable<String> words) {
+        List<String> list = new ArrayList<>();
+        for (String word : words) {
+            list.add(word);
+        }
+        return list;
+    }
+
+    /**
+     * @return size palabras elegidas al azar (todas si size no es menor), en orden alfabetico
+     */
+    static List<String> sample(List<String> words, int size) {
+        if (size >= words.size()) {
+            return words;
+        }
+        List<String> sample = new ArrayList<>(words);
+        Collections.shuffle(sample, new Random(SEED));
+        sample = new ArrayList<>(sample.subList(0, size));
+        sample.sort(null);
+        return sample;
+    }
+
+    /**
+     * Escribe las palabras en un archivo temporal y lo lee con WordList.load, que es
+     * lo que reciben los constructores de los diccionarios.
+     */
+    static WordList toWordList(List<String> words) throws IOException {
+        Path file = Files.createTempFile("benchmark", ".txt");
+        try {
+            Files.write(file, words, StandardCharsets.UTF_8);
+            return WordList.load(file.toString());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * @return count palabras con mayusculas y minusculas mezcladas, todas en el diccionario
+     */
+    static String[] hits(List<String> words, int count) {
+        Random random = new Random(SEED);
+        String[] hits = new String[count];
+        for (int index = 0; index < count; index++) {
+            String word = words.get(random.nextInt(words.size()));
+            hits[index] = index % 2 == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+        return hits;
+    }
+
+    /**
+     * @param length largo de las palabras originales, o 0 para cualquier largo
+     * @return count errores de una edicion que no estan en el diccionario
+     */
+    static String[] misspellings(List<String> words, int count, int length) {
+        return misspellings(words, count, length, new String[count]);
+    }
+
+    /**
+     * @param originals se llena con la palabra de la que sale cada error
+     */
+    static String[] misspellings(List<String> words, int count, int length, String[] originals) {
+        Set<String> known = new HashSet<>(words);
+        List<String> candidates = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() >= 2 && (length == 0 || word.length() == length) && word.indexOf('\'') < 0) {
+                candidates.add(word);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No hay palabras de largo " + length);
+        }
+        Random random = new Random(SEED);
+        String[] misspellings = new String[count];
+        int index = 0;
+        for (int attempt = 0; index < count && attempt < count * 100; attempt++) {
+            String original = candidates.get(random.nextInt(candidates.size()));
+            String misspelling = misspell(original, random);
+            if (!known.contains(misspelling)) {
+                originals[index] = original;
+                misspellings[index++] = misspelling;
+            }
+        }
+        if (index < count) {
+            throw new IllegalArgumentException("No se pudieron generar " + count + " errores de largo " + length);
+        }
+        return misspellings;
+    }
+
+    /**
+     * @return la palabra con una edicion al azar: borrar, insertar, reemplazar o
+     * transponer una letra
+     */
+    static String misspell(String word, Random random) {
+        StringBuilder builder = new StringBuilder(word);
+        int position = random.nextInt(word.length());
+        switch (random.nextInt(4)) {
+            case 0:
+                builder.deleteCharAt(position);
+                break;
+            case 1:
+                builder.insert(position, LETTERS[random.nextInt(LETTERS.length)]);
+                break;
+            case 2:
+                builder.setCharAt(position, LETTERS[random.nextInt(LETTERS.length)]);
+                break;
+            default:
+                if (position + 1 < word.length()) {
+                    builder.setCharAt(position, word.charAt(position + 1));
+                    builder.setCharAt(position + 1, word.charAt(position));
+                }
+                break;
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.corrector.impl.FileCorrector;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import edu.isistan.spellchecker.corrector.impl.SymmetricDeleteCorrector;
+import edu.isistan.spellchecker.corrector.impl.TrieLevenshtein;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getCorrections de cada Corrector sobre dictionary.txt, con errores de una
+ * edicion de palabras de distinto largo. Los indices (LSH, borrados simetricos) se
+ * construyen en el setup. FileCorrector se arma con la mitad de los errores, para
+ * medir tanto aciertos como palabras que no estan en el archivo.
+ * <p>
+ * Los resultados son por palabra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class CorrectorBenchmark {
+    private static final int QUERIES = 256;
+
+    @Param({"SWAP", "LEV", "TRIE_LEV", "SYMMETRIC_DELETE", "FILE"})
+    public String corrector;
+
+    @Param({"4", "7", "11"})
+    public int length;
+
+    private Corrector instance;
+    private String[] queries;
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileCorrector.FormatException {
+        List<String> words = BenchmarkWords.load("dictionary.txt");
+        String[] originals = new String[QUERIES];
+        this.queries = BenchmarkWords.misspellings(words, QUERIES, this.length, originals);
+        this.instance = this.make(BenchmarkWords.toWordList(words), originals);
+    }
+
+    private Corrector make(WordList words, String[] originals)
+            throws IOException, FileCorrector.FormatException {
+        Dictionary dict;
+        switch (this.corrector) {
+            case "SWAP":
+                dict = new Dictionary(words);
+                dict.buildSimilarityIndex();
+                return new SwapCorrector(dict);
+            case "LEV":
+                dict = new Dictionary(words);
+                dict.buildSimilarityIndex();
+                return new Levenshtein(dict);
+            case "TRIE_LEV":
+                return new TrieLevenshtein(new DictionaryDawg(words));
+            case "SYMMETRIC_DELETE":
+                return new SymmetricDeleteCorrector(new DictionaryDawg(words));
+            case "FILE":
+                StringBuilder misspellings = new StringBuilder();
+                for (int index = 0; index < QUERIES; index += 2) {
+                    misspellings.append(this.queries[index]).append(',').append(originals[index]).append('\n');
+                }
+                return new FileCorrector(new StringReader(misspellings.toString()));
+            default:
+                throw new IllegalArgumentException("Corrector desconocido: " + this.corrector);
+        }
+    }
+
+    @Benchmark
+    public Object getCorrections() {
+        this.queryIndex = (this.queryIndex + 1) % QUERIES;
+        return this.instance.getCorrections(this.queries[this.queryIndex]);
+    }
+}
@@ -0,0 +1,58 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.WordList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construccion de cada Dictionary a partir de un WordList ya leido, sin y con el
+ * indice LSH (que se construye aparte, al primer getSimilarWords). El archivo se
+ * lee una vez en el setup, por lo que no se mide I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DictionaryBuildBenchmark {
+
+    @Param({"Dictionary", "DictionaryTrie", "DictionaryPackedTrie", "DictionaryDawg"})
+    public String backend;
+
+    @Param({"1000", "10000", "60822"})
+    public int size;
+
+    private WordList words;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.words = BenchmarkWords.toWordList(BenchmarkWords.sample(BenchmarkWords.load("dictionary.txt"), this.size));
+    }
+
+    @Benchmark
+    public Dictionary build() {
+        return DictionaryLookupBenchmark.make(this.backend, this.words);
+    }
+
+    @Benchmark
+    public Dictionary buildWithSimilarityIndex() {
+        Dictionary dictionary = DictionaryLookupBenchmark.make(this.backend, this.words);
+        dictionary.buildSimilarityIndex();
+        return dictionary;
+    }
+}
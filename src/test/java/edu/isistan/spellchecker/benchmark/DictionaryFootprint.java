@@ -0,0 +1,180 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.BloomFilter;
+import edu.isistan.spellchecker.corrector.Dawg;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.DictionaryPackedTrie;
+import edu.isistan.spellchecker.corrector.DictionaryTrie;
+import edu.isistan.spellchecker.corrector.PackedTrie;
+import edu.isistan.spellchecker.corrector.Trie;
+import edu.isistan.spellchecker.corrector.impl.SymmetricDeleteCorrector;
+import edu.isistan.spellchecker.lsh.MinHash;
+import edu.isistan.spellchecker.lsh.MinHashLSH;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.NGram;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Compara el heap retenido por cada implementacion de diccionario.
+ * <p>
+ * Se mide dos veces: la estructura de pertenencia sola (HashSet, Trie,
+ * PackedTrie, Dawg) y el Dictionary completo, que ademas incluye el indice LSH.
+ * Tambien se mide el filtro de Bloom opcional, con su tasa de falsos positivos.
+ * <p>
+ * Uso: <code>java DictionaryFootprint [dictionary]</code> (por defecto dictionary.txt)
+ */
+public class DictionaryFootprint {
+    private static Object retained;
+
+    public static void main(String[] args) throws Exception {
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        List<String> words = readWords(filename);
+        System.out.printf("%s: %d tokens%n%n", filename, words.size());
+
+        System.out.println("Estructura de pertenencia:");
+        report("HashSet<String>", () -> {
+            // Copias de los String para que su heap cuente en el HashSet.
+            Set<String> set = new HashSet<>();
+            for (String word : words) {
+                set.add(new String(word));
+            }
+            return set;
+        });
+        report("Trie", () -> {
+            Trie trie = new Trie();
+            for (String word : words) {
+                trie.addWord(word);
+            }
+            return trie;
+        });
+        report("PackedTrie", () -> new PackedTrie(words));
+        report("Dawg", () -> {
+            List<String> sorted = new ArrayList<>(words);
+            Collections.sort(sorted);
+            Dawg.Builder builder = new Dawg.Builder();
+            for (String word : sorted) {
+                builder.add(word);
+            }
+            return builder.build();
+        });
+
+        System.out.println();
+        System.out.println("Dictionary sin indice LSH (antes del primer getSimilarWords):");
+        report("Dictionary", () -> Dictionary.make(filename));
+        report("DictionaryTrie", () -> DictionaryTrie.make(filename));
+        report("DictionaryPackedTrie", () -> DictionaryPackedTrie.make(filename));
+        report("DictionaryDawg", () -> DictionaryDawg.make(filename));
+
+        System.out.println();
+        System.out.println("Dictionary completo (incluye LSH):");
+        report("Dictionary", () -> withIndex(Dictionary.make(filename)));
+        report("DictionaryTrie", () -> withIndex(DictionaryTrie.make(filename)));
+        report("DictionaryPackedTrie", () -> withIndex(DictionaryPackedTrie.make(filename)));
+        report("DictionaryDawg", () -> withIndex(DictionaryDawg.make(filename)));
+
+        System.out.println();
+        System.out.println("Indices LSH (solo las tablas, 4 bandas x 16 filas):");
+        report("MinHashLSH", () -> {
+            MinHashLSH lsh = new MinHashLSH();
+            for (String word : words) {
+                MinHash minHash = new MinHash(64);
+                for (String ngram : NGram.ngrams(1, word)) {
+                    minHash.update(ngram);
+                }
+                lsh.insert(word, minHash);
+            }
+            return lsh;
+        });
+        report("PackedMinHashLSH", () -> {
+            MinHasher hasher = MinHasher.forPermutations(64);
+            int[] signature = new int[64];
+            PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder();
+            for (int id = 0; id < words.size(); id++) {
+                hasher.signature(words.get(id), 1, signature);
+                builder.add(id, signature);
+            }
+            return builder.build();
+        });
+
+        System.out.println();
+        System.out.println("Filtro de Bloom (ver Dictionary.buildBloomFilter):");
+        report("BloomFilter", () -> BloomFilter.of(new HashSet<>(words)));
+
+        System.out.println();
+        System.out.println("Indices de correccion (sin el diccionario):");
+        Dictionary dawg = DictionaryDawg.make(filename);
+        report("SymmetricDelete d=1", () -> new SymmetricDeleteCorrector(dawg, 1));
+        report("SymmetricDelete d=2", () -> new SymmetricDeleteCorrector(dawg, 2));
+    }
+
+    private static Dictionary withIndex(Dictionary dictionary) {
+        dictionary.buildSimilarityIndex();
+        return dictionary;
+    }
+
+    static List<String> readWords(String filename) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (Reader reader = new FileReader(filename)) {
+            TokenScanner scanner = new TokenScanner(reader);
+            while (scanner.hasNext()) {
+                String token = scanner.next().toLowerCase();
+                if (TokenScanner.isWord(token)) {
+                    words.add(token);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static void report(String name, Callable<Object> factory) throws Exception {
+        long before = usedHeap();
+        Object structure = factory.call();
+        retained = structure;
+        long after = usedHeap();
+        String detail = "";
+        if (structure instanceof Set) {
+            detail = ((Set<?>) structure).size() + " palabras";
+        } else if (structure instanceof PackedTrie) {
+            detail = ((PackedTrie) structure).getNodeCount() + " nodos";
+        } else if (structure instanceof Dawg) {
+            Dawg dawg = (Dawg) structure;
+            detail = dawg.getNodeCount() + " nodos, " + dawg.getEdgeCount() + " aristas";
+        } else if (structure instanceof SymmetricDeleteCorrector) {
+            SymmetricDeleteCorrector index = (SymmetricDeleteCorrector) structure;
+            detail = index.getIndexKeys() + " variantes, " + index.getIndexPostings() + " ids";
+        } else if (structure instanceof PackedMinHashLSH) {
+            detail = ((PackedMinHashLSH) structure).getBucketCount() + " buckets";
+        } else if (structure instanceof BloomFilter) {
+            BloomFilter filter = (BloomFilter) structure;
+            detail = String.format("%d bytes, %.2f%% falsos positivos", filter.getSizeBytes(),
+                    filter.getFalsePositiveRate() * 100);
+        } else if (structure instanceof Dictionary) {
+            detail = ((Dictionary) structure).getNumWords() + " palabras";
+        }
+        System.out.printf("  %-22s %10.1f KB  %s%n", name, (after - before) / 1024.0, detail);
+        retained = null;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,106 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.DictionaryPackedTrie;
+import edu.isistan.spellchecker.corrector.DictionaryTrie;
+import edu.isistan.spellchecker.corrector.WordList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * isWord por implementacion de Dictionary y tamano de diccionario, para palabras
+ * que estan (hit, con mayusculas mezcladas) y que no estan (miss, errores de una
+ * edicion), con y sin el filtro de Bloom de Dictionary.buildBloomFilter. Los
+ * resultados son por consulta; con el profiler gc (ver pom.xml)
+ * gc.alloc.rate.norm muestra los bytes por consulta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DictionaryLookupBenchmark {
+    static final int QUERIES = 1024;
+
+    @Param({"Dictionary", "DictionaryTrie", "DictionaryPackedTrie", "DictionaryDawg"})
+    public String backend;
+
+    @Param({"1000", "10000", "60822"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean bloom;
+
+    private Dictionary dictionary;
+    private String[] hits;
+    private String[] misses;
+    private int hitIndex;
+    private int missIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> words = BenchmarkWords.sample(BenchmarkWords.load("dictionary.txt"), this.size);
+        this.dictionary = make(this.backend, BenchmarkWords.toWordList(words));
+        if (this.bloom) {
+            this.dictionary.buildBloomFilter();
+        }
+        this.hits = BenchmarkWords.hits(words, QUERIES);
+        this.misses = BenchmarkWords.misspellings(words, QUERIES, 0);
+    }
+
+    static Dictionary make(String backend, WordList words) {
+        switch (backend) {
+            case "Dictionary":
+                return new Dictionary(words);
+            case "DictionaryTrie":
+                return new DictionaryTrie(words);
+            case "DictionaryPackedTrie":
+                return new DictionaryPackedTrie(words);
+            case "DictionaryDawg":
+                return new DictionaryDawg(words);
+            default:
+                throw new IllegalArgumentException("Diccionario desconocido: " + backend);
+        }
+    }
+
+    @Benchmark
+    public boolean isWordHit() {
+        this.hitIndex = (this.hitIndex + 1) & (QUERIES - 1);
+        return this.dictionary.isWord(this.hits[this.hitIndex]);
+    }
+
+    @Benchmark
+    public boolean isWordMiss() {
+        this.missIndex = (this.missIndex + 1) & (QUERIES - 1);
+        return this.dictionary.isWord(this.misses[this.missIndex]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int isWordMissFragment() {
+        int found = 0;
+        for (String miss : this.misses) {
+            if (this.dictionary.isWord(miss, 0, miss.length())) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,120 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.lsh.IntSet;
+import edu.isistan.spellchecker.lsh.MinHash;
+import edu.isistan.spellchecker.lsh.MinHashLSH;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insercion y consulta en MinHashLSH y PackedMinHashLSH segun la cantidad de
+ * palabras indexadas. A diferencia de {@link LshQueryBenchmark}, las consultas
+ * incluyen el calculo de la firma, que es lo que paga el corrector:
+ * <ul>
+ * <li> minHashUpdate: firma de una palabra con MinHash.update por n-grama
+ * <li> insert*: indexar todas las palabras, con las firmas ya calculadas
+ * <li> query*: firma y consulta de un error de una edicion
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LshIndexBenchmark {
+    private static final int NUMBER_OF_PERMUTATIONS = 64;
+    private static final int QUERIES = 256;
+
+    @Param({"1000", "10000", "60822"})
+    public int size;
+
+    private MinHasher hasher;
+    private List<String> words;
+    private int[][] signatures;
+    private String[] queries;
+    private MinHashLSH boxed;
+    private PackedMinHashLSH packed;
+    private final int[] signature = new int[NUMBER_OF_PERMUTATIONS];
+    private final IntSet ids = new IntSet();
+    private int queryIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.hasher = MinHasher.forPermutations(NUMBER_OF_PERMUTATIONS);
+        this.words = BenchmarkWords.sample(BenchmarkWords.load("dictionary.txt"), this.size);
+        this.signatures = new int[this.words.size()][];
+        for (int id = 0; id < this.signatures.length; id++) {
+            this.signatures[id] = new int[NUMBER_OF_PERMUTATIONS];
+            this.hasher.signature(this.words.get(id), 1, this.signatures[id]);
+        }
+        this.queries = BenchmarkWords.misspellings(this.words, QUERIES, 0);
+        this.boxed = this.insertMinHashLSH();
+        this.packed = this.insertPackedMinHashLSH();
+    }
+
+    private String nextQuery() {
+        this.queryIndex = (this.queryIndex + 1) % QUERIES;
+        return this.queries[this.queryIndex];
+    }
+
+    @Benchmark
+    public MinHash minHashUpdate() {
+        String word = this.nextQuery();
+        MinHash minHash = new MinHash(NUMBER_OF_PERMUTATIONS);
+        for (int index = 0; index < word.length(); index++) {
+            minHash.update(word.substring(index, index + 1));
+        }
+        return minHash;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MinHashLSH insertMinHashLSH() {
+        MinHashLSH lsh = new MinHashLSH();
+        for (int id = 0; id < this.signatures.length; id++) {
+            lsh.insert(this.words.get(id), this.signatures[id]);
+        }
+        return lsh;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PackedMinHashLSH insertPackedMinHashLSH() {
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder();
+        for (int id = 0; id < this.signatures.length; id++) {
+            builder.add(id, this.signatures[id]);
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public int queryMinHashLSH() {
+        this.hasher.signature(this.nextQuery(), 1, this.signature);
+        return this.boxed.query(this.signature).size();
+    }
+
+    @Benchmark
+    public int queryPackedMinHashLSH() {
+        this.hasher.signature(this.nextQuery(), 1, this.signature);
+        this.ids.clear();
+        this.packed.query(this.signature, this.ids);
+        return this.ids.size();
+    }
+}
@@ -0,0 +1,79 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.lsh.IntSet;
+import edu.isistan.spellchecker.lsh.MinHash;
+import edu.isistan.spellchecker.lsh.MinHashLSH;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de consulta de MinHashLSH (buckets de String en HashMap) contra
+ * PackedMinHashLSH (ids en arreglos), con las firmas ya calculadas para medir
+ * solo las tablas. El heap de cada indice se reporta con {@link DictionaryFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LshQueryBenchmark {
+    private MinHashLSH boxed;
+    private PackedMinHashLSH packed;
+    private MinHash[] queries;
+    private final IntSet ids = new IntSet();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MinHasher hasher = MinHasher.forPermutations(64);
+        int[] signature = new int[64];
+        this.boxed = new MinHashLSH();
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder();
+        int id = 0;
+        for (String word : WordList.load("dictionary.txt")) {
+            MinHash minHash = new MinHash(64);
+            hasher.signature(word, 1, minHash.getHashValues());
+            this.boxed.insert(word, minHash);
+            hasher.signature(word, 1, signature);
+            builder.add(id++, signature);
+        }
+        this.packed = builder.build();
+        this.queries = new MinHash[SymmetricDeleteBenchmark.MISSPELLINGS.length];
+        for (int index = 0; index < this.queries.length; index++) {
+            this.queries[index] = new MinHash(64);
+            hasher.signature(SymmetricDeleteBenchmark.MISSPELLINGS[index], 1, this.queries[index].getHashValues());
+        }
+    }
+
+    @Benchmark
+    public void minHashLSH(Blackhole bh) {
+        for (MinHash query : this.queries) {
+            bh.consume(this.boxed.query(query));
+        }
+    }
+
+    @Benchmark
+    public void packedMinHashLSH(Blackhole bh) {
+        for (MinHash query : this.queries) {
+            this.ids.clear();
+            this.packed.query(query.getHashValues(), this.ids);
+            bh.consume(this.ids.size());
+        }
+    }
+}
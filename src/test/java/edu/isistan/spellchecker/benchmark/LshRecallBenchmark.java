@@ -0,0 +1,177 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.lsh.IntSet;
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+import edu.isistan.spellchecker.lsh.ProbeSignature;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Compara configuraciones del LSH (ver LshConfig) sobre un diccionario.
+ * <p>
+ * Las consultas son errores de una edicion (borrar, insertar, reemplazar o
+ * transponer una letra) generados con semilla fija a partir de palabras del
+ * diccionario. Para cada configuracion reporta:
+ * <ul>
+ * <li> candidatos: tamano medio del conjunto que devuelve el LSH, es decir lo que
+ * el corrector tiene que filtrar despues
+ * <li> recall: fraccion de las palabras a distancia 1 de la consulta (busqueda
+ * exhaustiva sobre todo el diccionario) que estan entre los candidatos
+ * <li> original: fraccion de consultas cuya palabra original esta entre los candidatos
+ * <li> latencia: microsegundos por consulta (firma + busqueda), luego de calentar
+ * </ul>
+ * Uso: <code>java LshRecallBenchmark [dictionary] [consultas]</code>
+ */
+public class LshRecallBenchmark {
+    private static final LshConfig[] CONFIGS = {
+            LshConfig.DEFAULT,
+            new LshConfig(4, 16, LshConfig.BandHashing.MIX, 0),
+            new LshConfig(8, 8, LshConfig.BandHashing.MIX, 0),
+            new LshConfig(16, 4, LshConfig.BandHashing.MIX, 0),
+            new LshConfig(32, 2, LshConfig.BandHashing.MIX, 0),
+            new LshConfig(4, 16, LshConfig.BandHashing.SUM, 16),
+            new LshConfig(4, 16, LshConfig.BandHashing.MIX, 16),
+            new LshConfig(8, 8, LshConfig.BandHashing.MIX, 16),
+            new LshConfig(16, 4, LshConfig.BandHashing.MIX, 16),
+    };
+    private static long sink;
+
+    public static void main(String[] args) throws IOException {
+        String filename = args.length > 0 ? args[0] : "dictionary.txt";
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        List<String> words = BenchmarkWords.load(filename);
+        Set<String> known = new HashSet<>(words);
+        List<String> queries = new ArrayList<>();
+        List<String> originals = new ArrayList<>();
+        Random random = new Random(42);
+        while (queries.size() < queryCount) {
+            String word = words.get(random.nextInt(words.size()));
+            String query = BenchmarkWords.misspell(word, random);
+            if (word.length() >= 3 && !known.contains(query)) {
+                queries.add(query);
+                originals.add(word);
+            }
+        }
+        List<Set<String>> expected = new ArrayList<>();
+        for (String query : queries) {
+            Set<String> close = new HashSet<>();
+            for (String word : words) {
+                if (withinOneEdit(query, word)) {
+                    close.add(word);
+                }
+            }
+            expected.add(close);
+        }
+        System.out.printf("%s: %d palabras, %d consultas, MinHasher vectorizado: %b%n%n", filename, words.size(),
+                queries.size(), MinHasher.forPermutations(64).isVectorized());
+        System.out.printf("%-22s %10s %8s %9s %10s%n", "configuracion", "candidatos", "recall", "original",
+                "us/consulta");
+        for (LshConfig config : CONFIGS) {
+            report(config, words, queries, originals, expected);
+        }
+    }
+
+    private static void report(LshConfig config, List<String> words, List<String> queries, List<String> originals,
+            List<Set<String>> expected) {
+        MinHasher hasher = MinHasher.forPermutations(config.getPermutations());
+        int[] signature = new int[config.getPermutations()];
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder(config);
+        for (int id = 0; id < words.size(); id++) {
+            hasher.signature(words.get(id), 1, signature);
+            builder.add(id, signature);
+        }
+        PackedMinHashLSH lsh = builder.build();
+        ProbeSignature probe = new ProbeSignature(config.getPermutations());
+        IntSet ids = new IntSet();
+        long candidates = 0;
+        int relevant = 0;
+        int found = 0;
+        int originalFound = 0;
+        for (int index = 0; index < queries.size(); index++) {
+            query(config, hasher, lsh, queries.get(index), signature, probe, ids);
+            candidates += ids.size();
+            Set<String> similar = new HashSet<>();
+            for (int position = 0; position < ids.size(); position++) {
+                similar.add(words.get(ids.get(position)));
+            }
+            for (String word : expected.get(index)) {
+                relevant++;
+                if (similar.contains(word)) {
+                    found++;
+                }
+            }
+            if (similar.contains(originals.get(index))) {
+                originalFound++;
+            }
+        }
+        for (int round = 0; round < 5; round++) {
+            time(config, hasher, lsh, queries, signature, probe, ids);
+        }
+        long nanos = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            nanos = Math.min(nanos, time(config, hasher, lsh, queries, signature, probe, ids));
+        }
+        System.out.printf("%-22s %10.1f %8.3f %9.3f %10.2f%n", config, (double) candidates / queries.size(),
+                (double) found / relevant, (double) originalFound / queries.size(), nanos / 1000.0 / queries.size());
+    }
+
+    private static long time(LshConfig config, MinHasher hasher, PackedMinHashLSH lsh, List<String> queries,
+            int[] signature, ProbeSignature probe, IntSet ids) {
+        long start = System.nanoTime();
+        for (String query : queries) {
+            query(config, hasher, lsh, query, signature, probe, ids);
+            sink += ids.size();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void query(LshConfig config, MinHasher hasher, PackedMinHashLSH lsh, String query,
+            int[] signature, ProbeSignature probe, IntSet ids) {
+        ids.clear();
+        if (config.getProbes() > 0) {
+            hasher.signature(query, 1, probe);
+            lsh.query(probe, ids);
+        } else {
+            hasher.signature(query, 1, signature);
+            lsh.query(signature, ids);
+        }
+    }
+
+    /**
+     * @return true si las palabras estan a distancia de Damerau-Levenshtein (con
+     * transposiciones adyacentes) de a lo sumo 1
+     */
+    static boolean withinOneEdit(String a, String b) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        if (Math.abs(lengthA - lengthB) > 1) {
+            return false;
+        }
+        int prefix = 0;
+        while (prefix < lengthA && prefix < lengthB && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        if (lengthA == lengthB) {
+            if (prefix == lengthA) {
+                return true;
+            }
+            if (a.regionMatches(prefix + 1, b, prefix + 1, lengthA - prefix - 1)) {
+                return true;
+            }
+            return prefix + 1 < lengthA && a.charAt(prefix) == b.charAt(prefix + 1)
+                    && a.charAt(prefix + 1) == b.charAt(prefix)
+                    && a.regionMatches(prefix + 2, b, prefix + 2, lengthA - prefix - 2);
+        }
+        if (lengthA > lengthB) {
+            return a.regionMatches(prefix + 1, b, prefix, lengthB - prefix);
+        }
+        return b.regionMatches(prefix + 1, a, prefix, lengthA - prefix);
+    }
+}
@@ -0,0 +1,113 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.lsh.MinHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de las firmas MinHash con el kernel escalar y con la Vector API: por
+ * consulta (una palabra) y para todas las palabras de dictionary.txt, que es lo que
+ * se firma al construir el diccionario. Si el modulo no esta disponible los
+ * metodos *Vector tambien usan el kernel escalar (se informa al iniciar).
+ * <p>
+ * buildDictionary mide la construccion completa, incluido el indice LSH que se
+ * arma aparte con buildSimilarityIndex, con el kernel por defecto y
+ * buildDictionaryScalar la misma construccion con la Vector API desactivada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MinHashBenchmark {
+    private static final int NUMBER_OF_PERMUTATIONS = 64;
+
+    private MinHasher scalar;
+    private MinHasher vector;
+    private WordList wordList;
+    private List<String> words;
+    private final int[] signature = new int[NUMBER_OF_PERMUTATIONS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.scalar = MinHasher.scalar(NUMBER_OF_PERMUTATIONS);
+        this.vector = MinHasher.forPermutations(NUMBER_OF_PERMUTATIONS);
+        System.out.printf("%nkernel por defecto vectorizado: %b%n", this.vector.isVectorized());
+        this.wordList = WordList.load("dictionary.txt");
+        this.words = new ArrayList<>();
+        for (String word : this.wordList) {
+            this.words.add(word);
+        }
+    }
+
+    private int signAll(MinHasher hasher) {
+        int sum = 0;
+        for (String word : this.words) {
+            hasher.signature(word, 1, this.signature);
+            sum += this.signature[0];
+        }
+        return sum;
+    }
+
+    private Dictionary buildWithIndex() {
+        Dictionary dictionary = new Dictionary(this.wordList);
+        dictionary.buildSimilarityIndex();
+        return dictionary;
+    }
+
+    @Benchmark
+    public int[] querySignatureScalar() {
+        this.scalar.signature("recieve", 1, this.signature);
+        return this.signature;
+    }
+
+    @Benchmark
+    public int[] querySignatureVector() {
+        this.vector.signature("recieve", 1, this.signature);
+        return this.signature;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int dictionarySignaturesScalar() {
+        return this.signAll(this.scalar);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int dictionarySignaturesVector() {
+        return this.signAll(this.vector);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void buildDictionary(Blackhole bh) {
+        bh.consume(this.buildWithIndex());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector",
+            "-D" + MinHasher.VECTOR_PROPERTY + "=false"})
+    public void buildDictionaryScalar(Blackhole bh) {
+        bh.consume(this.buildWithIndex());
+    }
+}
@@ -0,0 +1,114 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.SpellCheckerServer;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.metrics.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga para SpellCheckerServer.
+ * <p>
+ * Mantiene a lo sumo &lt;concurrencia&gt; pedidos en vuelo con el HttpClient
+ * asincronico, sin un hilo por pedido, durante &lt;segundos&gt;. Nueve de cada diez
+ * pedidos son /suggest de un error de una edicion (ver BenchmarkWords) y uno es
+ * /check de Gettysburg.txt. Reporta pedidos por segundo, errores (agrupados por
+ * metodo y causa) y percentiles de latencia.
+ * <p>
+ * Si la url es - arranca un servidor en el mismo proceso, en un puerto libre, con
+ * dictionary.txt y Levenshtein; si no, usa el que ya este corriendo (por ejemplo
+ * <code>java SpellCheckerServer dictionary.txt LEV</code>).
+ * <p>
+ * Uso: <code>java ServerLoadGenerator [url] [concurrencia] [segundos]</code>
+ */
+public class ServerLoadGenerator {
+    private static final int CHECK_EVERY = 10;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String url = args.length > 0 ? args[0] : "http://localhost:" + SpellCheckerServer.DEFAULT_PORT;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        SpellCheckerServer embedded = null;
+        if ("-".equals(url)) {
+            Dictionary dict = new Dictionary(WordList.load("dictionary.txt"));
+            dict.buildSimilarityIndex();
+            embedded = new SpellCheckerServer(new Levenshtein(dict), dict, 0);
+            url = "http://localhost:" + embedded.getPort();
+        }
+        String[] words = BenchmarkWords.misspellings(BenchmarkWords.load("dictionary.txt"), 10000, 7);
+        String document = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.ISO_8859_1);
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            run(client, url, words, document, concurrency, 1, false);
+            run(client, url, words, document, concurrency, seconds, true);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void run(HttpClient client, String url, String[] words, String document, int concurrency,
+            int seconds, boolean report) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        Histogram latency = new Histogram("request");
+        AtomicLong errors = new AtomicLong();
+        ConcurrentMap<String, AtomicLong> causes = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long sent = 0;
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            HttpRequest request;
+            if (sent % CHECK_EVERY == 0) {
+                request = HttpRequest.newBuilder(URI.create(url + "/check?policy=TOP"))
+                        .POST(HttpRequest.BodyPublishers.ofString(document, StandardCharsets.UTF_8)).build();
+            } else {
+                String word = URLEncoder.encode(words[(int) (sent % words.length)], StandardCharsets.UTF_8);
+                request = HttpRequest.newBuilder(URI.create(url + "/suggest?word=" + word)).build();
+            }
+            sent++;
+            long requestStart = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                latency.record(System.nanoTime() - requestStart);
+                if (error != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    String cause = error != null
+                            ? request.method() + " " + error.getClass().getSimpleName() + ": " + error.getMessage()
+                            : request.method() + " HTTP " + response.statusCode();
+                    causes.computeIfAbsent(cause, key -> new AtomicLong()).incrementAndGet();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(concurrency);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (report) {
+            Histogram.Snapshot snapshot = latency.snapshot();
+            System.out.printf("%d pedidos en %.1f s: %.0f pedidos/s, %d errores, concurrencia %d%n",
+                    sent, elapsed, sent / elapsed, errors.get(), concurrency);
+            System.out.printf("latencia ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                    snapshot.getPercentile(50) / 1e6, snapshot.getPercentile(90) / 1e6,
+                    snapshot.getPercentile(99) / 1e6, snapshot.getMax() / 1e6);
+            for (Map.Entry<String, AtomicLong> cause : new TreeMap<>(causes).entrySet()) {
+                System.out.printf("  %d x %s%n", cause.getValue().get(), cause.getKey());
+            }
+        }
+    }
+}
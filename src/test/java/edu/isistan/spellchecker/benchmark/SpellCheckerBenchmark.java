@@ -0,0 +1,82 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.CorrectionPolicy;
+import edu.isistan.spellchecker.SpellChecker;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryTrie;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.corrector.impl.SwapCorrector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chequeo completo de Gettysburg.txt con el diccionario ya construido y el
+ * documento, las respuestas y la salida en memoria:
+ * <ul>
+ * <li> interactiveSwap: lo que median MyTests/SpellCheckerTest con
+ * testCheckGettysburgSwap, sin leer ni escribir archivos
+ * <li> batchSwap y batchLevenshtein: el modo batch con la politica TOP
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class SpellCheckerBenchmark {
+    private String document;
+    private byte[] answers;
+    private SpellChecker swap;
+    private SpellChecker levenshtein;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.document = new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8);
+        this.answers = Files.readAllBytes(Paths.get("Gettysburg_input.txt"));
+        Dictionary dict = new DictionaryTrie(WordList.load("dictionary.txt"));
+        dict.buildSimilarityIndex();
+        this.swap = new SpellChecker(new SwapCorrector(dict), dict);
+        this.levenshtein = new SpellChecker(new Levenshtein(dict), dict);
+    }
+
+    @Benchmark
+    public String interactiveSwap() throws IOException {
+        StringWriter out = new StringWriter(this.document.length());
+        this.swap.checkDocument(new StringReader(this.document), new ByteArrayInputStream(this.answers), out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public String batchSwap() throws IOException {
+        StringWriter out = new StringWriter(this.document.length());
+        this.swap.checkDocument(new StringReader(this.document), out, CorrectionPolicy.TOP_SUGGESTION);
+        return out.toString();
+    }
+
+    @Benchmark
+    public String batchLevenshtein() throws IOException {
+        StringWriter out = new StringWriter(this.document.length());
+        this.levenshtein.checkDocument(new StringReader(this.document), out, CorrectionPolicy.TOP_SUGGESTION);
+        return out.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.impl.SymmetricDeleteCorrector;
+import edu.isistan.spellchecker.corrector.impl.TrieLevenshtein;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia por palabra del indice de borrados simetricos contra el recorrido del
+ * automata, para la misma distancia maxima. El costo en memoria de cada indice se
+ * reporta con {@link DictionaryFootprint}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymmetricDeleteBenchmark {
+    static final String[] MISSPELLINGS = {
+            "teh", "recieve", "wierd", "definately", "occurence", "acommodate",
+            "seperate", "untill", "goverment", "enviroment", "beleive", "tommorow"
+    };
+
+    @Param({"1", "2"})
+    public int maxEditDistance;
+
+    private SymmetricDeleteCorrector symmetricDelete;
+    private TrieLevenshtein trieWalk;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Dictionary dict = DictionaryDawg.make("dictionary.txt");
+        this.symmetricDelete = new SymmetricDeleteCorrector(dict, this.maxEditDistance);
+        this.trieWalk = new TrieLevenshtein(dict, this.maxEditDistance);
+        System.out.printf("%nindice: %d variantes, %d ids%n",
+                this.symmetricDelete.getIndexKeys(), this.symmetricDelete.getIndexPostings());
+    }
+
+    @Benchmark
+    public void symmetricDelete(Blackhole bh) {
+        for (String word : MISSPELLINGS) {
+            bh.consume(this.symmetricDelete.getCorrections(word));
+        }
+    }
+
+    @Benchmark
+    public void trieWalk(Blackhole bh) {
+        for (String word : MISSPELLINGS) {
+            bh.consume(this.trieWalk.getCorrections(word));
+        }
+    }
+}
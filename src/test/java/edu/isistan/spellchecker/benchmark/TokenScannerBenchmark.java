@@ -0,0 +1,81 @@
+package edu.isistan.spellchecker.benchmark;
+
+import edu.isistan.spellchecker.tokenizer.CharTokenizer;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de la tokenizacion de un documento en memoria (Gettysburg.txt
+ * repetido hasta el tamano pedido, en caracteres): TokenScanner, que crea un
+ * String por token, contra CharTokenizer, que no copia los tokens. Los resultados
+ * son documentos por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenScannerBenchmark {
+
+    @Param({"16384", "1048576"})
+    public int documentSize;
+
+    private String document;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.document = repeat(new String(Files.readAllBytes(Paths.get("Gettysburg.txt")), StandardCharsets.UTF_8),
+                this.documentSize);
+    }
+
+    static String repeat(String text, int size) {
+        StringBuilder document = new StringBuilder(size);
+        while (document.length() < size) {
+            document.append(text, 0, Math.min(text.length(), size - document.length()));
+        }
+        return document.toString();
+    }
+
+    @Benchmark
+    public int tokenScanner(Blackhole bh) throws IOException {
+        TokenScanner scanner = new TokenScanner(new StringReader(this.document));
+        int tokens = 0;
+        while (scanner.hasNext()) {
+            bh.consume(scanner.next());
+            tokens++;
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public int charTokenizer() throws IOException {
+        CharTokenizer tokenizer = new CharTokenizer(new StringReader(this.document));
+        int words = 0;
+        while (tokenizer.advance()) {
+            if (tokenizer.isWord()) {
+                words++;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class BloomFilterTest {
+
+  @Test public void testNoFalseNegatives() throws IOException {
+    Set<String> words = new HashSet<>();
+    for (String word : WordList.load("dictionary.txt")) {
+      words.add(word);
+    }
+    BloomFilter filter = BloomFilter.of(words);
+    assertEquals(words.size(), filter.size());
+    for (String word : words) {
+      assertTrue(word, filter.mightContain(word, 0, word.length()));
+    }
+    assertTrue(filter.mightContain("xAPPLEx", 1, 5));
+    assertTrue(filter.getSizeBytes() <= words.size() * 10 / 8 + 64);
+    assertTrue(filter.toString(), filter.getFalsePositiveRate() < 0.02);
+  }
+
+  @Test public void testFalsePositiveRate() throws IOException {
+    Dictionary d = new Dictionary(WordList.load("dictionary.txt"));
+    BloomFilter filter = BloomFilter.of(d.getWords());
+    Random random = new Random(42);
+    StringBuilder word = new StringBuilder();
+    int absent = 0;
+    int passed = 0;
+    while (absent < 100000) {
+      word.setLength(0);
+      for (int index = 3 + random.nextInt(8); index > 0; index--) {
+        word.append((char) ('a' + random.nextInt(26)));
+      }
+      if (!d.isWord(word, 0, word.length())) {
+        absent++;
+        if (filter.mightContain(word, 0, word.length())) {
+          passed++;
+        }
+      }
+    }
+    assertTrue(passed + " false positives", passed < absent * 0.02);
+  }
+
+  @Test public void testDictionaryWithFilter() throws IOException {
+    WordList words = WordList.load("smallDictionary.txt");
+    for (Dictionary d : Arrays.asList(new Dictionary(words), new DictionaryTrie(words), new DictionaryDawg(words))) {
+      assertNull(d.getBloomFilter());
+      d.buildBloomFilter();
+      assertNotNull(d.getBloomFilter());
+      assertTrue(d.isWord("Apple"));
+      assertTrue(d.isWord("xbananax", 1, 6));
+      assertFalse(d.isWord("appel"));
+      assertFalse(d.isWord("bananas"));
+    }
+  }
+
+  @Test public void testConcurrentDictionaryKeepsFilter() throws IOException {
+    ConcurrentDictionary d = new ConcurrentDictionary(WordList.load("smallDictionary.txt"));
+    d.buildBloomFilter();
+    assertTrue(d.addWord("kiwi"));
+    assertTrue(d.isWord("kiwi"));
+    assertTrue(d.removeWord("apple"));
+    assertFalse(d.isWord("apple"));
+    assertTrue(d.snapshot().isWord("kiwi"));
+    assertNotNull("rebuilt with the base", d.getBloomFilter());
+  }
+
+  @Test public void testInvalidSize() {
+    try {
+      new BloomFilter(0, 10);
+      fail("Expected an IllegalArgumentException - no words.");
+    } catch (IllegalArgumentException ex) {
+      //Do nothing - its supposed to throw an exception!
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+
+public class CaseFoldingTest {
+
+  private List<Dictionary> dictionaries(Path snapshot) throws IOException {
+    WordList words = WordList.load("smallDictionary.txt");
+    DictionarySnapshot.write(words, snapshot);
+    List<Dictionary> dictionaries = new ArrayList<>();
+    dictionaries.add(new Dictionary(words));
+    dictionaries.add(new DictionaryTrie(words));
+    dictionaries.add(new DictionaryPackedTrie(words));
+    dictionaries.add(new DictionaryDawg(words));
+    dictionaries.add(new MappedDictionary(snapshot));
+    return dictionaries;
+  }
+
+  @Test public void testFragments() throws IOException {
+    Path snapshot = Files.createTempFile("dictionary", ".snapshot");
+    try {
+      for (Dictionary d : dictionaries(snapshot)) {
+        String name = d.getClass().getSimpleName();
+        assertTrue(name, d.isWord("xxAPPLExx", 2, 5));
+        assertTrue(name, d.isWord(new StringBuilder("ApPlE"), 0, 5));
+        assertFalse(name, d.isWord("xxAPPLExx", 2, 4));
+        assertFalse(name, d.isWord("xxAPPLExx", 1, 5));
+        assertFalse(name, d.isWord(null, 0, 0));
+        assertEquals(name, d.isWord("apple"), d.isWord("APPLE", 0, 5));
+        try {
+          d.isWord("apple", 2, 5);
+          fail(name + ": expected an IndexOutOfBoundsException.");
+        } catch (IndexOutOfBoundsException ex) {
+          //Do nothing - its supposed to throw an exception!
+        }
+      }
+    } finally {
+      Files.deleteIfExists(snapshot);
+    }
+  }
+
+  @Test public void testHashMatchesLowerCase() {
+    for (String word : new String[]{"Apple", "DON'T", "\u00c9COLE", "stra\u00dfe", ""}) {
+      assertEquals(word, word.toLowerCase().hashCode(), CaseFolding.hash(word, 0, word.length()));
+      assertTrue(word, CaseFolding.equals(word.toLowerCase(), word, 0, word.length()));
+    }
+  }
+
+  @Test public void testNegativeProbesDoNotAllocate() throws IOException {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) threads;
+    if (!allocation.isThreadAllocatedMemorySupported() || !allocation.isThreadAllocatedMemoryEnabled()) {
+      return;
+    }
+    Path snapshot = Files.createTempFile("dictionary", ".snapshot");
+    try {
+      StringBuilder probe = new StringBuilder("Qzxv");
+      for (Dictionary d : dictionaries(snapshot)) {
+        for (int round = 0; round < 20000; round++) {
+          d.isWord(probe, 0, probe.length());
+        }
+        long thread = Thread.currentThread().getId();
+        long before = allocation.getThreadAllocatedBytes(thread);
+        for (int round = 0; round < 1000; round++) {
+          probe.setCharAt(1, (char) ('a' + round % 26));
+          assertFalse(d.isWord(probe, 0, probe.length()));
+        }
+        long allocated = allocation.getThreadAllocatedBytes(thread) - before;
+        assertTrue(d.getClass().getSimpleName() + " allocated " + allocated, allocated < 1000);
+      }
+    } finally {
+      Files.deleteIfExists(snapshot);
+    }
+  }
+
+  @Test public void testLevenshteinUnchanged() throws IOException {
+    Dictionary d = new Dictionary(WordList.load("smallDictionary.txt"));
+    Levenshtein corrector = new Levenshtein(d);
+    assertTrue(corrector.getSubstitutions("Appla").contains("Apple"));
+    assertTrue(corrector.getInsertions("Aple").contains("Apple"));
+    assertFalse(corrector.getSubstitutions("apple").contains("apple"));
+  }
+}
@@ -0,0 +1,170 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+
+public class ConcurrentDictionaryTest {
+
+  private static WordList words(String... words) {
+    return WordList.of(Arrays.asList(words));
+  }
+
+  @Test public void testAddAndRemove() throws IOException {
+    ConcurrentDictionary d = new ConcurrentDictionary(WordList.load("smallDictionary.txt"));
+    assertEquals(32, d.getNumWords());
+    assertTrue(d.addWord("Kiwi"));
+    assertFalse(d.addWord("kiwi"));
+    assertTrue(d.isWord("KIWI"));
+    assertTrue(d.removeWord("Apple"));
+    assertFalse(d.removeWord("apple"));
+    assertFalse(d.isWord("apple"));
+    assertFalse(d.removeWord("mango"));
+    assertEquals(32, d.getNumWords());
+    assertTrue(d.getWords().contains("kiwi"));
+    assertFalse(d.getWords().contains("apple"));
+    assertEquals(32, new HashSet<>(d.getWords()).size());
+    assertTrue(d.addWord("apple"));
+    assertTrue(d.removeWord("kiwi"));
+    Set<String> expected = new HashSet<>();
+    for (String word : WordList.load("smallDictionary.txt")) {
+      expected.add(word);
+    }
+    assertEquals(expected, new HashSet<>(d.getWords()));
+  }
+
+  @Test public void testInvalidWords() {
+    ConcurrentDictionary d = new ConcurrentDictionary(words("apple"));
+    for (String word : new String[]{null, "", "two words", "1st"}) {
+      try {
+        d.addWord(word);
+        fail("Expected an IllegalArgumentException - invalid word " + word);
+      } catch (IllegalArgumentException ex) {
+        //Do nothing - its supposed to throw an exception!
+      }
+    }
+  }
+
+  @Test public void testSimilarWordsMatchRebuild() throws IOException {
+    for (LshConfig config : new LshConfig[]{LshConfig.DEFAULT, LshConfig.DEFAULT.withProbes(4)}) {
+      ConcurrentDictionary d = new ConcurrentDictionary(WordList.load("smallDictionary.txt"),
+          words -> new Dictionary(words, config));
+      d.addWord("appeal");
+      d.addWord("pineapple");
+      d.removeWord("apple");
+      Dictionary expected = new Dictionary(WordList.of(new ArrayList<>(d.getWords())), config);
+      for (String word : new String[]{"appel", "apeal", "pinaple", "banan"}) {
+        assertEquals(word, expected.getSimilarWords(word), d.getSimilarWords(word));
+      }
+      assertTrue(d.getSimilarWords("appel").contains("appeal"));
+      assertFalse(d.getSimilarWords("appel").contains("apple"));
+    }
+  }
+
+  @Test public void testSnapshotAndCompaction() throws IOException {
+    ConcurrentDictionary d = new ConcurrentDictionary(WordList.load("smallDictionary.txt"), DictionaryDawg::new);
+    assertNull(d.getWordGraph());
+    d.addWord("kiwi");
+    Dictionary snapshot = d.snapshot();
+    assertTrue(snapshot instanceof DictionaryDawg);
+    assertTrue(snapshot.isWord("kiwi"));
+    assertNotNull(snapshot.getWordGraph());
+    d.removeWord("kiwi");
+    assertTrue("the snapshot is immutable", snapshot.isWord("kiwi"));
+    List<String> added = new ArrayList<>();
+    StringBuilder word = new StringBuilder();
+    for (int index = 0; index <= ConcurrentDictionary.COMPACT_THRESHOLD + 10; index++) {
+      word.setLength(0);
+      for (int value = index; value > 0 || word.length() == 0; value /= 26) {
+        word.append((char) ('a' + value % 26));
+      }
+      word.append("zz");
+      if (d.addWord(word.toString())) {
+        added.add(word.toString());
+      }
+    }
+    assertEquals(32 + added.size(), d.getNumWords());
+    for (String other : added) {
+      assertTrue(other, d.isWord(other));
+    }
+  }
+
+  @Test public void testConcurrentReaders() throws InterruptedException {
+    ConcurrentDictionary d = new ConcurrentDictionary(words("apple", "banana"));
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<String> failure = new AtomicReference<>();
+    List<Thread> readers = new ArrayList<>();
+    for (int thread = 0; thread < 3; thread++) {
+      readers.add(new Thread(() -> {
+        while (!done.get()) {
+          if (!d.isWord("apple")) {
+            failure.set("apple disappeared");
+          }
+          int size = d.getNumWords();
+          if (size != 2 && size != 3) {
+            failure.set("inconsistent size " + size);
+          }
+        }
+      }));
+    }
+    for (Thread reader : readers) {
+      reader.start();
+    }
+    for (int index = 0; index < 2000; index++) {
+      d.addWord("kiwi");
+      d.removeWord("kiwi");
+    }
+    done.set(true);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertNull(failure.get());
+    assertEquals(2, d.getNumWords());
+  }
+
+  @Test public void testReload() {
+    ConcurrentDictionary d = new ConcurrentDictionary(words("apple", "banana"));
+    d.buildSimilarityIndex();
+    d.addWord("kiwi");
+    d.reload(words("carrot", "durian"));
+    assertFalse(d.isWord("apple"));
+    assertFalse(d.isWord("kiwi"));
+    assertTrue(d.isWord("carrot"));
+    assertEquals(2, d.getNumWords());
+    assertTrue("the index is rebuilt before the swap", d.hasSimilarityIndex());
+  }
+
+  @Test public void testWatcher() throws IOException, InterruptedException {
+    Path file = Files.createTempFile("dictionary", ".txt");
+    try {
+      Files.write(file, Arrays.asList("apple", "banana"), StandardCharsets.UTF_8);
+      ConcurrentDictionary d = new ConcurrentDictionary(WordList.load(file, StandardCharsets.UTF_8));
+      try (DictionaryWatcher watcher = new DictionaryWatcher(d, file, StandardCharsets.UTF_8)) {
+        Files.write(file, Arrays.asList("carrot", "durian", "eggplant"), StandardCharsets.UTF_8);
+        long deadline = System.currentTimeMillis() + 20000;
+        while (watcher.getReloads() == 0 && System.currentTimeMillis() < deadline) {
+          Thread.sleep(50);
+        }
+        assertNull(watcher.getLastError());
+        assertEquals(1, watcher.getReloads());
+        Set<String> expected = new HashSet<>(Arrays.asList("carrot", "durian", "eggplant"));
+        assertEquals(expected, new HashSet<>(d.getWords()));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
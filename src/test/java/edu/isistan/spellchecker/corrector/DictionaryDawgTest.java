@@ -0,0 +1,81 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class DictionaryDawgTest {
+
+  @Test(timeout=500) public void testContainsSimple() throws IOException {
+    Dictionary d = new DictionaryDawg(new TokenScanner(new FileReader("smallDictionary.txt")));
+    assertTrue("'apple' -> should be true ('apple' in file)", d.isWord("apple"));
+    assertTrue("'Banana' -> should be true ('banana' in file)", d.isWord("Banana"));
+    assertTrue("'it's' -> should be true ('it's' in file)", d.isWord("it's"));
+    assertFalse("'pineapple' -> should be false", d.isWord("pineapple"));
+    assertFalse("'ap' -> should be false (prefix only)", d.isWord("ap"));
+    assertFalse("'' -> should be false", d.isWord(""));
+    assertFalse("null -> should be false", d.isWord(null));
+  }
+
+  @Test(timeout=500) public void testWordCount() throws IOException {
+    Dictionary d = new DictionaryDawg(new TokenScanner(new FileReader("smallDictionary.txt")));
+    assertEquals("Dictionary word length should be 32", 32, d.getNumWords());
+  }
+
+  @Test public void testDawgSharesSuffixes() {
+    Dawg dawg = new Dawg.Builder().add("a").add("b'c").add("car").add("care").add("cart").add("cat").build();
+    assertEquals(6, dawg.getUniqueWords());
+    for (String word : new String[]{"car", "cart", "care", "a", "cat", "b'c"}) {
+      assertTrue(word, dawg.isWord(word));
+    }
+    for (String word : new String[]{"", "c", "ca", "carts", "b", "cb"}) {
+      assertFalse(word, dawg.isWord(word));
+    }
+    Dawg shared = new Dawg.Builder().add("nesting").add("resting").add("testing").build();
+    assertEquals("root, n/r/t heads merged, 'esting' chain shared", 8, shared.getNodeCount());
+  }
+
+  @Test public void testWordIdIsAlphabeticalPosition() {
+    String[] words = {"a", "b'c", "car", "care", "cart", "cat", "nesting", "resting", "testing"};
+    Dawg.Builder builder = new Dawg.Builder();
+    for (String word : words) {
+      builder.add(word);
+    }
+    Dawg dawg = builder.build();
+    for (int id = 0; id < words.length; id++) {
+      assertEquals(words[id], id, dawg.getWordId(words[id], 0, words[id].length()));
+    }
+    assertEquals(2, dawg.getWordId("xCARx", 1, 3));
+    assertEquals(-1, dawg.getWordId("ca", 0, 2));
+    assertEquals(-1, dawg.getWordId("carts", 0, 5));
+  }
+
+  @Test public void testDawgRepeatedWord() {
+    Dawg dawg = new Dawg.Builder().add("dog").add("dog").add("dogs").build();
+    assertEquals(2, dawg.getUniqueWords());
+    assertTrue(dawg.isWord("dog"));
+    assertTrue(dawg.isWord("dogs"));
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testDawgUnsortedInput() {
+    new Dawg.Builder().add("dog").add("cat");
+  }
+
+  @Test public void testSameAnswersAsDictionary() throws IOException {
+    Dictionary hashed = Dictionary.make("dictionary.txt");
+    Dictionary packed = DictionaryDawg.make("dictionary.txt");
+    assertEquals(hashed.getNumWords(), packed.getNumWords());
+    try (BufferedReader reader = new BufferedReader(new FileReader("dictionary.txt"))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        assertEquals(line, hashed.isWord(line), packed.isWord(line));
+        String probe = line + "x";
+        assertEquals(probe, hashed.isWord(probe), packed.isWord(probe));
+      }
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class DictionaryPackedTrieTest {
+
+  @Test(timeout=500) public void testContainsSimple() throws IOException {
+    Dictionary d = new DictionaryPackedTrie(new TokenScanner(new FileReader("smallDictionary.txt")));
+    assertTrue("'apple' -> should be true ('apple' in file)", d.isWord("apple"));
+    assertTrue("'Banana' -> should be true ('banana' in file)", d.isWord("Banana"));
+    assertTrue("'it's' -> should be true ('it's' in file)", d.isWord("it's"));
+    assertFalse("'pineapple' -> should be false", d.isWord("pineapple"));
+    assertFalse("'ap' -> should be false (prefix only)", d.isWord("ap"));
+    assertFalse("'' -> should be false", d.isWord(""));
+    assertFalse("null -> should be false", d.isWord(null));
+  }
+
+  @Test(timeout=500) public void testWordCount() throws IOException {
+    Dictionary d = new DictionaryPackedTrie(new TokenScanner(new FileReader("smallDictionary.txt")));
+    assertEquals("Dictionary word length should be 32", 32, d.getNumWords());
+  }
+
+  @Test public void testPackedTrieMatchesTrie() {
+    PackedTrie packed = new PackedTrie(Arrays.asList("car", "cart", "care", "a", "cat", "car", "b'c"));
+    assertEquals(6, packed.getUniqueWords());
+    for (String word : new String[]{"car", "cart", "care", "a", "cat", "b'c"}) {
+      assertTrue(word, packed.isWord(word));
+    }
+    for (String word : new String[]{"", "c", "ca", "carts", "b", "cb"}) {
+      assertFalse(word, packed.isWord(word));
+    }
+  }
+
+  @Test public void testEmptyPackedTrie() {
+    PackedTrie packed = new PackedTrie(Arrays.<String>asList());
+    assertEquals(0, packed.getUniqueWords());
+    assertFalse(packed.isWord("a"));
+  }
+
+  @Test public void testSameAnswersAsDictionary() throws IOException {
+    Dictionary hashed = Dictionary.make("dictionary.txt");
+    Dictionary packed = DictionaryPackedTrie.make("dictionary.txt");
+    assertEquals(hashed.getNumWords(), packed.getNumWords());
+    try (BufferedReader reader = new BufferedReader(new FileReader("dictionary.txt"))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        assertEquals(line, hashed.isWord(line), packed.isWord(line));
+        String probe = line + "x";
+        assertEquals(probe, hashed.isWord(probe), packed.isWord(probe));
+      }
+    }
+  }
+}
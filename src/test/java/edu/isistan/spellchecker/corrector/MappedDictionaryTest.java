@@ -0,0 +1,86 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class MappedDictionaryTest {
+  private Path snapshot;
+
+  @Before public void setUp() throws IOException {
+    snapshot = Files.createTempFile("dictionary", ".snapshot");
+    DictionarySnapshot.write(WordList.load("smallDictionary.txt"), snapshot);
+  }
+
+  @After public void tearDown() throws IOException {
+    Files.deleteIfExists(snapshot);
+  }
+
+  @Test public void testContains() throws IOException {
+    Dictionary d = new MappedDictionary(snapshot);
+    assertTrue("'apple' -> should be true ('apple' in file)", d.isWord("apple"));
+    assertTrue("'Banana' -> should be true ('banana' in file)", d.isWord("Banana"));
+    assertTrue("'it's' -> should be true ('it's' in file)", d.isWord("it's"));
+    assertFalse("'pineapple' -> should be false", d.isWord("pineapple"));
+    assertFalse("'ap' -> should be false (prefix only)", d.isWord("ap"));
+    assertFalse("'' -> should be false", d.isWord(""));
+    assertFalse("null -> should be false", d.isWord(null));
+    assertEquals("Dictionary word length should be 32", 32, d.getNumWords());
+  }
+
+  @Test public void testSameAsDictionary() throws IOException {
+    Dictionary expected = new Dictionary(new TokenScanner(new FileReader("smallDictionary.txt")));
+    Dictionary d = MappedDictionary.make(snapshot.toString());
+    assertEquals(new ArrayList<>(new TreeSet<>(expected.getWords())), new ArrayList<>(d.getWords()));
+    for (String word : new String[]{"teh", "Appel", "hre", "bananna", "yuo", "it"}) {
+      assertEquals(word, expected.getSimilarWords(word), d.getSimilarWords(word));
+    }
+  }
+
+  @Test public void testLargeDictionary() throws IOException {
+    Dictionary expected = Dictionary.make("dictionary.txt");
+    DictionarySnapshot.write(expected.getWords(), snapshot);
+    Dictionary d = new MappedDictionary(snapshot);
+    assertEquals(expected.getNumWords(), d.getNumWords());
+    for (String word : expected.getWords()) {
+      assertTrue(word, d.isWord(word));
+    }
+    for (String word : new String[]{"recieve", "definately", "seperate", "Teh"}) {
+      assertEquals(word, expected.getSimilarWords(word), d.getSimilarWords(word));
+    }
+    assertTrue(DictionarySnapshot.isSnapshot(snapshot));
+    assertFalse(DictionarySnapshot.isSnapshot(new File("dictionary.txt").toPath()));
+  }
+
+  @Test public void testLshConfig() throws IOException {
+    LshConfig config = new LshConfig(8, 8, LshConfig.BandHashing.MIX, 4);
+    Dictionary expected = new Dictionary(WordList.load("smallDictionary.txt"), config);
+    DictionarySnapshot.write(expected.getWords(), snapshot, config);
+    Dictionary d = new MappedDictionary(snapshot, config.getProbes());
+    assertEquals(config.toString(), d.getLshConfig().toString());
+    for (String word : new String[]{"teh", "Appel", "hre", "bananna", "yuo", "it"}) {
+      assertEquals(word, expected.getSimilarWords(word), d.getSimilarWords(word));
+    }
+  }
+
+  @Test(expected = IOException.class) public void testNotASnapshot() throws IOException {
+    new MappedDictionary(new File("smallDictionary.txt").toPath());
+  }
+
+  @Test(expected = IOException.class) public void testTruncated() throws IOException {
+    byte[] bytes = Files.readAllBytes(snapshot);
+    Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 2));
+    new MappedDictionary(snapshot);
+  }
+}
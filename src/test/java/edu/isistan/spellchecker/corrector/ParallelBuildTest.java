@@ -0,0 +1,96 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.lsh.IntSet;
+import edu.isistan.spellchecker.lsh.LshConfig;
+import edu.isistan.spellchecker.lsh.PackedMinHashLSH;
+
+public class ParallelBuildTest {
+  private static final String[] QUERIES = {"teh", "recieve", "definately", "seperate", "Wierd", "a"};
+
+  @After public void tearDown() {
+    System.clearProperty(Dictionary.PARALLEL_PROPERTY);
+  }
+
+  private interface Factory {
+    Dictionary make(WordList words);
+  }
+
+  private void assertSameBuild(Factory factory) throws IOException {
+    WordList words = WordList.load("dictionary.txt");
+    System.setProperty(Dictionary.PARALLEL_PROPERTY, "false");
+    Dictionary sequential = factory.make(words);
+    sequential.buildSimilarityIndex();
+    System.setProperty(Dictionary.PARALLEL_PROPERTY, "true");
+    Dictionary parallel = factory.make(words);
+    parallel.buildSimilarityIndex();
+    assertEquals(sequential.getNumWords(), parallel.getNumWords());
+    assertEquals(new ArrayList<>(sequential.getWords()), new ArrayList<>(parallel.getWords()));
+    for (String query : QUERIES) {
+      assertEquals(query, sequential.getSimilarWords(query), parallel.getSimilarWords(query));
+    }
+  }
+
+  @Test public void testDictionary() throws IOException {
+    assertSameBuild(Dictionary::new);
+  }
+
+  @Test public void testDictionaryTrie() throws IOException {
+    assertSameBuild(DictionaryTrie::new);
+  }
+
+  @Test public void testDictionaryPackedTrie() throws IOException {
+    assertSameBuild(DictionaryPackedTrie::new);
+  }
+
+  @Test public void testDictionaryDawg() throws IOException {
+    assertSameBuild(DictionaryDawg::new);
+  }
+
+  @Test public void testTrieAddWords() {
+    List<String> words = Arrays.asList("car", "Cart", "", "apple", "car", "b'c", "apply", "zoo");
+    Trie sequential = new Trie();
+    for (String word : words) {
+      sequential.addWord(word);
+    }
+    Trie parallel = new Trie();
+    parallel.addWords(words, true);
+    assertEquals(sequential.getUniqueWords(), parallel.getUniqueWords());
+    assertEquals(sequential.getWords(), parallel.getWords());
+    assertTrue(parallel.isWord(""));
+    assertTrue(parallel.isWord("cart"));
+  }
+
+  @Test public void testLshAddAll() throws IOException {
+    List<String> words = new ArrayList<>();
+    for (String word : WordList.load("dictionary.txt")) {
+      words.add(word);
+    }
+    LshConfig config = new LshConfig(8, 8, LshConfig.BandHashing.MIX, 0);
+    PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder(config);
+    int[] signature = new int[config.getPermutations()];
+    for (int id = 0; id < words.size(); id++) {
+      Dictionary.signature(words.get(id), signature);
+      builder.add(id, signature);
+    }
+    PackedMinHashLSH sequential = builder.build();
+    PackedMinHashLSH parallel = new PackedMinHashLSH.Builder(config).parallel(true).addAll(words, 1).build();
+    assertEquals(sequential.getBucketCount(), parallel.getBucketCount());
+    for (String query : QUERIES) {
+      IntSet expected = new IntSet();
+      IntSet actual = new IntSet();
+      Dictionary.signature(query.toLowerCase(), signature);
+      sequential.query(signature, expected);
+      parallel.query(signature, actual);
+      assertArrayEquals(query, expected.toArray(), actual.toArray());
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+public class SimilarityIndexTest {
+
+  @Test public void testLazyIndex() throws IOException {
+    Dictionary d = new DictionaryTrie(WordList.load("smallDictionary.txt"));
+    assertFalse(d.hasSimilarityIndex());
+    assertTrue(d.isWord("apple"));
+    assertEquals(32, d.getNumWords());
+    assertFalse("isWord should not build the index", d.hasSimilarityIndex());
+    assertTrue(d.getSimilarWords("appel").contains("apple"));
+    assertTrue(d.hasSimilarityIndex());
+  }
+
+  @Test public void testBackgroundIndex() throws IOException, InterruptedException, ExecutionException,
+      TimeoutException {
+    Dictionary expected = new Dictionary(WordList.load("dictionary.txt"));
+    Dictionary d = new Dictionary(WordList.load("dictionary.txt"));
+    d.buildSimilarityIndexInBackground().get(30, TimeUnit.SECONDS);
+    assertTrue(d.hasSimilarityIndex());
+    for (String word : new String[]{"teh", "recieve", "seperate"}) {
+      assertEquals(word, expected.getSimilarWords(word), d.getSimilarWords(word));
+    }
+  }
+
+  @Test public void testConcurrentFirstQueries() throws IOException, InterruptedException, ExecutionException {
+    Dictionary expected = new DictionaryDawg(WordList.load("dictionary.txt"));
+    Set<String> similar = expected.getSimilarWords("recieve");
+    Dictionary d = new DictionaryDawg(WordList.load("dictionary.txt"));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Set<String>>> results = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        results.add(executor.submit(() -> d.getSimilarWords("recieve")));
+      }
+      for (Future<Set<String>> result : results) {
+        assertEquals(similar, result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package edu.isistan.spellchecker.corrector;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class WordListTest {
+
+  private List<String> tokenized(String filename) throws IOException {
+    List<String> words = new ArrayList<>();
+    try (Reader reader = new FileReader(filename)) {
+      Iterator<String> tokens = WordList.words(new TokenScanner(reader));
+      while (tokens.hasNext()) {
+        words.add(tokens.next());
+      }
+    }
+    return words;
+  }
+
+  private List<String> loaded(WordList list) {
+    List<String> words = new ArrayList<>();
+    for (String word : list) {
+      words.add(word);
+    }
+    return words;
+  }
+
+  @Test public void testOneWordPerLine() throws IOException {
+    assertEquals(tokenized("smallDictionary.txt"), loaded(WordList.load("smallDictionary.txt")));
+    assertEquals(tokenized("dictionary.txt"), loaded(WordList.load("dictionary.txt")));
+  }
+
+  @Test public void testFreeFormFallsBackToTokenizer() throws IOException {
+    WordList list = WordList.load("Gettysburg.txt");
+    assertEquals(tokenized("Gettysburg.txt"), loaded(list));
+  }
+
+  @Test public void testExplicitCharset() throws IOException {
+    Path file = Files.createTempFile("words", ".txt");
+    try {
+      Files.write(file, "Caf\u00e9\r\n  ni\u00f1o \n\nApple\n".getBytes(StandardCharsets.ISO_8859_1));
+      List<String> expected = new ArrayList<>();
+      expected.add("caf\u00e9");
+      expected.add("ni\u00f1o");
+      expected.add("apple");
+      assertEquals(expected, loaded(WordList.load(file, StandardCharsets.ISO_8859_1)));
+      Files.write(file, "Caf\u00e9\nni\u00f1o\nApple".getBytes(StandardCharsets.UTF_8));
+      assertEquals(expected, loaded(WordList.load(file, StandardCharsets.UTF_8)));
+      Files.write(file, "Caf\u00e9 ni\u00f1o\nApple".getBytes(StandardCharsets.UTF_16));
+      assertEquals(expected, loaded(WordList.load(file, StandardCharsets.UTF_16)));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test public void testDictionariesFromWordList() throws IOException {
+    WordList list = WordList.load("smallDictionary.txt");
+    assertEquals(32, new Dictionary(list).getNumWords());
+    assertEquals(32, new DictionaryTrie(list).getNumWords());
+    assertEquals(32, new DictionaryPackedTrie(list).getNumWords());
+    assertEquals(32, new DictionaryDawg(list).getNumWords());
+    assertTrue(DictionaryDawg.make("smallDictionary.txt").isWord("It's"));
+  }
+
+  @Test(expected = FileNotFoundException.class) public void testMissingFile() throws IOException {
+    WordList.load("notAFile.txt");
+  }
+}
@@ -0,0 +1,114 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class CachingCorrectorTest {
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	private static class CountingCorrector extends Corrector {
+		private final Corrector corrector;
+		private int calls;
+
+		private CountingCorrector(Corrector corrector) {
+			this.corrector = corrector;
+		}
+
+		public Set<String> getCorrections(String wrong) {
+			calls++;
+			return corrector.getCorrections(wrong);
+		}
+	}
+
+
+	@Test public void testConstructorInvalid() throws IOException, FileCorrector.FormatException {
+		try {
+			new CachingCorrector(null, 10);
+			fail("Expected an IllegalArgumentException - null corrector.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new CachingCorrector(FileCorrector.make("smallMisspellings.txt"), 0);
+			fail("Expected an IllegalArgumentException - empty cache.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testSameCorrectionsAsDelegate() throws IOException, FileCorrector.FormatException {
+		Corrector file = FileCorrector.make("smallMisspellings.txt");
+		CachingCorrector cached = new CachingCorrector(file, 100);
+		for (String word : new String[]{"lyon", "TIGGER", "tigger", "Tigger", "banana", "lyon"}) {
+			assertEquals(word, file.getCorrections(word), cached.getCorrections(word));
+		}
+		Dictionary dict = new Dictionary(new TokenScanner(new FileReader("smallDictionary.txt")));
+		Corrector swap = new SwapCorrector(dict);
+		CachingCorrector cachedSwap = new CachingCorrector(swap, 100);
+		for (String word : new String[]{"cya", "oYurs", "Paple", "paple", "crarot"}) {
+			assertEquals(word, swap.getCorrections(word), cachedSwap.getCorrections(word));
+		}
+		Corrector lev = new Levenshtein(dict);
+		CachingCorrector cachedLev = new CachingCorrector(lev, 100);
+		assertEquals("h -> {a, i, ah, eh, th}",
+				makeSet(new String[]{"a", "i", "ah", "eh", "th"}), cachedLev.getCorrections("h"));
+		assertEquals("H -> {A, I, Ah, Eh, Th}",
+				makeSet(new String[]{"A", "I", "Ah", "Eh", "Th"}), cachedLev.getCorrections("H"));
+	}
+
+
+	@Test public void testCaseSharesEntry() throws IOException, FileCorrector.FormatException {
+		CountingCorrector counting = new CountingCorrector(FileCorrector.make("smallMisspellings.txt"));
+		CachingCorrector cached = new CachingCorrector(counting, 100);
+		assertEquals(makeSet(new String[]{"lion"}), cached.getCorrections("lyon"));
+		assertEquals(makeSet(new String[]{"Lion"}), cached.getCorrections("Lyon"));
+		assertEquals(makeSet(new String[]{"Lion"}), cached.getCorrections("LYON"));
+		assertEquals(1, counting.calls);
+		assertEquals(1, cached.getMissCount());
+		assertEquals(2, cached.getHitCount());
+		assertEquals(1, cached.size());
+	}
+
+
+	@Test public void testEviction() throws IOException, FileCorrector.FormatException {
+		CountingCorrector counting = new CountingCorrector(FileCorrector.make("smallMisspellings.txt"));
+		CachingCorrector cached = new CachingCorrector(counting, 1);
+		cached.getCorrections("lyon");
+		cached.getCorrections("tigger");
+		cached.getCorrections("lyon");
+		assertEquals(3, counting.calls);
+		assertEquals(2, cached.getEvictionCount());
+		assertEquals(1, cached.size());
+	}
+
+
+	@Test public void testSizeIsBounded() throws IOException, FileCorrector.FormatException {
+		CountingCorrector counting = new CountingCorrector(FileCorrector.make("smallMisspellings.txt"));
+		CachingCorrector cached = new CachingCorrector(counting, 2);
+		for (String word : new String[]{"wa", "wb", "wc", "wd", "we", "wf"}) {
+			cached.getCorrections(word);
+		}
+		assertTrue(cached.size() <= 2);
+		assertEquals(6, cached.getMissCount());
+		assertEquals(cached.getMissCount() - cached.size(), cached.getEvictionCount());
+	}
+
+}
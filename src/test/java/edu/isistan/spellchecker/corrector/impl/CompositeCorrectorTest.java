@@ -0,0 +1,216 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.WordFrequencies;
+
+public class CompositeCorrectorTest {
+
+	private Dictionary dict;
+	private Corrector file;
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	private static class CountingCorrector extends Corrector {
+		private final Corrector corrector;
+		private int calls;
+
+		private CountingCorrector(Corrector corrector) {
+			this.corrector = corrector;
+		}
+
+		public Set<String> getCorrections(String wrong) {
+			calls++;
+			return corrector.getCorrections(wrong);
+		}
+	}
+
+
+	private static class SlowCorrector extends Corrector {
+		public Set<String> getCorrections(String wrong) {
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				//Cancelled by the composite.
+			}
+			return makeSlowSet();
+		}
+
+		private static Set<String> makeSlowSet() {
+			Set<String> set = new TreeSet<String>();
+			set.add("slow");
+			return set;
+		}
+	}
+
+
+	/**
+	 * Corrector que ignora la interrupcion, como los del paquete, y no termina
+	 * hasta que se lo libera.
+	 */
+	private static class StuckCorrector extends Corrector {
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+
+		public Set<String> getCorrections(String wrong) {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			boolean released = false;
+			while (!released) {
+				try {
+					release.await();
+					released = true;
+				} catch (InterruptedException e) {
+					//Ignored on purpose.
+				}
+			}
+			running.decrementAndGet();
+			return new TreeSet<String>();
+		}
+	}
+
+
+	@Before public void setUp() throws IOException, FileCorrector.FormatException {
+		dict = Dictionary.make("smallDictionary.txt");
+		file = FileCorrector.make("smallMisspellings.txt");
+	}
+
+
+	@Test public void testConstructorInvalid() {
+		try {
+			CompositeCorrector.chain(1);
+			fail("Expected an IllegalArgumentException - no correctors.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			CompositeCorrector.chain(1, file, null);
+			fail("Expected an IllegalArgumentException - null corrector.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			CompositeCorrector.chain(0, file);
+			fail("Expected an IllegalArgumentException - no suggestions wanted.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			CompositeCorrector.fanOut(1, 0, file);
+			fail("Expected an IllegalArgumentException - no budget.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			CompositeCorrector.fanOut(1, 10, (Executor) null, file);
+			fail("Expected an IllegalArgumentException - null executor.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testChainStopsEarly() {
+		CountingCorrector swap = new CountingCorrector(new SwapCorrector(dict));
+		CountingCorrector lev = new CountingCorrector(new Levenshtein(dict));
+		CompositeCorrector chain = CompositeCorrector.chain(1, file, swap, lev);
+		assertEquals("lyon -> {lion}", makeSet(new String[]{"lion"}), chain.getCorrections("lyon"));
+		assertEquals(0, swap.calls);
+		assertEquals("Cya -> {Cay}", makeSet(new String[]{"Cay"}), chain.getCorrections("Cya"));
+		assertEquals(1, swap.calls);
+		assertEquals(0, lev.calls);
+		assertEquals("hte -> lev", new Levenshtein(dict).getCorrections("hte"), chain.getCorrections("hte"));
+		assertEquals(1, lev.calls);
+		assertEquals("xyzzy -> {}", makeSet(new String[]{}), chain.getCorrections("xyzzy"));
+	}
+
+
+	@Test public void testMergesWithoutDuplicates() {
+		Corrector swap = new SwapCorrector(dict);
+		Corrector lev = new Levenshtein(dict);
+		CompositeCorrector chain = CompositeCorrector.chain(Integer.MAX_VALUE, swap, lev, lev);
+		CompositeCorrector fanOut = CompositeCorrector.fanOut(Integer.MAX_VALUE, 10000, swap, lev, lev);
+		for (String word : new String[]{"cya", "teh", "Teh", "ehh", "baananan"}) {
+			Set<String> expected = new TreeSet<String>(swap.getCorrections(word));
+			expected.addAll(lev.getCorrections(word));
+			assertEquals(word, expected, chain.getCorrections(word));
+			assertEquals(word, expected, fanOut.getCorrections(word));
+		}
+		assertEquals(0, fanOut.getTimeoutCount());
+	}
+
+
+	@Test public void testFanOutBudget() {
+		CompositeCorrector fanOut = CompositeCorrector.fanOut(Integer.MAX_VALUE, 100, new SlowCorrector(), file);
+		long start = System.nanoTime();
+		assertEquals("lyon -> {lion}", makeSet(new String[]{"lion"}), fanOut.getCorrections("lyon"));
+		assertTrue((System.nanoTime() - start) < 5000000000L);
+		assertEquals(1, fanOut.getTimeoutCount());
+		CompositeCorrector enough = CompositeCorrector.fanOut(1, 10000, new SlowCorrector(), file);
+		assertEquals("lyon -> {lion}", makeSet(new String[]{"lion"}), enough.getCorrections("lyon"));
+		assertEquals("enough suggestions is not a timeout", 0, enough.getTimeoutCount());
+	}
+
+
+	@Test public void testRanksByFrequency() {
+		dict.setWordFrequencies(WordFrequencies.count(Arrays.asList("her", "Her", "her", "hers", "his", "ten")));
+		Corrector lev = new Levenshtein(dict);
+		assertEquals(Arrays.asList("her", "hers", "his"), lev.getCorrections("hes", 3));
+		assertEquals(Arrays.asList("her", "hers", "his"),
+				CompositeCorrector.chain(1, file, new SwapCorrector(dict), lev).getCorrections("hes", 3));
+		assertEquals(Arrays.asList("her", "hers", "his"),
+				CompositeCorrector.fanOut(Integer.MAX_VALUE, 10000, file, lev).getCorrections("hes", 3));
+		assertEquals(Arrays.asList("Lion"),
+				CompositeCorrector.chain(1, file, lev).getCorrections("Lyon", 3));
+	}
+
+
+	@Test public void testFanOutPoolIsBounded() {
+		StuckCorrector stuck = new StuckCorrector();
+		CompositeCorrector fanOut = CompositeCorrector.fanOut(Integer.MAX_VALUE, 10, stuck, file);
+		try {
+			for (int index = 0; index < 20; index++) {
+				fanOut.getCorrections("lyon");
+			}
+			assertTrue(stuck.maxRunning.get() <= 2 * CompositeCorrector.THREADS_PER_CORRECTOR);
+			assertTrue(fanOut.getRejectedCount() > 0);
+		} finally {
+			stuck.release.countDown();
+		}
+	}
+
+
+	@Test public void testInvalidWord() {
+		Corrector swap = new SwapCorrector(dict);
+		for (CompositeCorrector composite : new CompositeCorrector[]{
+				CompositeCorrector.chain(1, swap), CompositeCorrector.fanOut(1, 10000, swap)}) {
+			try {
+				composite.getCorrections("123");
+				fail("Expected an IllegalArgumentException - not a word.");
+			} catch (IllegalArgumentException ex) {
+				//Do nothing - its supposed to throw an exception!
+			}
+		}
+	}
+
+}
@@ -1,6 +1,10 @@
 package edu.isistan.spellchecker.corrector.impl;
 import static org.junit.Assert.*;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
 import java.util.TreeSet;
 import java.util.Set;
 import java.io.*;
@@ -53,4 +57,93 @@ public class FileCorrectorTest {
 	 }
   }
 
+  /** El parser original, con String.split, como referencia. */
+  private Map<String, Set<String>> reference(String content) throws IOException, FileCorrector.FormatException {
+    Map<String, Set<String>> map = new HashMap<>();
+    BufferedReader reader = new BufferedReader(new StringReader(content));
+    String line;
+    while ((line = reader.readLine()) != null) {
+      String[] lineWords = line.split(",");
+      if (lineWords.length != 2) {
+        throw new FileCorrector.FormatException("Error de formato");
+      }
+      map.computeIfAbsent(lineWords[0].trim().toLowerCase(), key -> new LinkedHashSet<>()).add(lineWords[1].trim());
+    }
+    return map;
+  }
+
+  private void assertSameAsReference(String content) throws IOException {
+    Map<String, Set<String>> expected;
+    try {
+      expected = reference(content);
+    } catch (FileCorrector.FormatException e) {
+      for (boolean parallel : new boolean[]{false, true}) {
+        try {
+          new FileCorrector(new StringReader(content), parallel);
+          fail("Expected a FormatException for " + content);
+        } catch (FileCorrector.FormatException f) {
+          // do nothing
+        }
+      }
+      return;
+    }
+    for (boolean parallel : new boolean[]{false, true}) {
+      FileCorrector c;
+      try {
+        c = new FileCorrector(new StringReader(content), parallel);
+      } catch (FileCorrector.FormatException e) {
+        throw new AssertionError("Unexpected FormatException for " + content, e);
+      }
+      for (Map.Entry<String, Set<String>> entry : expected.entrySet()) {
+        String word = entry.getKey();
+        if (word.isEmpty() || !edu.isistan.spellchecker.tokenizer.TokenScanner.isWord(word)) {
+          continue;
+        }
+        assertEquals(word, c.matchCase(word, entry.getValue()), c.getCorrections(word));
+        String upper = word.toUpperCase();
+        assertEquals(upper, c.matchCase(upper, entry.getValue()), c.getCorrections(upper));
+      }
+    }
+  }
+
+  @Test public void testSameRulesAsSplit() throws IOException {
+    String[] contents = {
+      "", "\n", "a,b", "a,b\n", "a,b\r\nc,d\rE,F\n", "a,b\n\nc,d", ",b", "a,", "a b", "a,b,", "a,b,,,",
+      "a,b, ", "a,,b", ",,,", "  Inspite ,  in spite  \n inspite,In Spite", "ther,their\nther,there\nTher,THERE",
+      "bAlOon,BALLOON\nbaloon,balloon",
+    };
+    for (String content : contents) {
+      assertSameAsReference(content);
+    }
+  }
+
+  @Test public void testLargeFile() throws IOException {
+    Random random = new Random(42);
+    StringBuilder content = new StringBuilder();
+    while (content.length() < 3 * 1024 * 1024) {
+      for (int length = 3 + random.nextInt(6); length > 0; length--) {
+        content.append((char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(26)));
+      }
+      content.append(random.nextBoolean() ? " , " : ",");
+      for (int length = 3 + random.nextInt(6); length > 0; length--) {
+        content.append((char) ('a' + random.nextInt(26)));
+      }
+      content.append(random.nextInt(4) == 0 ? "\r\n" : "\n");
+    }
+    assertSameAsReference(content.toString());
+    content.append("no comma");
+    assertSameAsReference(content.toString());
+  }
+
+  @Test public void testReadOnlyCorrections() throws IOException, FileCorrector.FormatException {
+    Corrector c = FileCorrector.make("smallMisspellings.txt");
+    try {
+      c.getCorrections("lyon").add("lyons");
+      fail("Expected an UnsupportedOperationException - corrections are shared.");
+    } catch (UnsupportedOperationException e) {
+      // do nothing
+    }
+    assertTrue(c.getCorrections("lyon").contains("lion"));
+    assertTrue(c.getCorrections("zebra").isEmpty());
+  }
 }
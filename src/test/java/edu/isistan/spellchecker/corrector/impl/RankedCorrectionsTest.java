@@ -0,0 +1,167 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.CorrectionPolicy;
+import edu.isistan.spellchecker.SpellChecker;
+import edu.isistan.spellchecker.corrector.ConcurrentDictionary;
+import edu.isistan.spellchecker.corrector.Corrector;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.DictionaryPackedTrie;
+import edu.isistan.spellchecker.corrector.DictionarySnapshot;
+import edu.isistan.spellchecker.corrector.DictionaryTrie;
+import edu.isistan.spellchecker.corrector.MappedDictionary;
+import edu.isistan.spellchecker.corrector.WordFrequencies;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class RankedCorrectionsTest {
+	private Dictionary dict;
+
+
+	@Before public void setUp() throws IOException {
+		dict = new DictionaryDawg(new TokenScanner(new FileReader("smallDictionary.txt")));
+	}
+
+
+	@Test public void testAlphabeticalWithoutFrequencies() {
+		Levenshtein corrector = new Levenshtein(dict);
+		assertEquals(Arrays.asList("heh", "her"), corrector.getCorrections("hes", 2));
+		assertEquals(corrector.getCorrections("hes").size(), corrector.getCorrections("hes", 100).size());
+	}
+
+
+	@Test public void testFrequencyBreaksTies() {
+		dict.setWordFrequencies(WordFrequencies.count(Arrays.asList("her", "Her", "her", "hers", "his", "ten")));
+		assertEquals(3, dict.getFrequency("HER"));
+		assertEquals(0, dict.getFrequency("heh"));
+		assertEquals(Arrays.asList("her", "hers", "his"), new Levenshtein(dict).getCorrections("hes", 3));
+		assertEquals(Arrays.asList("Ten"), new TrieLevenshtein(dict, 2).getCorrections("Tez", 1));
+		assertEquals(Arrays.asList("Her"), new SymmetricDeleteCorrector(dict).getCorrections("Hes", 1));
+	}
+
+
+	@Test public void testRanksThroughCache() throws IOException, FileCorrector.FormatException {
+		dict.setWordFrequencies(WordFrequencies.count(Arrays.asList("her", "Her", "her", "hers", "his", "ten")));
+		CachingCorrector cached = new CachingCorrector(new Levenshtein(dict), 10);
+		assertEquals(Arrays.asList("her", "hers", "his"), cached.getCorrections("hes", 3));
+		assertEquals(Arrays.asList("Her", "Hers"), cached.getCorrections("Hes", 2));
+		assertEquals(1, cached.getMissCount());
+		Corrector file = FileCorrector.make("smallMisspellings.txt");
+		assertEquals(Arrays.asList("her", "hers", "his"),
+				CompositeCorrector.chain(1, file, cached).getCorrections("hes", 3));
+	}
+
+
+	@Test public void testFrequenciesOnEveryBackend() throws IOException {
+		WordFrequencies frequencies = WordFrequencies.count(Arrays.asList("her", "Her", "hers", "ten", "unknown"));
+		Path snapshot = Files.createTempFile("dictionary", ".snapshot");
+		try {
+			DictionarySnapshot.write(WordList.load("smallDictionary.txt"), snapshot);
+			ConcurrentDictionary concurrent = new ConcurrentDictionary(WordList.load("smallDictionary.txt"));
+			for (Dictionary d : new Dictionary[]{dict, Dictionary.make("smallDictionary.txt"),
+					DictionaryTrie.make("smallDictionary.txt"), DictionaryPackedTrie.make("smallDictionary.txt"),
+					new MappedDictionary(snapshot), concurrent}) {
+				d.setWordFrequencies(frequencies);
+				assertEquals(2, d.getFrequency("her"));
+				assertEquals(2, d.getFrequency("HeR"));
+				assertEquals(1, d.getFrequency("hers"));
+				assertEquals(0, d.getFrequency("heh"));
+				assertEquals(0, d.getFrequency("unknown"));
+				assertEquals(Arrays.asList("her", "hers", "heh"), new Levenshtein(d).getCorrections("hes", 3));
+			}
+			concurrent.addWord("hex");
+			assertEquals(2, concurrent.snapshot().getFrequency("her"));
+			assertEquals(2, concurrent.getFrequency("her"));
+			assertEquals(0, concurrent.getFrequency("hex"));
+			concurrent.setWordFrequencies(null);
+			assertEquals(0, concurrent.getFrequency("her"));
+		} finally {
+			Files.deleteIfExists(snapshot);
+		}
+	}
+
+
+	@Test public void testDistanceBeforeFrequency() {
+		dict.setWordFrequencies(WordFrequencies.count(Arrays.asList("apple", "apple", "ah", "ah", "ah")));
+		List<String> corrections = new TrieLevenshtein(dict, 2).getCorrections("aple", 2);
+		assertEquals("apple", corrections.get(0));
+		assertTrue(corrections.size() <= 2);
+	}
+
+
+	@Test public void testCaseDuplicatesDoNotUseSlots() {
+		Corrector mixed = new Corrector() {
+			public Set<String> getCorrections(String wrong) {
+				return new TreeSet<String>(Arrays.asList("Apple", "apple", "APPLE", "apples"));
+			}
+		};
+		assertEquals(Arrays.asList("apple", "apples"), mixed.getCorrections("aple", 2));
+		assertEquals(Arrays.asList("Apple", "Apples"), mixed.getCorrections("Aple", 3));
+	}
+
+
+	@Test public void testInvalidK() {
+		try {
+			new SwapCorrector(dict).getCorrections("hte", 0);
+			fail("Expected an IllegalArgumentException - k must be positive.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new SwapCorrector(dict).getCorrections("123", 1);
+			fail("Expected an IllegalArgumentException - not a word.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testLoadFrequencies() throws IOException {
+		Path file = Files.createTempFile("frequencies", ".txt");
+		try {
+			Files.write(file, Arrays.asList("# comentario", "the 100", "The\t20", "", "123 5", "Its 3"),
+					StandardCharsets.UTF_8);
+			WordFrequencies frequencies = WordFrequencies.load(file.toString());
+			assertEquals(120, frequencies.getFrequency("the"));
+			assertEquals(3, frequencies.getFrequency("its"));
+			assertEquals(0, frequencies.getFrequency("123"));
+			assertEquals(2, frequencies.size());
+			Files.write(file, Arrays.asList("the 100", "teh"), StandardCharsets.UTF_8);
+			try {
+				WordFrequencies.load(file.toString());
+				fail("Expected an IOException - malformed line.");
+			} catch (IOException ex) {
+				//Do nothing - its supposed to throw an exception!
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+
+	@Test public void testBestPolicy() throws IOException {
+		dict.setWordFrequencies(WordFrequencies.count(Arrays.asList("ten", "ten", "tex")));
+		assertEquals(CorrectionPolicy.BEST_SUGGESTION, CorrectionPolicy.forName("BEST"));
+		assertEquals(1, CorrectionPolicy.BEST_SUGGESTION.getSuggestionLimit());
+		assertEquals(0, CorrectionPolicy.TOP_SUGGESTION.getSuggestionLimit());
+		StringWriter out = new StringWriter();
+		new SpellChecker(new Levenshtein(dict), dict)
+				.checkDocument(new StringReader("Tez tez."), out, CorrectionPolicy.BEST_SUGGESTION);
+		assertEquals("Ten ten.", out.toString());
+	}
+}
@@ -0,0 +1,75 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.*;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class SymmetricDeleteCorrectorTest {
+	private Dictionary dict;
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Before public void setUp() throws IOException {
+		dict = new DictionaryDawg(new TokenScanner(new FileReader("smallDictionary.txt")));
+	}
+
+
+	@Test public void testConstructorInvalid() {
+		try {
+			new SymmetricDeleteCorrector(null);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCorrections() {
+		SymmetricDeleteCorrector corr = new SymmetricDeleteCorrector(dict);
+		assertEquals("h -> {a, i, ah, eh, th}",
+				makeSet(new String[]{"a", "i", "ah", "eh", "th"}), corr.getCorrections("h"));
+		assertEquals("H -> {A, I, Ah, Eh, Th}",
+				makeSet(new String[]{"A", "I", "Ah", "Eh", "Th"}), corr.getCorrections("H"));
+		assertEquals("crot -> {carrot}",
+				makeSet(new String[]{"carrot"}), new SymmetricDeleteCorrector(dict, 2).getCorrections("crot"));
+	}
+
+
+	@Test public void testSameAsTrieWalk() {
+		for (int distance = 1; distance <= 2; distance++) {
+			SymmetricDeleteCorrector deletes = new SymmetricDeleteCorrector(dict, distance);
+			TrieLevenshtein walk = new TrieLevenshtein(dict, distance);
+			for (String wrong : new String[]{"teh", "ay", "hre", "carot", "yuo", "bananna", "Its", "durain"}) {
+				assertEquals(wrong + " @" + distance, walk.getCorrections(wrong), deletes.getCorrections(wrong));
+			}
+		}
+	}
+
+
+	@Test public void testNull() {
+		try {
+			new SymmetricDeleteCorrector(dict).getCorrections(null);
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package edu.isistan.spellchecker.corrector.impl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.*;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.corrector.ConcurrentDictionary;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.DictionaryDawg;
+import edu.isistan.spellchecker.corrector.DictionaryPackedTrie;
+import edu.isistan.spellchecker.corrector.DictionaryTrie;
+import edu.isistan.spellchecker.corrector.WordList;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class TrieLevenshteinTest {
+	private Dictionary trie;
+	private Dictionary dawg;
+
+
+	private Set<String> makeSet(String[] strings) {
+		Set<String> mySet = new TreeSet<String>();
+		for (String s : strings) {
+			mySet.add(s);
+		}
+		return mySet;
+	}
+
+
+	@Before public void setUp() throws IOException {
+		trie = new DictionaryPackedTrie(new TokenScanner(new FileReader("smallDictionary.txt")));
+		dawg = new DictionaryDawg(new TokenScanner(new FileReader("smallDictionary.txt")));
+	}
+
+
+	@Test public void testConstructorInvalid() throws IOException {
+		try {
+			new TrieLevenshtein(null);
+			fail("Expected an IllegalArgumentException - null dictionary.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		try {
+			new TrieLevenshtein(new ConcurrentDictionary(WordList.load("smallDictionary.txt")));
+			fail("Expected an IllegalArgumentException - dictionary without word graph.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+	}
+
+
+	@Test public void testCorrections() {
+		assertEquals("h -> {a, i, ah, eh, th}",
+				makeSet(new String[]{"a", "i", "ah", "eh", "th"}),
+				new TrieLevenshtein(trie).getCorrections("h"));
+		assertEquals("H -> {A, I, Ah, Eh, Th}",
+				makeSet(new String[]{"A", "I", "Ah", "Eh", "Th"}),
+				new TrieLevenshtein(dawg).getCorrections("H"));
+	}
+
+
+	@Test public void testSameAsCandidateGeneration() {
+		Levenshtein candidates = new Levenshtein(trie);
+		TrieLevenshtein walk = new TrieLevenshtein(trie);
+		TrieLevenshtein dawgWalk = new TrieLevenshtein(dawg);
+		for (String wrong : new String[]{"teh", "ay", "hre", "carot", "yuo", "bananna"}) {
+			Set<String> expected = new TreeSet<>();
+			expected.addAll(candidates.getDeletions(wrong));
+			expected.addAll(candidates.getSubstitutions(wrong));
+			expected.addAll(candidates.getInsertions(wrong));
+			assertEquals(wrong, expected, walk.getCorrections(wrong));
+			assertEquals(wrong, expected, dawgWalk.getCorrections(wrong));
+		}
+	}
+
+
+	@Test public void testFrozenWordGraph() throws IOException {
+		Dictionary hash = Dictionary.make("smallDictionary.txt");
+		Dictionary nodes = DictionaryTrie.make("smallDictionary.txt");
+		TrieLevenshtein walk = new TrieLevenshtein(trie, 2);
+		for (String wrong : new String[]{"teh", "Hre", "carot", "bnanaa"}) {
+			assertEquals(wrong, walk.getCorrections(wrong), new TrieLevenshtein(hash, 2).getCorrections(wrong));
+			assertEquals(wrong, walk.getCorrections(wrong), new TrieLevenshtein(nodes, 2).getCorrections(wrong));
+		}
+		assertTrue(hash.getWordGraph() == hash.getWordGraph());
+	}
+
+
+	@Test public void testDistanceTwo() {
+		TrieLevenshtein corr = new TrieLevenshtein(trie, 2);
+		assertTrue("bnanaa -> banana", corr.getCorrections("bnanaa").contains("banana"));
+		assertEquals("crot -> {carrot}", makeSet(new String[]{"carrot"}), corr.getCorrections("crot"));
+		assertEquals("crot -> {}", makeSet(new String[]{}), new TrieLevenshtein(trie, 1).getCorrections("crot"));
+	}
+
+
+	@Test public void testNull() {
+		try {
+			new TrieLevenshtein(trie).getCorrections(null);
+			fail("Should have thrown an illegal argument exception");
+		} catch (IllegalArgumentException e) {
+			// do nothing
+		}
+	}
+
+}
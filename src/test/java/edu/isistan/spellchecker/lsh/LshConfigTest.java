@@ -0,0 +1,99 @@
+package edu.isistan.spellchecker.lsh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class LshConfigTest {
+    private static final String[] WORDS = {
+            "hello", "help", "hell", "yellow", "held", "world", "word", "sword", "the", "then"
+    };
+
+    private PackedMinHashLSH index(LshConfig config) {
+        MinHasher hasher = MinHasher.forPermutations(config.getPermutations());
+        int[] signature = new int[config.getPermutations()];
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder(config);
+        for (int id = 0; id < WORDS.length; id++) {
+            hasher.signature(WORDS[id], 1, signature);
+            builder.add(id, signature);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void testDefaultIsMinHashLSH() {
+        MinHashLSH lsh = new MinHashLSH();
+        int[] signature = new int[64];
+        MinHasher.forPermutations(64).signature("recieve", 1, signature);
+        int[] expected = lsh.getBandHashes(signature);
+        assertEquals(lsh.getBands(), LshConfig.DEFAULT.getBands());
+        assertEquals(lsh.getRows(), LshConfig.DEFAULT.getRows());
+        for (int band = 0; band < expected.length; band++) {
+            assertEquals(expected[band], LshConfig.DEFAULT.bandHash(signature, band));
+        }
+    }
+
+    @Test
+    public void testProbeSignature() {
+        MinHasher hasher = MinHasher.forPermutations(64);
+        LshConfig config = new LshConfig(8, 8, LshConfig.BandHashing.MIX, 8);
+        ProbeSignature probe = new ProbeSignature(64);
+        int[] expected = new int[64];
+        for (String word : new String[]{"hellox", "mississippi", "a", "word"}) {
+            hasher.signature(word, 1, probe);
+            hasher.signature(word, 1, expected);
+            assertArrayEquals(word, expected, probe.getSignature());
+            for (int index = 0; index < probe.getProbeCount(); index++) {
+                char removed = (char) probe.ngrams[index];
+                hasher.signature(word.replace(String.valueOf(removed), ""), 1, expected);
+                for (int band = 0; band < config.getBands(); band++) {
+                    int hash = probe.changesBand(config, band, index)
+                            ? probe.probeBandHash(config, band, index) : config.bandHash(probe.getSignature(), band);
+                    assertEquals(word + " sin " + removed, config.bandHash(expected, band), hash);
+                }
+            }
+        }
+        hasher.signature("aaa", 1, probe);
+        assertEquals(0, probe.getProbeCount());
+    }
+
+    @Test
+    public void testProbesFindExtraLetter() {
+        for (LshConfig.BandHashing hashing : LshConfig.BandHashing.values()) {
+            LshConfig config = new LshConfig(4, 16, hashing, 16);
+            PackedMinHashLSH lsh = index(config);
+            ProbeSignature probe = new ProbeSignature(64);
+            MinHasher.forPermutations(64).signature("hellqo", 1, probe);
+            IntSet ids = new IntSet();
+            lsh.query(probe, ids);
+            assertTrue(hashing + " " + ids.size(), ids.contains(0));
+            IntSet exact = new IntSet();
+            index(config.withProbes(0)).query(probe.getSignature(), exact);
+            for (int index = 0; index < exact.size(); index++) {
+                assertTrue(ids.contains(exact.get(index)));
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidConfig() {
+        int[][] invalid = {{0, 16, 0}, {4, 0, 0}, {4, 16, -1}};
+        for (int[] values : invalid) {
+            try {
+                new LshConfig(values[0], values[1], LshConfig.BandHashing.SUM, values[2]);
+                fail("Expected an IllegalArgumentException - invalid config.");
+            } catch (IllegalArgumentException ex) {
+                // Do nothing - its supposed to throw an exception!
+            }
+        }
+        try {
+            new LshConfig(4, 16, null, 0);
+            fail("Expected an IllegalArgumentException - null hashing.");
+        } catch (IllegalArgumentException ex) {
+            // Do nothing - its supposed to throw an exception!
+        }
+    }
+}
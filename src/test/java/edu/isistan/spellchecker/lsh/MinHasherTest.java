@@ -0,0 +1,102 @@
+package edu.isistan.spellchecker.lsh;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+public class MinHasherTest {
+
+    /**
+     * Firma calculada como la calculaba MinHash originalmente: permutaciones nuevas
+     * por firma y un String por n-grama.
+     */
+    private int[] reference(int numberOfPermutations, int n, String word) {
+        int[] a = new int[numberOfPermutations];
+        int[] b = new int[numberOfPermutations];
+        SplittableRandom random = new SplittableRandom(1);
+        for (int index = 0; index < numberOfPermutations; index++) {
+            a[index] = random.nextInt(1, MinHasher.LARGEST_PRIME);
+            b[index] = random.nextInt(0, MinHasher.LARGEST_PRIME);
+        }
+        int[] signature = new int[numberOfPermutations];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String ngram : NGram.ngrams(n, word)) {
+            for (int index = 0; index < numberOfPermutations; index++) {
+                int hash = (a[index] * ngram.hashCode() + b[index]) % MinHasher.LARGEST_PRIME;
+                signature[index] = Math.min(signature[index], hash);
+            }
+        }
+        return signature;
+    }
+
+    @Test
+    public void testSameSignatureAsNGrams() {
+        MinHasher hasher = MinHasher.forPermutations(64);
+        int[] signature = new int[64];
+        for (String word : new String[]{"", "a", "banana", "it's", "mississippi", "Zo\u00eb", "supercalifragilistic"}) {
+            for (int n = 1; n <= 4; n++) {
+                hasher.signature(word, n, signature);
+                assertArrayEquals(word + " n=" + n, reference(64, n, word), signature);
+            }
+        }
+    }
+
+    @Test
+    public void testMinHashUsesSharedTables() {
+        assertSame(MinHasher.forPermutations(16), MinHasher.forPermutations(16));
+        MinHash minHash = new MinHash(16);
+        for (String ngram : NGram.ngrams(2, "carrot")) {
+            minHash.update(ngram);
+        }
+        assertArrayEquals(reference(16, 2, "carrot"), minHash.getHashValues());
+    }
+
+    @Test
+    public void testVectorKernelSameAsScalar() {
+        assumeTrue("jdk.incubator.vector no disponible", MinHasher.forPermutations(64).isVectorized());
+        MinHashKernel vector = new VectorMinHashKernel();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int length : new int[]{1, 7, 16, 64, 67}) {
+            int[] a = random.ints(length, 1, MinHasher.LARGEST_PRIME).toArray();
+            int[] b = random.ints(length, 0, MinHasher.LARGEST_PRIME).toArray();
+            int[] expected = new int[length];
+            int[] actual = new int[length];
+            Arrays.fill(expected, Integer.MAX_VALUE);
+            Arrays.fill(actual, Integer.MAX_VALUE);
+            for (int i = 0; i < 1000; i++) {
+                int hash = random.nextInt();
+                MinHashKernel.SCALAR.update(a, b, hash, expected);
+                vector.update(a, b, hash, actual);
+                assertArrayEquals("length " + length, expected, actual);
+            }
+        }
+        int[] ones = new int[32];
+        Arrays.fill(ones, 1);
+        int[] zeros = new int[32];
+        for (int hash : new int[]{MinHasher.LARGEST_PRIME, -MinHasher.LARGEST_PRIME, Integer.MIN_VALUE, -1, 0}) {
+            int[] expected = new int[32];
+            int[] actual = new int[32];
+            Arrays.fill(expected, Integer.MAX_VALUE);
+            Arrays.fill(actual, Integer.MAX_VALUE);
+            MinHashKernel.SCALAR.update(ones, zeros, hash, expected);
+            vector.update(ones, zeros, hash, actual);
+            assertArrayEquals("hash " + hash, expected, actual);
+        }
+    }
+
+    @Test
+    public void testScalarHasherSameSignature() {
+        int[] expected = new int[64];
+        int[] actual = new int[64];
+        for (String word : new String[]{"banana", "it's", "mississippi"}) {
+            MinHasher.scalar(64).signature(word, 2, expected);
+            MinHasher.forPermutations(64).signature(word, 2, actual);
+            assertArrayEquals(word, expected, actual);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package edu.isistan.spellchecker.lsh;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PackedMinHashLSHTest {
+    private static final String[] WORDS = {
+            "apple", "banana", "carrot", "durian", "his", "her", "hers", "you", "yours",
+            "it's", "its", "bay", "cay", "day", "any", "aye", "bey", "cey", "eh", "th",
+            "te", "heh", "meh", "tah", "tea", "tee", "ten", "tex", "teh", "a", "ah", "i"
+    };
+
+    private MinHash minHash(String word) {
+        MinHash minHash = new MinHash(64);
+        for (String ngram : NGram.ngrams(1, word)) {
+            minHash.update(ngram);
+        }
+        return minHash;
+    }
+
+    @Test
+    public void testSameResultsAsMinHashLSH() {
+        MinHashLSH expected = new MinHashLSH();
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder();
+        for (int id = 0; id < WORDS.length; id++) {
+            expected.insert(WORDS[id], minHash(WORDS[id]));
+            builder.add(id, minHash(WORDS[id]).getHashValues());
+        }
+        PackedMinHashLSH lsh = builder.build();
+        IntSet ids = new IntSet(2);
+        for (String query : new String[]{"teh", "hte", "apel", "bananna", "yuo", "zzz", "day"}) {
+            ids.clear();
+            lsh.query(minHash(query).getHashValues(), ids);
+            Set<String> actual = new HashSet<>();
+            for (int index = 0; index < ids.size(); index++) {
+                actual.add(WORDS[ids.get(index)]);
+            }
+            assertEquals(query, expected.query(minHash(query)), actual);
+            assertEquals(query + " sin repetidos", actual.size(), ids.size());
+        }
+    }
+
+    @Test
+    public void testBuilderState() {
+        PackedMinHashLSH.Builder builder = new PackedMinHashLSH.Builder(new LshConfig(2, 8, LshConfig.BandHashing.SUM, 0));
+        builder.add(0, new int[16]);
+        PackedMinHashLSH lsh = builder.build();
+        assertEquals(1, lsh.getBucketCount() / 2);
+        try {
+            builder.add(1, new int[16]);
+            fail("Expected an IllegalStateException - already built.");
+        } catch (IllegalStateException ex) {
+            // Do nothing - its supposed to throw an exception!
+        }
+        try {
+            new PackedMinHashLSH.Builder().add(-1, new int[64]);
+            fail("Expected an IllegalArgumentException - negative id.");
+        } catch (IllegalArgumentException ex) {
+            // Do nothing - its supposed to throw an exception!
+        }
+    }
+
+    @Test
+    public void testIntSet() {
+        IntSet set = new IntSet(1);
+        for (int value = 0; value < 1000; value += 3) {
+            assertTrue(set.add(value));
+            assertFalse(set.add(value));
+        }
+        assertEquals(334, set.size());
+        assertTrue(set.contains(999));
+        assertFalse(set.contains(998));
+        assertFalse(set.contains(-1));
+        assertEquals(3, set.get(1));
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(999));
+        assertTrue(set.add(999));
+        assertEquals(999, set.toArray()[0]);
+    }
+}
@@ -0,0 +1,126 @@
+package edu.isistan.spellchecker.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import edu.isistan.spellchecker.CorrectionPolicy;
+import edu.isistan.spellchecker.SpellChecker;
+import edu.isistan.spellchecker.corrector.Dictionary;
+import edu.isistan.spellchecker.corrector.impl.Levenshtein;
+import edu.isistan.spellchecker.tokenizer.TokenScanner;
+
+public class MetricsTest {
+
+	@Test
+	public void testPercentiles() {
+		Histogram histogram = new Histogram("test");
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value);
+		}
+		histogram.record(-5);
+		Histogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(1001, snapshot.getCount());
+		assertEquals(500500, snapshot.getSum());
+		assertEquals(1000, snapshot.getMax());
+		assertEquals(0, snapshot.getPercentile(0));
+		assertBetween(500, 625, snapshot.getPercentile(50));
+		assertBetween(990, 1000, snapshot.getPercentile(99));
+		assertEquals(1000, snapshot.getPercentile(100));
+		try {
+			snapshot.getPercentile(101);
+			fail("Expected an IllegalArgumentException - percentile out of range.");
+		} catch (IllegalArgumentException ex) {
+			//Do nothing - its supposed to throw an exception!
+		}
+		histogram.reset();
+		assertEquals(0, histogram.snapshot().getCount());
+		assertEquals(0, histogram.snapshot().getPercentile(50));
+	}
+
+	private static void assertBetween(long low, long high, long value) {
+		assertTrue(value + " not in [" + low + ", " + high + "]", value >= low && value <= high);
+	}
+
+	@Test
+	public void testBuckets() {
+		for (long value : new long[]{0, 1, 3, 4, 5, 7, 8, 1000, 123456789, Long.MAX_VALUE}) {
+			int bucket = Histogram.bucket(value);
+			assertTrue(value + " above its bucket", value <= Histogram.highestValue(bucket));
+			if (bucket > 0) {
+				assertTrue(value + " below its bucket", value > Histogram.highestValue(bucket - 1));
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentRecords() throws InterruptedException {
+		Histogram histogram = new Histogram("concurrent");
+		List<Thread> threads = new ArrayList<>();
+		for (int thread = 0; thread < 4; thread++) {
+			threads.add(new Thread(() -> {
+				for (int index = 0; index < 10000; index++) {
+					histogram.record(index);
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(40000, histogram.getCount());
+		assertEquals(9999, histogram.getMax());
+	}
+
+	@Test
+	public void testSnapshotAndJmx() throws JMException {
+		Metrics.histogram("test.jmx").record(42);
+		Metrics.counter("test.counter").add(3);
+		Metrics.registerMBeans();
+		Metrics.registerMBeans();
+		MetricsSnapshot snapshot = Metrics.snapshot();
+		assertEquals(3, snapshot.getCounter("test.counter"));
+		assertNotNull(snapshot.getHistogram(Metrics.IS_WORD_NAME));
+		assertTrue(snapshot.getHistogram("test.jmx").getCount() >= 1);
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName histogram = new ObjectName(Metrics.DOMAIN + ":type=Histogram,name=" + ObjectName.quote("test.jmx"));
+		assertEquals(42L, server.getAttribute(histogram, "Max"));
+		ObjectName metrics = new ObjectName(Metrics.DOMAIN + ":type=Metrics");
+		assertEquals(Metrics.ENABLED, server.getAttribute(metrics, "Enabled"));
+		assertTrue(((String) server.getAttribute(metrics, "Report")).contains("test.counter 3"));
+	}
+
+	@Test
+	public void testInstrumentation() throws IOException {
+		Assume.assumeTrue("run with -D" + Metrics.PROPERTY + "=true", Metrics.ENABLED);
+		Metrics.reset();
+		Dictionary dict = new Dictionary(new TokenScanner(new FileReader("smallDictionary.txt")));
+		StringWriter out = new StringWriter();
+		new SpellChecker(new Levenshtein(dict), dict)
+				.checkDocument(new StringReader("Appel is a fruit."), out, CorrectionPolicy.TOP_SUGGESTION);
+		MetricsSnapshot snapshot = Metrics.snapshot();
+		assertEquals(8, snapshot.getCounter(Metrics.TOKENS));
+		assertEquals(3, snapshot.getCounter(Metrics.MISSPELLED));
+		assertTrue(snapshot.getTokensPerSecond() > 0);
+		assertTrue(snapshot.getHistogram(Metrics.IS_WORD_NAME).getCount() > 0);
+		assertEquals(3, snapshot.getHistogram("corrector.Levenshtein").getCount());
+	}
+}
@@ -0,0 +1,106 @@
+package edu.isistan.spellchecker.tokenizer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CharTokenizerTest {
+
+  @Test public void testGetNextTokenWord() throws IOException {
+    CharTokenizer d = new CharTokenizer(new StringReader("Aren't you \ntired"));
+    assertTrue(d.advance());
+    assertEquals("Aren't", d.getTokenString());
+    assertTrue(d.isWord());
+    assertTrue(d.advance());
+    assertEquals(" ", d.getToken().toString());
+    assertFalse(d.isWord());
+    assertTrue(d.advance());
+    assertEquals("you", d.getTokenString());
+    assertTrue(d.advance());
+    assertEquals(" \n", d.getTokenString());
+    assertTrue(d.advance());
+    assertEquals("tired", d.getTokenString());
+    assertEquals('t', d.getToken().charAt(0));
+    assertEquals(5, d.getToken().length());
+    assertFalse("reached end of stream", d.advance());
+    assertFalse("stays at end of stream", d.advance());
+  }
+
+  @Test public void testTokensLongerThanBuffer() throws IOException {
+    String text = "Supercalifragilistic   expialidocious!!! 12345 ok";
+    for (int size = 1; size <= 8; size++) {
+      CharTokenizer d = new CharTokenizer(new StringReader(text), size);
+      StringBuilder joined = new StringBuilder();
+      int tokens = 0;
+      while (d.advance()) {
+        assertEquals(TokenScanner.isWord(d.getTokenString()), d.isWord());
+        joined.append(d.getBuffer(), d.getStart(), d.getLength());
+        tokens++;
+      }
+      assertEquals("size " + size, text, joined.toString());
+      assertEquals("size " + size, 5, tokens);
+    }
+  }
+
+  /**
+   * Tokens que daba el TokenScanner original (antes de usar CharTokenizer), para
+   * todos los tamanos de buffer y para el TokenScanner actual.
+   */
+  private static void assertTokens(String text, String... expected) throws IOException {
+    for (int size = 1; size <= 8; size++) {
+      CharTokenizer d = new CharTokenizer(new StringReader(text), size);
+      List<String> tokens = new ArrayList<>();
+      StringWriter out = new StringWriter();
+      while (d.advance()) {
+        tokens.add(d.getTokenString());
+        d.writeTo(out);
+      }
+      assertEquals("size " + size, Arrays.asList(expected), tokens);
+      assertEquals("size " + size, text, out.toString());
+    }
+    TokenScanner scanner = new TokenScanner(new StringReader(text));
+    List<String> tokens = new ArrayList<>();
+    while (scanner.hasNext()) {
+      tokens.add(scanner.next());
+    }
+    assertEquals(Arrays.asList(expected), tokens);
+  }
+
+  @Test public void testApostrophes() throws IOException {
+    assertTokens("  'tis the season's end, isn't it?  ",
+        "  ", "'tis", " ", "the", " ", "season's", " ", "end", ", ", "isn't", " ", "it", "?  ");
+    assertTokens("don't''stop", "don't''stop");
+    assertTokens("'", "'");
+  }
+
+  @Test public void testDigitsAreSeparators() throws IOException {
+    assertTokens("abc123def 4u2", "abc", "123", "def", " 4", "u", "2");
+  }
+
+  @Test public void testLatin1Letters() throws IOException {
+    assertTokens("caf\u00e9, ni\u00f1o; \u00dcber", "caf\u00e9", ", ", "ni\u00f1o", "; ", "\u00dcber");
+    assertTokens("\u00bfQu\u00e9? a\u00d7b 1\u00aa",
+        "\u00bf", "Qu\u00e9", "? ", "a", "\u00d7", "b", " 1", "\u00aa");
+  }
+
+  @Test public void testLeadingAndTrailingSeparators() throws IOException {
+    assertTokens("...hello...", "...", "hello", "...");
+    assertTokens(" \t\n", " \t\n");
+  }
+
+  @Test public void testEmptyInput() throws IOException {
+    assertFalse(new CharTokenizer(new StringReader("")).advance());
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testNullReader() {
+    new CharTokenizer(null);
+  }
+}
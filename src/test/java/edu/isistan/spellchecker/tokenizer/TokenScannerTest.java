@@ -68,4 +68,21 @@ public class TokenScannerTest {
     }
   }
 
+  @Test public void testLongInputKeepsEveryCharacter() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int index = 0; index < 3000; index++) {
+      text.append("living, ");
+    }
+    TokenScanner d = new TokenScanner(new StringReader(text.toString()));
+    StringBuilder joined = new StringBuilder();
+    boolean word = true;
+    while (d.hasNext()) {
+      String token = d.next();
+      assertEquals(token, word, TokenScanner.isWord(token));
+      word = !word;
+      joined.append(token);
+    }
+    assertEquals(text.toString(), joined.toString());
+  }
+
 }